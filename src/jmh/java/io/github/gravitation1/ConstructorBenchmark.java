@@ -0,0 +1,165 @@
+package io.github.gravitation1;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Builds a batch of versions per invocation through each public
+ * constructor and the of factory, from the parts of parsed versions, and
+ * derives versions from parsed versions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ConstructorBenchmark
+{
+	private static final int BATCH_SIZE = 1024;
+
+	@Param({ "RELEASE", "PRE_RELEASE", "BUILD_METADATA" })
+	public Dataset dataset;
+
+	private int[] majors;
+	private int[] minors;
+	private int[] patches;
+	private List<String>[] preReleaseData;
+	private List<String>[] buildMetadata;
+	private SemanticVersion[] semanticVersions;
+
+
+	@Setup
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void setUp()
+	{
+		final SemanticVersion[] semanticVersions = this.dataset.generateSemanticVersions(BATCH_SIZE);
+		this.semanticVersions = semanticVersions;
+		this.majors = new int[BATCH_SIZE];
+		this.minors = new int[BATCH_SIZE];
+		this.patches = new int[BATCH_SIZE];
+		this.preReleaseData = new List[BATCH_SIZE];
+		this.buildMetadata = new List[BATCH_SIZE];
+
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			this.majors[i] = semanticVersions[i].getMajor();
+			this.minors[i] = semanticVersions[i].getMinor();
+			this.patches[i] = semanticVersions[i].getPatch();
+			this.preReleaseData[i] = semanticVersions[i].getPreReleaseData();
+			this.buildMetadata[i] = semanticVersions[i].getBuildMetadata();
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void major(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(new SemanticVersion(this.majors[i]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void majorMinor(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(new SemanticVersion(this.majors[i], this.minors[i]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void majorMinorPatch(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(new SemanticVersion(this.majors[i], this.minors[i], this.patches[i]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void of(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(SemanticVersion.of(this.majors[i], this.minors[i], this.patches[i]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void full(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(
+				new SemanticVersion(
+					this.majors[i],
+					this.minors[i],
+					this.patches[i],
+					this.preReleaseData[i],
+					this.buildMetadata[i]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void nextPatch(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(this.semanticVersions[i].nextPatch());
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void withPreRelease(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(this.semanticVersions[i].withPreRelease("rc", i));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void withoutBuildMetadata(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(this.semanticVersions[i].withoutBuildMetadata());
+		}
+	}
+}
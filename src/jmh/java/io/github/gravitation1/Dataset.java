@@ -0,0 +1,165 @@
+package io.github.gravitation1;
+
+
+import java.util.Random;
+
+
+/**
+ * The kinds of version strings that the benchmarks run against. Every
+ * dataset is generated from a fixed seed, so runs are comparable across
+ * releases.
+ */
+public enum Dataset
+{
+	/**
+	 * Releases like "4.17.21", with version numbers skewed towards small
+	 * values the way registries are.
+	 */
+	RELEASE
+	{
+		@Override
+		String next(
+			/* @Nonnull */ final Random random)
+		{
+			return versionNumbers(random);
+		}
+	},
+
+	/**
+	 * Versions with pre-release data like "2.0.0-rc.3" or
+	 * "1.4.0-alpha.beta.11".
+	 */
+	PRE_RELEASE
+	{
+		@Override
+		String next(
+			/* @Nonnull */ final Random random)
+		{
+			final StringBuilder builder = new StringBuilder(versionNumbers(random)).append('-');
+			final int identifierCount = 1 + random.nextInt(4);
+
+			for (int i = 0; i < identifierCount; ++i)
+			{
+				if (0 < i)
+				{
+					builder.append('.');
+				}
+
+				builder.append(random.nextBoolean() ? TAGS[random.nextInt(TAGS.length)] : random.nextInt(20));
+			}
+
+			return builder.toString();
+		}
+	},
+
+	/**
+	 * Versions with long build metadata, like the commit hashes and build
+	 * timestamps that CI systems append.
+	 */
+	BUILD_METADATA
+	{
+		@Override
+		String next(
+			/* @Nonnull */ final Random random)
+		{
+			return
+				versionNumbers(random)
+				+ (random.nextBoolean() ? "-SNAPSHOT" : "")
+				+ "+build." + (1000 + random.nextInt(9000))
+				+ ".sha." + Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong())
+				+ "." + (20200101000000L + random.nextInt(100000000));
+		}
+	},
+
+	/**
+	 * Strings that fail to parse, spread over every kind of error.
+	 */
+	INVALID
+	{
+		@Override
+		String next(
+			/* @Nonnull */ final Random random)
+		{
+			final String valid = versionNumbers(random);
+
+			switch (random.nextInt(6))
+			{
+				case 0:
+					return valid.substring(0, valid.lastIndexOf('.'));
+				case 1:
+					return "0" + valid;
+				case 2:
+					return valid + "-alpha.01";
+				case 3:
+					return valid + "-beta..1";
+				case 4:
+					return valid + "+build_" + random.nextInt(100);
+				default:
+					return "v" + valid;
+			}
+		}
+	};
+
+
+	private static final String[] TAGS = { "alpha", "beta", "rc", "SNAPSHOT", "dev", "x-7" };
+
+
+	/* @Nonnull */
+	abstract String next(
+		/* @Nonnull */ final Random random);
+
+
+	/**
+	 * @return Returns the given number of version strings.
+	 */
+	/* @Nonnull */
+	public String[] generate(
+		final int count)
+	{
+		final Random random = new Random(this.ordinal());
+		final String[] strings = new String[count];
+
+		for (int i = 0; i < count; ++i)
+		{
+			strings[i] = this.next(random);
+		}
+
+		return strings;
+	}
+
+
+	/**
+	 * @return Returns the versions of the given number of version strings.
+	 *         Must not be called on {@link #INVALID}.
+	 */
+	/* @Nonnull */
+	public SemanticVersion[] generateSemanticVersions(
+		final int count)
+	{
+		final String[] strings = this.generate(count);
+		final SemanticVersion[] semanticVersions = new SemanticVersion[count];
+
+		for (int i = 0; i < count; ++i)
+		{
+			semanticVersions[i] = SemanticVersion.from(strings[i]);
+		}
+
+		return semanticVersions;
+	}
+
+
+	/* @Nonnull */
+	private static String versionNumbers(
+		/* @Nonnull */ final Random random)
+	{
+		return skewed(random, 30) + "." + skewed(random, 100) + "." + skewed(random, 1000);
+	}
+
+
+	private static int skewed(
+		/* @Nonnull */ final Random random,
+		final int bound)
+	{
+		return (int) (bound * Math.pow(random.nextDouble(), 3));
+	}
+}
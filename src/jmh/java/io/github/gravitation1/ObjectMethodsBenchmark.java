@@ -0,0 +1,105 @@
+package io.github.gravitation1;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Runs compareTo, equals, hashCode and toString over a batch of versions
+ * per invocation. The versions are compared with their neighbours, and
+ * with equal copies that were parsed separately, so that equality cannot
+ * be decided by identity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ObjectMethodsBenchmark
+{
+	private static final int BATCH_SIZE = 1024;
+
+	@Param({ "RELEASE", "PRE_RELEASE", "BUILD_METADATA" })
+	public Dataset dataset;
+
+	private SemanticVersion[] semanticVersions;
+	private SemanticVersion[] copies;
+
+
+	@Setup
+	public void setUp()
+	{
+		this.semanticVersions = this.dataset.generateSemanticVersions(BATCH_SIZE);
+		this.copies = this.dataset.generateSemanticVersions(BATCH_SIZE);
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void compareTo(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(this.semanticVersions[i].compareTo(this.semanticVersions[(i + 1) % BATCH_SIZE]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void compareToEqual(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(this.semanticVersions[i].compareTo(this.copies[i]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void equals(
+		final Blackhole blackhole)
+	{
+		for (int i = 0; i < BATCH_SIZE; ++i)
+		{
+			blackhole.consume(this.semanticVersions[i].equals(this.copies[i]));
+			blackhole.consume(this.semanticVersions[i].equals(this.semanticVersions[(i + 1) % BATCH_SIZE]));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void hashCode(
+		final Blackhole blackhole)
+	{
+		for (final SemanticVersion semanticVersion : this.semanticVersions)
+		{
+			blackhole.consume(semanticVersion.hashCode());
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void toString(
+		final Blackhole blackhole)
+	{
+		for (final SemanticVersion semanticVersion : this.semanticVersions)
+		{
+			blackhole.consume(semanticVersion.toString());
+		}
+	}
+}
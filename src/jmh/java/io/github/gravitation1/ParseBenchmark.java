@@ -0,0 +1,83 @@
+package io.github.gravitation1;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Parses a batch of version strings per invocation, so the reported time
+ * and allocation are per string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ParseBenchmark
+{
+	private static final int BATCH_SIZE = 1024;
+
+	@Param({ "RELEASE", "PRE_RELEASE", "BUILD_METADATA", "INVALID" })
+	public Dataset dataset;
+
+	private String[] strings;
+
+
+	@Setup
+	public void setUp()
+	{
+		this.strings = this.dataset.generate(BATCH_SIZE);
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void from(
+		final Blackhole blackhole)
+	{
+		for (final String string : this.strings)
+		{
+			try
+			{
+				blackhole.consume(SemanticVersion.from(string));
+			}
+			catch (final SemanticVersion.SemanticVersionException e)
+			{
+				blackhole.consume(e);
+			}
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void tryParse(
+		final Blackhole blackhole)
+	{
+		for (final String string : this.strings)
+		{
+			blackhole.consume(SemanticVersion.tryParse(string));
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void parseOrNull(
+		final Blackhole blackhole)
+	{
+		for (final String string : this.strings)
+		{
+			blackhole.consume(SemanticVersion.parseOrNull(string));
+		}
+	}
+}
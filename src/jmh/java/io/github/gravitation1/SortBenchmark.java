@@ -0,0 +1,86 @@
+package io.github.gravitation1;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Sorts a list of versions in random order. The list is put back into that
+ * order before every invocation, outside of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SortBenchmark
+{
+	@Param({ "RELEASE", "PRE_RELEASE", "BUILD_METADATA" })
+	public Dataset dataset;
+
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	private SemanticVersion[] semanticVersions;
+	private List<SemanticVersion> list;
+
+
+	@Setup
+	public void setUp()
+	{
+		this.semanticVersions = this.dataset.generateSemanticVersions(this.size);
+		this.list = new ArrayList<>(Arrays.asList(this.semanticVersions));
+	}
+
+
+	@Setup(Level.Invocation)
+	public void reset()
+	{
+		this.list.clear();
+		this.list.addAll(Arrays.asList(this.semanticVersions));
+	}
+
+
+	@Benchmark
+	public List<SemanticVersion> naturalOrder()
+	{
+		Collections.sort(this.list);
+		return this.list;
+	}
+
+
+	@Benchmark
+	public List<SemanticVersion> precedenceOrder()
+	{
+		this.list.sort(SemanticVersion.PRECEDENCE_ORDER);
+		return this.list;
+	}
+
+
+	@Benchmark
+	public List<SemanticVersion> sorter()
+	{
+		SemanticVersionSorter.sort(this.list);
+		return this.list;
+	}
+
+
+	@Benchmark
+	public List<SemanticVersion> parallelSorter()
+	{
+		SemanticVersionSorter.parallelSort(this.list);
+		return this.list;
+	}
+}
@@ -0,0 +1,122 @@
+package io.github.gravitation1;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * A read-only view of a range of bytes as characters, one character per
+ * byte, so that ASCII text can be parsed without decoding it into a String
+ * first. Bytes outside of the ASCII range show up as characters that are
+ * never legal in a semantic version.
+ *
+ * Sub-sequences are copied into Strings, since they are only asked for
+ * when an identifier is kept.
+ */
+final class AsciiCharSequence implements CharSequence
+{
+	private final ByteBuffer buffer;
+	private final int start;
+	private final int length;
+
+
+	AsciiCharSequence(
+		/* @Nonnull */ final byte[] bytes,
+		final int offset,
+		final int length)
+	{
+		this(ByteBuffer.wrap(bytes, offset, length));
+	}
+
+
+	/**
+	 * Views the bytes between the position and the limit of the buffer.
+	 * Later changes to the position or limit do not affect the view.
+	 */
+	AsciiCharSequence(
+		/* @Nonnull */ final ByteBuffer buffer)
+	{
+		this(buffer, buffer.position(), buffer.remaining());
+	}
+
+
+	/**
+	 * Views the given number of bytes starting at the given absolute index
+	 * of the buffer, regardless of its position and limit.
+	 */
+	AsciiCharSequence(
+		/* @Nonnull */ final ByteBuffer buffer,
+		final int start,
+		final int length)
+	{
+		if (0 > start || 0 > length || buffer.capacity() - length < start)
+		{
+			throw new IndexOutOfBoundsException(start + ", " + length);
+		}
+
+		this.buffer = buffer;
+		this.start = start;
+		this.length = length;
+	}
+
+
+	@Override
+	public int length()
+	{
+		return this.length;
+	}
+
+
+	@Override
+	public char charAt(
+		final int index)
+	{
+		if (0 > index || this.length <= index)
+		{
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+
+		return (char) (this.buffer.get(this.start + index) & 0xFF);
+	}
+
+
+	/* @Nonnull */
+	@Override
+	public String subSequence(
+		final int start,
+		final int end)
+	{
+		if (0 > start || end > this.length || start > end)
+		{
+			throw new IndexOutOfBoundsException(start + ", " + end);
+		}
+
+		if (this.buffer.hasArray())
+		{
+			return
+				new String(
+					this.buffer.array(),
+					this.buffer.arrayOffset() + this.start + start,
+					end - start,
+					StandardCharsets.ISO_8859_1);
+		}
+
+		final char[] characters = new char[end - start];
+
+		for (int i = 0; i < characters.length; ++i)
+		{
+			characters[i] = (char) (this.buffer.get(this.start + start + i) & 0xFF);
+		}
+
+		return new String(characters);
+	}
+
+
+	/* @Nonnull */
+	@Override
+	public String toString()
+	{
+		return this.subSequence(0, this.length);
+	}
+}
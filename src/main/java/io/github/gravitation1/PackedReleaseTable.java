@@ -0,0 +1,227 @@
+package io.github.gravitation1;
+
+
+import java.util.Arrays;
+
+
+/**
+ * An open-addressing hash table of packed releases (see
+ * {@link SemanticVersion#getPackedRelease()}), with an optional value per
+ * release. Collisions are resolved by linear probing, and removals shift
+ * later entries back instead of leaving tombstones. An empty slot holds 0,
+ * which is never a packed release.
+ */
+final class PackedReleaseTable
+{
+	private static final int MINIMUM_CAPACITY;
+
+	private long[] packedReleases;
+	/* @Nullable */ private Object[] values;
+	private int size;
+
+
+	static
+	{
+		MINIMUM_CAPACITY = 16;
+	}
+
+
+	PackedReleaseTable(
+		final int expectedSize,
+		final boolean withValues)
+	{
+		// Keep the table at most three quarters full.
+		final long minimumCapacity = Math.min(1 << 30, Math.max(MINIMUM_CAPACITY, (expectedSize * 4L + 2) / 3));
+		final int capacity = (int) Long.highestOneBit(minimumCapacity - 1) << 1;
+		this.packedReleases = new long[capacity];
+		this.values = withValues ? new Object[capacity] : null;
+	}
+
+
+	int size()
+	{
+		return this.size;
+	}
+
+
+	int capacity()
+	{
+		return this.packedReleases.length;
+	}
+
+
+	/**
+	 * @return Returns the packed release in the given slot, or 0 if the slot
+	 *         is empty.
+	 */
+	long packedReleaseAt(
+		final int slot)
+	{
+		return this.packedReleases[slot];
+	}
+
+
+	/* @Nullable */
+	Object valueAt(
+		final int slot)
+	{
+		return this.values[slot];
+	}
+
+
+	void setValueAt(
+		final int slot,
+		/* @Nullable */ final Object value)
+	{
+		this.values[slot] = value;
+	}
+
+
+	/**
+	 * @return Returns the slot holding the packed release, or -1 if there is
+	 *         none.
+	 */
+	int find(
+		final long packedRelease)
+	{
+		final int mask = this.packedReleases.length - 1;
+
+		for (int slot = slot(packedRelease, mask); ; slot = (slot + 1) & mask)
+		{
+			if (packedRelease == this.packedReleases[slot])
+			{
+				return slot;
+			}
+			else if (0 == this.packedReleases[slot])
+			{
+				return -1;
+			}
+		}
+	}
+
+
+	/**
+	 * Adds the packed release unless it is already there. Callers can tell
+	 * whether it was added by checking the size.
+	 *
+	 * @return Returns the slot holding the packed release.
+	 */
+	int insert(
+		final long packedRelease)
+	{
+		if (this.size >= this.packedReleases.length / 4 * 3)
+		{
+			this.resize(this.packedReleases.length << 1);
+		}
+
+		final int mask = this.packedReleases.length - 1;
+		int slot = slot(packedRelease, mask);
+
+		while (0 != this.packedReleases[slot])
+		{
+			if (packedRelease == this.packedReleases[slot])
+			{
+				return slot;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		this.packedReleases[slot] = packedRelease;
+		++this.size;
+		return slot;
+	}
+
+
+	/**
+	 * @return Returns the value of the removed packed release, or null if it
+	 *         was not there or had no value.
+	 */
+	/* @Nullable */
+	Object remove(
+		final long packedRelease)
+	{
+		int hole = this.find(packedRelease);
+
+		if (-1 == hole)
+		{
+			return null;
+		}
+
+		final Object value = null == this.values ? null : this.values[hole];
+		final int mask = this.packedReleases.length - 1;
+
+		// Move back every later entry of the same run that may be stored in
+		// the hole, that is, whose own slot is not between the hole and it.
+		for (int slot = (hole + 1) & mask; 0 != this.packedReleases[slot]; slot = (slot + 1) & mask)
+		{
+			if (((slot - slot(this.packedReleases[slot], mask)) & mask) >= ((slot - hole) & mask))
+			{
+				this.packedReleases[hole] = this.packedReleases[slot];
+
+				if (null != this.values)
+				{
+					this.values[hole] = this.values[slot];
+				}
+
+				hole = slot;
+			}
+		}
+
+		this.packedReleases[hole] = 0;
+
+		if (null != this.values)
+		{
+			this.values[hole] = null;
+		}
+
+		--this.size;
+		return value;
+	}
+
+
+	void clear()
+	{
+		Arrays.fill(this.packedReleases, 0);
+
+		if (null != this.values)
+		{
+			Arrays.fill(this.values, null);
+		}
+
+		this.size = 0;
+	}
+
+
+	private void resize(
+		final int capacity)
+	{
+		final long[] packedReleases = this.packedReleases;
+		final Object[] values = this.values;
+		this.packedReleases = new long[capacity];
+		this.values = null == values ? null : new Object[capacity];
+		this.size = 0;
+
+		for (int i = 0; i < packedReleases.length; ++i)
+		{
+			if (0 != packedReleases[i])
+			{
+				final int slot = this.insert(packedReleases[i]);
+
+				if (null != values)
+				{
+					this.values[slot] = values[i];
+				}
+			}
+		}
+	}
+
+
+	private static int slot(
+		final long packedRelease,
+		final int mask)
+	{
+		final long hash = packedRelease * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+}
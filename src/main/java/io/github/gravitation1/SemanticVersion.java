@@ -1,46 +1,80 @@
 package io.github.gravitation1;
 
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 
+/**
+ * A version is kept as its version numbers, its precedence key and, when
+ * it has pre-release data or build metadata, a single string holding both
+ * the way they are written, for example "-alpha.1+build.5". Everything
+ * else, including the string form of the version and the lists of
+ * identifiers, is built from those on first use.
+ */
 public class SemanticVersion implements Comparable<SemanticVersion>
 {
 	// The version of semantic versioning that this class implements. See
 	// https://semver.org/spec/v2.0.0.html for details.
 	public static final SemanticVersion SEMANTIC_VERSION_VERSION;
 
-	private static final String SEPARATOR;
-	private static final String SEPARATOR_REGEX;
-	private static final String PRE_RELEASE_DELIMITER;
-	private static final String BUILD_METADATA_DELIMITER;
-	private static final Pattern COMMON_IDENTIFIER_FORMAT;
-	private static final Pattern NUMERICAL_IDENTIFIER_FORMAT;
-	private static final Pattern TEXTUAL_IDENTIFIER_CHECK;
+	// Orders versions by precedence, the same as compareTo does.
+	public static final Comparator<SemanticVersion> PRECEDENCE_ORDER;
+
+	private static final char SEPARATOR;
+	private static final char PRE_RELEASE_DELIMITER;
+	private static final char BUILD_METADATA_DELIMITER;
+	private static final int MAJOR_KEY_BITS;
+	private static final int MINOR_KEY_BITS;
+	private static final int PATCH_KEY_BITS;
+	private static final int SHARED_RELEASE_LIMIT;
+	private static final SemanticVersion[] SHARED_RELEASES;
+	private static final boolean STACKLESS_EXCEPTIONS;
+
+	// Null unless instrumentation is turned on, so that it costs no more
+	// than a read of this field otherwise.
+	/* @Nullable */ private static volatile SemanticVersionListener listener;
 
-	private final String fullVersion;
 	private final int major;
 	private final int minor;
 	private final int patch;
-	private final List<String> preReleaseData;
-	private final List<String> buildMetadata;
+	private final long precedenceKey;
+
+	// The pre-release data and build metadata with their delimiters, or null
+	// if there are neither, along with the offset of the build metadata
+	// delimiter, which is the length of the suffix if there is no build
+	// metadata. The offset is 0 exactly when there is no pre-release data.
+	/* @Nullable */ private final String suffix;
+	private final int buildMetadataOffset;
+
+	// Built on first use. Racing threads may each build these, but always to
+	// equal values, the same way String caches its hash code.
+	/* @Nullable */ private String fullVersion;
+	/* @Nullable */ private List<String> preReleaseData;
+	/* @Nullable */ private List<String> buildMetadata;
+	private int hashCode;
 
 
 	static
 	{
-		SEMANTIC_VERSION_VERSION = new SemanticVersion(2, 0, 0);
-		SEPARATOR = ".";
-		SEPARATOR_REGEX = "\\.";
-		PRE_RELEASE_DELIMITER = "-";
-		BUILD_METADATA_DELIMITER = "+";
-		COMMON_IDENTIFIER_FORMAT = Pattern.compile("^[0-9A-Za-z-]+$");
-		NUMERICAL_IDENTIFIER_FORMAT = Pattern.compile("^([0-9]|[1-9][0-9]+)$");
-		TEXTUAL_IDENTIFIER_CHECK = Pattern.compile("^.*[A-Za-z-]+.*$");
+		STACKLESS_EXCEPTIONS = Boolean.getBoolean("io.github.gravitation1.SemanticVersion.stacklessExceptions");
+		SEPARATOR = '.';
+		PRE_RELEASE_DELIMITER = '-';
+		BUILD_METADATA_DELIMITER = '+';
+		MAJOR_KEY_BITS = 20;
+		MINOR_KEY_BITS = 21;
+		PATCH_KEY_BITS = 21;
+		PRECEDENCE_ORDER = SemanticVersion::comparePrecedence;
+
+		// Releases whose version numbers are all below the limit are shared,
+		// and created the first time they are asked for.
+		SHARED_RELEASE_LIMIT = 16;
+		SHARED_RELEASES = new SemanticVersion[SHARED_RELEASE_LIMIT * SHARED_RELEASE_LIMIT * SHARED_RELEASE_LIMIT];
+		SEMANTIC_VERSION_VERSION = of(2, 0, 0);
 	}
 
 
@@ -64,7 +98,7 @@ public class SemanticVersion implements Comparable<SemanticVersion>
 		final int minor,
 		final int patch)
 	{
-		this(major, minor, patch, new LinkedList<>(), new LinkedList<>());
+		this(major, minor, patch, Collections.emptyList(), Collections.emptyList());
 	}
 
 
@@ -78,43 +112,134 @@ public class SemanticVersion implements Comparable<SemanticVersion>
 		this.major = checkMajorVersionNumber(major);
 		this.minor = checkMinorVersionNumber(minor);
 		this.patch = checkPatchVersionNumber(patch);
-		this.preReleaseData =
-			Collections
-				.unmodifiableList(
-					preReleaseData
-						.stream()
-						.map(SemanticVersion::checkPreReleaseIdentifier)
-						.collect(Collectors.toList()));
-		this.buildMetadata =
-			Collections
-				.unmodifiableList(
-					buildMetadata
-						.stream()
-						.map(SemanticVersion::checkBuildMetadataIdentifier)
-						.collect(Collectors.toList()));
-		final StringBuilder stringBuilder = new StringBuilder();
-			stringBuilder
-				.append(this.getMajor())
-				.append(SEPARATOR)
-				.append(this.getMinor())
-				.append(SEPARATOR)
-				.append(this.getPatch());
 
-		if (!this.getPreReleaseData().isEmpty())
+		if (preReleaseData.isEmpty() && buildMetadata.isEmpty())
 		{
-			stringBuilder
-				.append(PRE_RELEASE_DELIMITER)
-				.append(String.join(".", this.getPreReleaseData()));
+			this.suffix = null;
+			this.buildMetadataOffset = 0;
+		}
+		else
+		{
+			final StringBuilder stringBuilder = new StringBuilder();
+			appendIdentifiers(stringBuilder, PRE_RELEASE_DELIMITER, preReleaseData, true);
+			this.buildMetadataOffset = stringBuilder.length();
+			appendIdentifiers(stringBuilder, BUILD_METADATA_DELIMITER, buildMetadata, false);
+			this.suffix = stringBuilder.toString();
+		}
+
+		this.precedenceKey = toPrecedenceKey(this.major, this.minor, this.patch, 0 == this.buildMetadataOffset);
+	}
+
+
+	/**
+	 * Creates a semantic version from parts that have already been validated.
+	 */
+	private SemanticVersion(
+		final int major,
+		final int minor,
+		final int patch,
+		/* @Nullable */ final String suffix,
+		final int buildMetadataOffset)
+	{
+		this.major = major;
+		this.minor = minor;
+		this.patch = patch;
+		this.suffix = suffix;
+		this.buildMetadataOffset = buildMetadataOffset;
+		this.precedenceKey = toPrecedenceKey(major, minor, patch, 0 == buildMetadataOffset);
+	}
+
+
+	/**
+	 * Like {@link #SemanticVersion(int)}, but may return a shared instance.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion of(
+		final int major)
+	{
+		return of(major, 0, 0);
+	}
+
+
+	/**
+	 * Like {@link #SemanticVersion(int, int)}, but may return a shared
+	 * instance.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion of(
+		final int major,
+		final int minor)
+	{
+		return of(major, minor, 0);
+	}
+
+
+	/**
+	 * Like {@link #SemanticVersion(int, int, int)}, but returns a shared
+	 * instance when every version number is small, so that code creating
+	 * versions like "1.0.0" over and over does not allocate.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion of(
+		final int major,
+		final int minor,
+		final int patch)
+	{
+		return
+			release(
+				checkMajorVersionNumber(major),
+				checkMinorVersionNumber(minor),
+				checkPatchVersionNumber(patch));
+	}
+
+
+	/**
+	 * Like {@link #SemanticVersion(int, int, int, List, List)}, but returns a
+	 * shared instance for small releases, as {@link #of(int, int, int)} does.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion of(
+		final int major,
+		final int minor,
+		final int patch,
+		/* @Nonnull */ final List<String> preReleaseData,
+		/* @Nonnull */ final List<String> buildMetadata)
+	{
+		return
+			preReleaseData.isEmpty() && buildMetadata.isEmpty()
+				? of(major, minor, patch)
+				: new SemanticVersion(major, minor, patch, preReleaseData, buildMetadata);
+	}
+
+
+	/**
+	 * @return Returns the release with the given, already validated, version
+	 *         numbers, shared if they are small enough.
+	 */
+	/* @Nonnull */
+	private static SemanticVersion release(
+		final int major,
+		final int minor,
+		final int patch)
+	{
+		if (SHARED_RELEASE_LIMIT <= major || SHARED_RELEASE_LIMIT <= minor || SHARED_RELEASE_LIMIT <= patch)
+		{
+			return new SemanticVersion(major, minor, patch, null, 0);
 		}
 
-		if (!this.getBuildMetadata().isEmpty())
+		final int index = (major * SHARED_RELEASE_LIMIT + minor) * SHARED_RELEASE_LIMIT + patch;
+		SemanticVersion semanticVersion = SHARED_RELEASES[index];
+
+		if (null == semanticVersion)
 		{
-			stringBuilder
-				.append(BUILD_METADATA_DELIMITER)
-				.append(String.join(".", this.getBuildMetadata()));
+			// Racing threads may each create an instance, which is harmless
+			// since they are equal, and safely published by their final
+			// fields.
+			semanticVersion = new SemanticVersion(major, minor, patch, null, 0);
+			SHARED_RELEASES[index] = semanticVersion;
 		}
 
-		this.fullVersion = stringBuilder.toString();
+		return semanticVersion;
 	}
 
 
@@ -148,6 +273,11 @@ public class SemanticVersion implements Comparable<SemanticVersion>
 	/* @Nonnull */
 	public List<String> getPreReleaseData()
 	{
+		if (null == this.preReleaseData)
+		{
+			this.preReleaseData = this.split(1, this.buildMetadataOffset);
+		}
+
 		return this.preReleaseData;
 	}
 
@@ -155,291 +285,959 @@ public class SemanticVersion implements Comparable<SemanticVersion>
 	/* @Nonnull */
 	public List<String> getBuildMetadata()
 	{
+		if (null == this.buildMetadata)
+		{
+			this.buildMetadata =
+				null == this.suffix ? Collections.emptyList() : this.split(this.buildMetadataOffset + 1, this.suffix.length());
+		}
+
 		return this.buildMetadata;
 	}
 
 
 	/**
-	 * Implements ordering as per https://semver.org/#spec-item-11
-	 *
-	 * Note: This class has a natural ordering that is inconsistent with
-	 *       equals. This is due to build metadata not participating in
-	 *       version precedence, as per https://semver.org/#spec-item-10.
-	 *       If equals was implemented in terms of compareTo, then when a
-	 *       SemanticVersion would be used in a collection such as a hash map,
-	 *       we may see unusual behavior for versions that had different
-	 *       build metadata, but were otherwise identical.
-	 *
-	 * @param other The other semantic version to compare against.
-	 * @return Returns an arbitrary negative number if this semantic version
-	 *         has a lower precedence than the other semantic version. Returns
-	 *         an arbitrary positive number if this semantic version has a
-	 *         higher precedence than the other semantic version. Returns 0
-	 *         if both semantic versions have the same precedence.
+	 * @return Returns the lowest release with a higher precedence than this
+	 *         version whose minor and patch version numbers are 0. For
+	 *         example, the next major version of both 1.2.3 and 1.2.0-rc.1 is
+	 *         2.0.0, but that of 2.0.0-rc.1 is 2.0.0, as with npm.
+	 * @throws IllegalMajorVersion Thrown if the major version number would
+	 *         be too large.
 	 */
-	@Override
-	public int compareTo(
-		/* @Nonnull */ final SemanticVersion other)
+	/* @Nonnull */
+	public SemanticVersion nextMajor()
 	{
-		final int majorDiff = this.major - other.major;
-
-		if (0 != majorDiff)
-		{
-			return majorDiff;
-		}
-
-		final int minorDiff = this.minor - other.minor;
-
-		if (0 != minorDiff)
-		{
-			return minorDiff;
-		}
+		return
+			this.hasPreReleaseData() && 0 == this.minor && 0 == this.patch
+				? release(this.major, 0, 0)
+				: release(checkMajorVersionNumber(this.major + 1), 0, 0);
+	}
 
-		final int patchDiff = this.patch - other.patch;
 
-		if (0 != patchDiff)
-		{
-			return patchDiff;
-		}
+	/**
+	 * @return Returns the lowest release with a higher precedence than this
+	 *         version with the same major version number and a patch version
+	 *         number of 0. For example, the next minor version of 1.2.3 is
+	 *         1.3.0, but that of 1.3.0-rc.1 is 1.3.0.
+	 * @throws IllegalMinorVersion Thrown if the minor version number would
+	 *         be too large.
+	 */
+	/* @Nonnull */
+	public SemanticVersion nextMinor()
+	{
+		return
+			this.hasPreReleaseData() && 0 == this.patch
+				? release(this.major, this.minor, 0)
+				: release(this.major, checkMinorVersionNumber(this.minor + 1), 0);
+	}
 
-		if (this.getPreReleaseData().isEmpty() && !other.getPreReleaseData().isEmpty())
-		{
-			return 1;
-		}
-		else if (!this.getPreReleaseData().isEmpty() && other.getPreReleaseData().isEmpty())
-		{
-			return -1;
-		}
 
-		int longerSize =
-			this.preReleaseData.size() > other.preReleaseData.size()
-				? this.preReleaseData.size()
-				: other.preReleaseData.size();
+	/**
+	 * @return Returns the lowest release with a higher precedence than this
+	 *         version with the same major and minor version numbers. For
+	 *         example, the next patch version of 1.2.3 is 1.2.4, but that of
+	 *         1.2.4-rc.1 is 1.2.4.
+	 * @throws IllegalPatchVersion Thrown if the patch version number would
+	 *         be too large.
+	 */
+	/* @Nonnull */
+	public SemanticVersion nextPatch()
+	{
+		return
+			this.hasPreReleaseData()
+				? release(this.major, this.minor, this.patch)
+				: release(this.major, this.minor, checkPatchVersionNumber(this.patch + 1));
+	}
 
-		for (int i = 0; i < longerSize; ++i)
-		{
-			final String thisIdentifier = this.preReleaseData.size() > i ? this.preReleaseData.get(i) : null;
-			final String otherIdentifier = other.preReleaseData.size() > i ? other.preReleaseData.get(i) : null;
 
-			if (null != thisIdentifier && null == otherIdentifier)
-			{
-				return 1;
-			}
-			else if (null == thisIdentifier && null != otherIdentifier)
-			{
-				return -1;
-			}
-			// Both identifiers will never be both null, since that would have
-			// terminated the for loop.
-			final boolean thisIdentifierIsNumber = NUMERICAL_IDENTIFIER_FORMAT.matcher(thisIdentifier).matches();
-			final boolean otherIdentifierIsNumber = NUMERICAL_IDENTIFIER_FORMAT.matcher(otherIdentifier).matches();
+	/**
+	 * @return Returns this version with the given pre-release data instead of
+	 *         its own, keeping its build metadata. Only the new identifiers
+	 *         are validated.
+	 * @throws IllegalPreReleaseIdentifier Thrown if an identifier is invalid.
+	 */
+	/* @Nonnull */
+	public SemanticVersion withPreRelease(
+		/* @Nonnull */ final List<String> preReleaseData)
+	{
+		final StringBuilder stringBuilder = new StringBuilder();
+		appendIdentifiers(stringBuilder, PRE_RELEASE_DELIMITER, preReleaseData, true);
 
-			if (thisIdentifierIsNumber && otherIdentifierIsNumber)
-			{
-				final int numericalDiff = Integer.parseInt(thisIdentifier) - Integer.parseInt(otherIdentifier);
+		return this.withPreReleasePart(stringBuilder.toString());
+	}
 
-				if (0 != numericalDiff)
-				{
-					return numericalDiff;
-				}
-			}
-			else if (otherIdentifierIsNumber)
-			{
-				return 1;
-			}
-			else if (thisIdentifierIsNumber)
-			{
-				return -1;
-			}
-			else
-			{
-				final int textualDiff = thisIdentifier.compareTo(otherIdentifier);
 
-				if (0 != textualDiff)
-				{
-					return textualDiff;
-				}
-			}
+	/**
+	 * @return Returns this version with pre-release data made of the given
+	 *         identifier and number, such as "rc.2", instead of its own,
+	 *         keeping its build metadata.
+	 * @throws IllegalPreReleaseIdentifier Thrown if the identifier is invalid
+	 *         or the number is negative.
+	 */
+	/* @Nonnull */
+	public SemanticVersion withPreRelease(
+		/* @Nonnull */ final String identifier,
+		final int number)
+	{
+		if (0 > number)
+		{
+			notifyValidationFailure(ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER);
+			throw new IllegalPreReleaseIdentifier();
 		}
 
-		return 0;
+		return
+			this.withPreReleasePart(
+				PRE_RELEASE_DELIMITER + checkPreReleaseIdentifier(identifier) + SEPARATOR + number);
 	}
 
 
-	@Override
+	/**
+	 * @return Returns this version without pre-release data, keeping its
+	 *         build metadata, or this version if it has no pre-release data.
+	 */
 	/* @Nonnull */
-	public String toString()
+	public SemanticVersion withoutPreRelease()
 	{
-		return this.fullVersion;
+		return this.hasPreReleaseData() ? this.withPreReleasePart("") : this;
 	}
 
 
-	@Override
-	public int hashCode()
+	/**
+	 * @return Returns this version with the given build metadata instead of
+	 *         its own, keeping its pre-release data. Only the new identifiers
+	 *         are validated.
+	 * @throws IllegalBuildMetadataIdentifier Thrown if an identifier is
+	 *         invalid.
+	 */
+	/* @Nonnull */
+	public SemanticVersion withBuildMetadata(
+		/* @Nonnull */ final List<String> buildMetadata)
 	{
-		return this.fullVersion.hashCode();
+		final StringBuilder stringBuilder = new StringBuilder();
+		appendIdentifiers(stringBuilder, BUILD_METADATA_DELIMITER, buildMetadata, false);
+
+		return this.withBuildMetadataPart(stringBuilder.toString());
 	}
 
 
 	/**
-	 * Note: This class has a natural ordering that is inconsistent with
-	 *       equals. This is due to build metadata not participating in
-	 *       version precedence, as per https://semver.org/#spec-item-10.
-	 *       If equals was implemented in terms of compareTo, then when a
-	 *       SemanticVersion would be used in a collection such as a hash map,
-	 *       we may see unusual behavior for versions that had different
-	 *       build metadata, but were otherwise identical.
-	 *
-	 * @param other The version to compare to.
-	 * @return Returns true IFF both versions have identical string
-	 *         representations.
+	 * @return Returns this version without build metadata, keeping its
+	 *         pre-release data, or this version if it has no build metadata.
 	 */
-	@Override
-	public boolean equals(
-		final Object other)
+	/* @Nonnull */
+	public SemanticVersion withoutBuildMetadata()
 	{
-		if (this == other)
-		{
-			return true;
-		}
-		else if (other instanceof SemanticVersion)
-		{
-			return this.fullVersion.equals(((SemanticVersion) other).fullVersion);
-		}
-		else
-		{
-			return false;
-		}
+		return
+			null == this.suffix || this.buildMetadataOffset == this.suffix.length()
+				? this
+				: this.withBuildMetadataPart("");
 	}
 
 
+	/**
+	 * @param preReleasePart Validated pre-release data, including its
+	 *        delimiter, or the empty string.
+	 */
 	/* @Nonnull */
-	public static SemanticVersion from(
-		/* @Nonnull */ final String semanticVersionString)
+	private SemanticVersion withPreReleasePart(
+		/* @Nonnull */ final String preReleasePart)
 	{
-		final List<String> buildMetadata;
-		final String withoutBuildMetadata;
+		final String buildMetadataPart = null == this.suffix ? "" : this.suffix.substring(this.buildMetadataOffset);
+		final SemanticVersion semanticVersion = this.withParts(preReleasePart, buildMetadataPart);
 
+		if (null != semanticVersion.suffix)
 		{
-			final int buildMetadataStart = semanticVersionString.indexOf(BUILD_METADATA_DELIMITER);
-
-			if (-1 != buildMetadataStart)
-			{
-				buildMetadata =
-					Arrays.asList(
-						semanticVersionString
-							.substring(buildMetadataStart + 1)
-							.split(SEPARATOR_REGEX));
-				withoutBuildMetadata = semanticVersionString.substring(0, buildMetadataStart);
-			}
-			else
-			{
-				buildMetadata = new LinkedList<>();
-				withoutBuildMetadata = semanticVersionString;
-			}
+			semanticVersion.buildMetadata = this.buildMetadata;
 		}
 
-		final List<String> preReleaseData;
-		final String baseVersion;
-
-		{
-			final int prereleaseStart = withoutBuildMetadata.indexOf(PRE_RELEASE_DELIMITER);
+		return semanticVersion;
+	}
 
-			if (-1 != prereleaseStart)
-			{
-				preReleaseData =
-					Arrays.asList(
-						withoutBuildMetadata
-							.substring(prereleaseStart + 1)
-							.split(SEPARATOR_REGEX));
-				baseVersion = withoutBuildMetadata.substring(0, prereleaseStart);
-			}
-			else
-			{
-				preReleaseData = new LinkedList<>();
-				baseVersion = withoutBuildMetadata;
-			}
-		}
 
-		final List<String> baseVersionIdentifiers = Arrays.asList(baseVersion.split(SEPARATOR_REGEX));
+	/**
+	 * @param buildMetadataPart Validated build metadata, including its
+	 *        delimiter, or the empty string.
+	 */
+	/* @Nonnull */
+	private SemanticVersion withBuildMetadataPart(
+		/* @Nonnull */ final String buildMetadataPart)
+	{
+		final String preReleasePart = null == this.suffix ? "" : this.suffix.substring(0, this.buildMetadataOffset);
+		final SemanticVersion semanticVersion = this.withParts(preReleasePart, buildMetadataPart);
 
-		if (3 != baseVersionIdentifiers.size())
+		if (null != semanticVersion.suffix)
 		{
-			throw new InvalidBaseFormatException();
+			semanticVersion.preReleaseData = this.preReleaseData;
 		}
 
-		return new SemanticVersion(
-			parseMajorVersionNumber(baseVersionIdentifiers.get(0)),
-			parseMinorVersionNumber(baseVersionIdentifiers.get(1)),
-			parsePatchVersionNumber(baseVersionIdentifiers.get(2)),
-			preReleaseData,
-			buildMetadata);
+		return semanticVersion;
 	}
 
 
-	private static int parseMajorVersionNumber(
-		/* @Nonnull */ final String majorVersion)
-	throws
-		IllegalMajorVersion
+	/* @Nonnull */
+	private SemanticVersion withParts(
+		/* @Nonnull */ final String preReleasePart,
+		/* @Nonnull */ final String buildMetadataPart)
 	{
-		if (!NUMERICAL_IDENTIFIER_FORMAT.matcher(majorVersion).matches())
-		{
-			throw new IllegalMajorVersion();
-		}
-
-		return Integer.parseInt(majorVersion);
+		return
+			preReleasePart.isEmpty() && buildMetadataPart.isEmpty()
+				? release(this.major, this.minor, this.patch)
+				: new SemanticVersion(
+					this.major,
+					this.minor,
+					this.patch,
+					preReleasePart.concat(buildMetadataPart),
+					preReleasePart.length());
 	}
 
 
-	private static int parseMinorVersionNumber(
-		/* @Nonnull */ final String minorVersion)
-	throws
-		IllegalMinorVersion
+	/**
+	 * @return Returns true if there is any pre-release data, without
+	 *         building the list of identifiers.
+	 */
+	boolean hasPreReleaseData()
 	{
-		if (!NUMERICAL_IDENTIFIER_FORMAT.matcher(minorVersion).matches())
-		{
-			throw new IllegalMinorVersion();
-		}
-
-		return Integer.parseInt(minorVersion);
+		return 0 != this.buildMetadataOffset;
 	}
 
 
-	private static int parsePatchVersionNumber(
-		/* @Nonnull */ final String patchVersion)
-	throws
-		IllegalPatchVersion
+	/**
+	 * @return Returns the pre-release data and build metadata as written,
+	 *         including their delimiters, or null if there is neither.
+	 */
+	/* @Nullable */
+	String getSuffix()
 	{
-		if (!NUMERICAL_IDENTIFIER_FORMAT.matcher(patchVersion).matches())
-		{
-			throw new IllegalPatchVersion();
-		}
-
-		return Integer.parseInt(patchVersion);
+		return this.suffix;
 	}
 
 
-	private static int checkMajorVersionNumber(
-		final int majorVersionNumber)
-	throws
-		IllegalMajorVersion
+	/**
+	 * @return Returns the offset of the build metadata delimiter in the
+	 *         suffix, or the length of the suffix if there is no build
+	 *         metadata.
+	 */
+	int getBuildMetadataOffset()
 	{
-		if (0 > majorVersionNumber)
-		{
-			throw new IllegalMajorVersion();
-		}
+		return this.buildMetadataOffset;
+	}
 
-		return majorVersionNumber;
+
+	/**
+	 * Packs the major, minor and patch version numbers, and whether there is
+	 * any pre-release data, into a single number that preserves precedence:
+	 * a version with a lower key always has a lower precedence than a
+	 * version with a higher key. Versions with equal keys need a full
+	 * comparison, which only happens when both have pre-release data with
+	 * the same version numbers, or when a version number is too large to be
+	 * packed (a major version of 2^20 - 1 or more, or a minor or patch
+	 * version of 2^21 - 1 or more).
+	 *
+	 * @return Returns a non-negative key, ordered by Long.compare.
+	 */
+	public long getPrecedenceKey()
+	{
+		return this.precedenceKey;
 	}
 
 
-	private static int checkMinorVersionNumber(
+	/**
+	 * @return Returns the precedence key if it is enough to tell this version
+	 *         apart from every other version, which is the case for releases
+	 *         without build metadata whose version numbers fit into the key,
+	 *         or else 0, which is never such a key.
+	 */
+	long getPackedRelease()
+	{
+		return
+			null == this.suffix
+			&& (1 << MAJOR_KEY_BITS) - 1 > this.major
+			&& (1 << MINOR_KEY_BITS) - 1 > this.minor
+			&& (1 << PATCH_KEY_BITS) - 1 > this.patch
+				? this.precedenceKey
+				: 0;
+	}
+
+
+	/**
+	 * @param packedRelease A non-zero value returned by
+	 *        {@link #getPackedRelease()}.
+	 * @return Returns a version equal to the one that was packed.
+	 */
+	/* @Nonnull */
+	static SemanticVersion fromPackedRelease(
+		final long packedRelease)
+	{
+		final int minorShift = PATCH_KEY_BITS + 1;
+		final int majorShift = MINOR_KEY_BITS + minorShift;
+
+		return
+			release(
+				(int) (packedRelease >>> majorShift),
+				(int) (packedRelease >>> minorShift) & ((1 << MINOR_KEY_BITS) - 1),
+				(int) (packedRelease >>> 1) & ((1 << PATCH_KEY_BITS) - 1));
+	}
+
+
+	/**
+	 * @return Returns a version from parts that have already been validated,
+	 *         as returned by {@link #getSuffix()} and
+	 *         {@link #getBuildMetadataOffset()}.
+	 */
+	/* @Nonnull */
+	static SemanticVersion fromTrustedParts(
+		final int major,
+		final int minor,
+		final int patch,
+		/* @Nullable */ final String suffix,
+		final int buildMetadataOffset)
+	{
+		return
+			null == suffix
+				? release(major, minor, patch)
+				: new SemanticVersion(major, minor, patch, suffix, buildMetadataOffset);
+	}
+
+
+	/**
+	 * Implements ordering as per https://semver.org/#spec-item-11
+	 *
+	 * Note: This class has a natural ordering that is inconsistent with
+	 *       equals. This is due to build metadata not participating in
+	 *       version precedence, as per https://semver.org/#spec-item-10.
+	 *       If equals was implemented in terms of compareTo, then when a
+	 *       SemanticVersion would be used in a collection such as a hash map,
+	 *       we may see unusual behavior for versions that had different
+	 *       build metadata, but were otherwise identical.
+	 *
+	 * @param other The other semantic version to compare against.
+	 * @return Returns an arbitrary negative number if this semantic version
+	 *         has a lower precedence than the other semantic version. Returns
+	 *         an arbitrary positive number if this semantic version has a
+	 *         higher precedence than the other semantic version. Returns 0
+	 *         if both semantic versions have the same precedence.
+	 */
+	@Override
+	public int compareTo(
+		/* @Nonnull */ final SemanticVersion other)
+	{
+		return comparePrecedence(this, other);
+	}
+
+
+	/**
+	 * Decides most comparisons with a single comparison of precedence keys,
+	 * only walking the pre-release data when the keys are equal.
+	 */
+	private static int comparePrecedence(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		/* @Nonnull */ final SemanticVersion other)
+	{
+		final int keyComparison = Long.compare(semanticVersion.precedenceKey, other.precedenceKey);
+
+		if (0 != keyComparison)
+		{
+			return keyComparison;
+		}
+
+		return semanticVersion.compareToWithEqualKey(other);
+	}
+
+
+	private int compareToWithEqualKey(
+		/* @Nonnull */ final SemanticVersion other)
+	{
+		final int majorComparison = Integer.compare(this.major, other.major);
+
+		if (0 != majorComparison)
+		{
+			return majorComparison;
+		}
+
+		final int minorComparison = Integer.compare(this.minor, other.minor);
+
+		if (0 != minorComparison)
+		{
+			return minorComparison;
+		}
+
+		final int patchComparison = Integer.compare(this.patch, other.patch);
+
+		if (0 != patchComparison)
+		{
+			return patchComparison;
+		}
+
+		if (!this.hasPreReleaseData() || !other.hasPreReleaseData())
+		{
+			// A version without pre-release data has the higher precedence.
+			return Boolean.compare(other.hasPreReleaseData(), this.hasPreReleaseData());
+		}
+
+		// Walks both lists of identifiers in step, straight from the suffixes.
+		int start = 1;
+		int otherStart = 1;
+
+		while (start < this.buildMetadataOffset && otherStart < other.buildMetadataOffset)
+		{
+			final int end = endOfIdentifier(this.suffix, start, this.buildMetadataOffset);
+			final int otherEnd = endOfIdentifier(other.suffix, otherStart, other.buildMetadataOffset);
+			final int identifierComparison =
+				comparePreReleaseIdentifiers(this.suffix, start, end, other.suffix, otherStart, otherEnd);
+
+			if (0 != identifierComparison)
+			{
+				return identifierComparison;
+			}
+
+			start = end + 1;
+			otherStart = otherEnd + 1;
+		}
+
+		// A larger set of pre-release fields has a higher precedence.
+		return Boolean.compare(start < this.buildMetadataOffset, otherStart < other.buildMetadataOffset);
+	}
+
+
+	/**
+	 * Builds the string on first use. Versions that were parsed from
+	 * canonical strings get an equal, but new, string.
+	 */
+	@Override
+	/* @Nonnull */
+	public String toString()
+	{
+		if (null == this.fullVersion)
+		{
+			final StringBuilder stringBuilder =
+				new StringBuilder(null == this.suffix ? 16 : 16 + this.suffix.length())
+					.append(this.major)
+					.append(SEPARATOR)
+					.append(this.minor)
+					.append(SEPARATOR)
+					.append(this.patch);
+
+			if (null != this.suffix)
+			{
+				stringBuilder.append(this.suffix);
+			}
+
+			this.fullVersion = stringBuilder.toString();
+		}
+
+		return this.fullVersion;
+	}
+
+
+	/**
+	 * Computed from the version numbers and the suffix on first use, without
+	 * building the string form of the version.
+	 */
+	@Override
+	public int hashCode()
+	{
+		int hashCode = this.hashCode;
+
+		if (0 == hashCode)
+		{
+			hashCode = 31 * (31 * (31 * this.major + this.minor) + this.patch);
+
+			if (null != this.suffix)
+			{
+				hashCode += this.suffix.hashCode();
+			}
+
+			this.hashCode = hashCode;
+		}
+
+		return hashCode;
+	}
+
+
+	/**
+	 * Note: This class has a natural ordering that is inconsistent with
+	 *       equals. This is due to build metadata not participating in
+	 *       version precedence, as per https://semver.org/#spec-item-10.
+	 *       If equals was implemented in terms of compareTo, then when a
+	 *       SemanticVersion would be used in a collection such as a hash map,
+	 *       we may see unusual behavior for versions that had different
+	 *       build metadata, but were otherwise identical.
+	 *
+	 * @param other The version to compare to.
+	 * @return Returns true IFF both versions have identical string
+	 *         representations.
+	 */
+	@Override
+	public boolean equals(
+		final Object other)
+	{
+		if (this == other)
+		{
+			return true;
+		}
+		else if (other instanceof SemanticVersion)
+		{
+			final SemanticVersion semanticVersion = (SemanticVersion) other;
+
+			return
+				this.precedenceKey == semanticVersion.precedenceKey
+				&& this.major == semanticVersion.major
+				&& this.minor == semanticVersion.minor
+				&& this.patch == semanticVersion.patch
+				&& (null == this.suffix ? null == semanticVersion.suffix : this.suffix.equals(semanticVersion.suffix));
+		}
+		else
+		{
+			return false;
+		}
+	}
+
+
+	/**
+	 * @throws SemanticVersionException Throws the subclass matching the
+	 *         first problem found in the string. See {@link ParseError}.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion from(
+		/* @Nonnull */ final String semanticVersionString)
+	{
+		return from((CharSequence) semanticVersionString);
+	}
+
+
+	/**
+	 * Like {@link #from(String)}, but reads the characters straight from the
+	 * given sequence.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion from(
+		/* @Nonnull */ final CharSequence characters)
+	{
+		final Parser parser = new Parser(characters);
+		final SemanticVersion semanticVersion = parse(parser);
+
+		if (null == semanticVersion)
+		{
+			throw parser.error.exception(characters.toString(), parser.errorOffset);
+		}
+
+		return semanticVersion;
+	}
+
+
+	/**
+	 * Like {@link #from(String)}, but reads the characters straight from the
+	 * given range of the array.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion from(
+		/* @Nonnull */ final char[] characters,
+		final int offset,
+		final int length)
+	{
+		return from(CharBuffer.wrap(characters, offset, length));
+	}
+
+
+	/**
+	 * Like {@link #from(String)}, but reads ASCII characters straight from
+	 * the given range of the array.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion from(
+		/* @Nonnull */ final byte[] bytes,
+		final int offset,
+		final int length)
+	{
+		return from(new AsciiCharSequence(bytes, offset, length));
+	}
+
+
+	/**
+	 * Like {@link #from(String)}, but reads ASCII characters straight from
+	 * the buffer, between its position and its limit. The position of the
+	 * buffer is left unchanged.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion from(
+		/* @Nonnull */ final ByteBuffer buffer)
+	{
+		return from(new AsciiCharSequence(buffer));
+	}
+
+
+	/**
+	 * Parses a string without throwing, which is much cheaper than catching
+	 * the exceptions thrown by {@link #from(String)} when many of the
+	 * strings are expected to be invalid.
+	 *
+	 * @return Returns a result holding either the parsed version, or the
+	 *         kind of error and the offset of the character at which it was
+	 *         found.
+	 */
+	/* @Nonnull */
+	public static ParseResult tryParse(
+		/* @Nonnull */ final String semanticVersionString)
+	{
+		return tryParse((CharSequence) semanticVersionString);
+	}
+
+
+	/* @Nonnull */
+	public static ParseResult tryParse(
+		/* @Nonnull */ final CharSequence characters)
+	{
+		final Parser parser = new Parser(characters);
+		final SemanticVersion semanticVersion = parse(parser);
+
+		return
+			null == semanticVersion
+				? new ParseResult(null, parser.error, parser.errorOffset)
+				: new ParseResult(semanticVersion, null, -1);
+	}
+
+
+	/**
+	 * @return Returns a result as described by {@link #tryParse(String)},
+	 *         with the error offset counted from the start of the range.
+	 */
+	/* @Nonnull */
+	public static ParseResult tryParse(
+		/* @Nonnull */ final char[] characters,
+		final int offset,
+		final int length)
+	{
+		return tryParse(CharBuffer.wrap(characters, offset, length));
+	}
+
+
+	/**
+	 * @return Returns a result as described by {@link #tryParse(String)},
+	 *         with the error offset counted from the start of the range.
+	 */
+	/* @Nonnull */
+	public static ParseResult tryParse(
+		/* @Nonnull */ final byte[] bytes,
+		final int offset,
+		final int length)
+	{
+		return tryParse(new AsciiCharSequence(bytes, offset, length));
+	}
+
+
+	/**
+	 * @return Returns a result as described by {@link #tryParse(String)},
+	 *         with the error offset counted from the position of the buffer.
+	 */
+	/* @Nonnull */
+	public static ParseResult tryParse(
+		/* @Nonnull */ final ByteBuffer buffer)
+	{
+		return tryParse(new AsciiCharSequence(buffer));
+	}
+
+
+	/**
+	 * @return Returns the parsed version, or null if the string is not a
+	 *         valid semantic version.
+	 */
+	/* @Nullable */
+	public static SemanticVersion parseOrNull(
+		/* @Nonnull */ final String semanticVersionString)
+	{
+		return parseOrNull((CharSequence) semanticVersionString);
+	}
+
+
+	/* @Nullable */
+	public static SemanticVersion parseOrNull(
+		/* @Nonnull */ final CharSequence characters)
+	{
+		return parse(new Parser(characters));
+	}
+
+
+	/* @Nullable */
+	public static SemanticVersion parseOrNull(
+		/* @Nonnull */ final char[] characters,
+		final int offset,
+		final int length)
+	{
+		return parseOrNull(CharBuffer.wrap(characters, offset, length));
+	}
+
+
+	/* @Nullable */
+	public static SemanticVersion parseOrNull(
+		/* @Nonnull */ final byte[] bytes,
+		final int offset,
+		final int length)
+	{
+		return parseOrNull(new AsciiCharSequence(bytes, offset, length));
+	}
+
+
+	/* @Nullable */
+	public static SemanticVersion parseOrNull(
+		/* @Nonnull */ final ByteBuffer buffer)
+	{
+		return parseOrNull(new AsciiCharSequence(buffer));
+	}
+
+
+	/**
+	 * Sets the listener that is told about every version parsed and every
+	 * failed validation, or turns instrumentation off if null.
+	 */
+	public static void setListener(
+		/* @Nullable */ final SemanticVersionListener listener)
+	{
+		SemanticVersion.listener = listener;
+	}
+
+
+	/* @Nullable */
+	public static SemanticVersionListener getListener()
+	{
+		return listener;
+	}
+
+
+	/**
+	 * Runs the parser, timing it and telling the listener about the outcome
+	 * if there is one.
+	 */
+	/* @Nullable */
+	private static SemanticVersion parse(
+		/* @Nonnull */ final Parser parser)
+	{
+		final SemanticVersionListener listener = SemanticVersion.listener;
+
+		if (null == listener)
+		{
+			return parser.parse();
+		}
+
+		final long start = System.nanoTime();
+		final SemanticVersion semanticVersion = parser.parse();
+		final long durationNanos = System.nanoTime() - start;
+
+		if (null == semanticVersion)
+		{
+			listener.parseFailed(parser.error, durationNanos);
+		}
+		else
+		{
+			listener.parsed(durationNanos);
+		}
+
+		return semanticVersion;
+	}
+
+
+	private static void notifyValidationFailure(
+		/* @Nonnull */ final ParseError error)
+	{
+		final SemanticVersionListener listener = SemanticVersion.listener;
+
+		if (null != listener)
+		{
+			listener.validationFailed(error);
+		}
+	}
+
+
+	/**
+	 * Numerical identifiers never have leading zeros, so a longer number is
+	 * always the larger one, and numbers of the same length compare like
+	 * strings.
+	 */
+	private static int comparePreReleaseIdentifiers(
+		/* @Nonnull */ final String suffix,
+		final int start,
+		final int end,
+		/* @Nonnull */ final String otherSuffix,
+		final int otherStart,
+		final int otherEnd)
+	{
+		final boolean numerical = isNumerical(suffix, start, end);
+
+		if (numerical != isNumerical(otherSuffix, otherStart, otherEnd))
+		{
+			// Numerical identifiers have lower precedence than textual ones.
+			return numerical ? -1 : 1;
+		}
+
+		final int length = end - start;
+		final int otherLength = otherEnd - otherStart;
+
+		if (numerical && length != otherLength)
+		{
+			return Integer.compare(length, otherLength);
+		}
+
+		final int shorterLength = Math.min(length, otherLength);
+
+		for (int i = 0; i < shorterLength; ++i)
+		{
+			final int characterComparison =
+				Character.compare(suffix.charAt(start + i), otherSuffix.charAt(otherStart + i));
+
+			if (0 != characterComparison)
+			{
+				return characterComparison;
+			}
+		}
+
+		return Integer.compare(length, otherLength);
+	}
+
+
+	private static boolean isNumerical(
+		/* @Nonnull */ final String suffix,
+		final int start,
+		final int end)
+	{
+		for (int i = start; i < end; ++i)
+		{
+			if (!isDigit(suffix.charAt(i)))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+
+	/**
+	 * @return Returns the offset of the separator after the identifier
+	 *         starting at the given offset, or the end offset if there is none.
+	 */
+	private static int endOfIdentifier(
+		/* @Nonnull */ final String suffix,
+		final int start,
+		final int end)
+	{
+		final int separator = suffix.indexOf(SEPARATOR, start);
+
+		return -1 == separator || end < separator ? end : separator;
+	}
+
+
+	/**
+	 * @return Returns the identifiers between the given offsets of the
+	 *         suffix.
+	 */
+	/* @Nonnull */
+	private List<String> split(
+		final int start,
+		final int end)
+	{
+		if (start >= end)
+		{
+			return Collections.emptyList();
+		}
+
+		final List<String> identifiers = new ArrayList<>();
+
+		for (int identifierStart = start; identifierStart < end; )
+		{
+			final int identifierEnd = endOfIdentifier(this.suffix, identifierStart, end);
+			identifiers.add(this.suffix.substring(identifierStart, identifierEnd));
+			identifierStart = identifierEnd + 1;
+		}
+
+		return Collections.unmodifiableList(identifiers);
+	}
+
+
+	/**
+	 * Lays out the version numbers from the most to the least significant
+	 * bits, followed by a bit that is set for versions without pre-release
+	 * data. Once a version number is too large for its field, it and every
+	 * field after it are filled with ones. Keys then still never order two
+	 * versions the wrong way around, but may be equal for different versions.
+	 */
+	private static long toPrecedenceKey(
+		final int major,
+		final int minor,
+		final int patch,
+		final boolean release)
+	{
+		final int minorShift = PATCH_KEY_BITS + 1;
+		final int majorShift = MINOR_KEY_BITS + minorShift;
+		final long majorLimit = (1L << MAJOR_KEY_BITS) - 1;
+		final long minorLimit = (1L << MINOR_KEY_BITS) - 1;
+		final long patchLimit = (1L << PATCH_KEY_BITS) - 1;
+
+		if (majorLimit <= major)
+		{
+			return (majorLimit << majorShift) | ((1L << majorShift) - 1);
+		}
+
+		final long majorBits = (long) major << majorShift;
+
+		if (minorLimit <= minor)
+		{
+			return majorBits | (minorLimit << minorShift) | ((1L << minorShift) - 1);
+		}
+
+		final long minorBits = (long) minor << minorShift;
+
+		if (patchLimit <= patch)
+		{
+			return majorBits | minorBits | (patchLimit << 1) | 1;
+		}
+
+		return majorBits | minorBits | ((long) patch << 1) | (release ? 1 : 0);
+	}
+
+
+	/**
+	 * Checks each identifier and appends it, preceded by the delimiter for
+	 * the first one and the separator for the rest.
+	 */
+	private static void appendIdentifiers(
+		/* @Nonnull */ final StringBuilder stringBuilder,
+		final char delimiter,
+		/* @Nonnull */ final List<String> identifiers,
+		final boolean preRelease)
+	{
+		boolean first = true;
+
+		for (final String identifier : identifiers)
+		{
+			stringBuilder
+				.append(first ? delimiter : SEPARATOR)
+				.append(preRelease ? checkPreReleaseIdentifier(identifier) : checkBuildMetadataIdentifier(identifier));
+			first = false;
+		}
+	}
+
+
+	private static int checkMajorVersionNumber(
+		final int majorVersionNumber)
+	throws
+		IllegalMajorVersion
+	{
+		if (0 > majorVersionNumber)
+		{
+			notifyValidationFailure(ParseError.ILLEGAL_MAJOR_VERSION);
+			throw new IllegalMajorVersion();
+		}
+
+		return majorVersionNumber;
+	}
+
+
+	private static int checkMinorVersionNumber(
 		final int minorVersionNumber)
 	throws
 		IllegalMinorVersion
 	{
 		if (0 > minorVersionNumber)
 		{
+			notifyValidationFailure(ParseError.ILLEGAL_MINOR_VERSION);
 			throw new IllegalMinorVersion();
 		}
 
@@ -454,6 +1252,7 @@ public class SemanticVersion implements Comparable<SemanticVersion>
 	{
 		if (0 > patchVersionNumber)
 		{
+			notifyValidationFailure(ParseError.ILLEGAL_PATCH_VERSION);
 			throw new IllegalPatchVersion();
 		}
 
@@ -467,22 +1266,28 @@ public class SemanticVersion implements Comparable<SemanticVersion>
 	throws
 		IllegalPreReleaseIdentifier
 	{
-		if (!COMMON_IDENTIFIER_FORMAT.matcher(identifier).matches())
-		{
-			throw new IllegalPreReleaseIdentifier();
-		}
-		else if (TEXTUAL_IDENTIFIER_CHECK.matcher(identifier).matches())
+		boolean numerical = true;
+
+		for (int i = 0; i < identifier.length(); ++i)
 		{
-			return identifier;
+			final char character = identifier.charAt(i);
+
+			if (!isIdentifierCharacter(character))
+			{
+				notifyValidationFailure(ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER);
+				throw new IllegalPreReleaseIdentifier();
+			}
+
+			numerical &= isDigit(character);
 		}
-		else if (!NUMERICAL_IDENTIFIER_FORMAT.matcher(identifier).matches())
+
+		if (identifier.isEmpty() || (numerical && 1 < identifier.length() && '0' == identifier.charAt(0)))
 		{
+			notifyValidationFailure(ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER);
 			throw new IllegalPreReleaseIdentifier();
 		}
-		else
-		{
-			return identifier;
-		}
+
+		return identifier;
 	}
 
 
@@ -492,48 +1297,647 @@ public class SemanticVersion implements Comparable<SemanticVersion>
 	throws
 		IllegalBuildMetadataIdentifier
 	{
-		if (!COMMON_IDENTIFIER_FORMAT.matcher(identifier).matches())
+		if (identifier.isEmpty())
 		{
+			notifyValidationFailure(ParseError.ILLEGAL_BUILD_METADATA_IDENTIFIER);
 			throw new IllegalBuildMetadataIdentifier();
 		}
-		else
+
+		for (int i = 0; i < identifier.length(); ++i)
+		{
+			if (!isIdentifierCharacter(identifier.charAt(i)))
+			{
+				notifyValidationFailure(ParseError.ILLEGAL_BUILD_METADATA_IDENTIFIER);
+				throw new IllegalBuildMetadataIdentifier();
+			}
+		}
+
+		return identifier;
+	}
+
+
+	private static boolean isDigit(
+		final char character)
+	{
+		return '0' <= character && '9' >= character;
+	}
+
+
+	/**
+	 * @return Returns true if the character is one of [0-9A-Za-z-], as per
+	 *         https://semver.org/#spec-item-9
+	 */
+	private static boolean isIdentifierCharacter(
+		final char character)
+	{
+		return
+			isDigit(character)
+			|| ('A' <= character && 'Z' >= character)
+			|| ('a' <= character && 'z' >= character)
+			|| '-' == character;
+	}
+
+
+	/**
+	 * Validates and splits a semantic version in a single walk from left to
+	 * right. Errors are reported in the same order as the checks
+	 * have always been made: the shape of the base version first, then the
+	 * major, minor and patch version numbers, then the pre-release data and
+	 * finally the build metadata.
+	 */
+	private static final class Parser
+	{
+		private final CharSequence characters;
+		private final int length;
+		private int index;
+		private int major;
+		private int minor;
+		private int patch;
+		private boolean canonical;
+		/* @Nullable */ private ParseError error;
+		private int errorOffset;
+
+		// Where the version numbers end, and where the pre-release data and
+		// build metadata start and end, leaving out trailing empty
+		// identifiers. The ends are -1 when there are no identifiers.
+		private int baseEnd;
+		private int preReleaseStart;
+		private int preReleaseEnd;
+		private int buildMetadataStart;
+		private int buildMetadataEnd;
+
+
+		private Parser(
+			/* @Nonnull */ final CharSequence characters)
+		{
+			this.characters = characters;
+			this.length = characters.length();
+			this.preReleaseEnd = -1;
+			this.buildMetadataEnd = -1;
+		}
+
+
+		/**
+		 * @return Returns the parsed version, or null after recording the
+		 *         error and its offset.
+		 */
+		/* @Nullable */
+		private SemanticVersion parse()
+		{
+			if (!this.scanBaseVersion())
+			{
+				return null;
+			}
+
+			if (
+				this.index < this.length
+				&& '-' == this.characters.charAt(this.index)
+				&& !this.scanIdentifiers(true))
+			{
+				return null;
+			}
+
+			// Anything left over must start with the build metadata delimiter.
+			if (this.index < this.length && !this.scanIdentifiers(false))
+			{
+				return null;
+			}
+
+			if (this.baseEnd == this.length || (-1 == this.preReleaseEnd && -1 == this.buildMetadataEnd))
+			{
+				return release(this.major, this.minor, this.patch);
+			}
+			else if (this.canonical)
+			{
+				// Everything after the version numbers is the suffix as is.
+				return
+					new SemanticVersion(
+						this.major,
+						this.minor,
+						this.patch,
+						this.characters.subSequence(this.baseEnd, this.length).toString(),
+						-1 == this.preReleaseEnd
+							? 0
+							: (-1 == this.buildMetadataEnd ? this.length : this.buildMetadataStart - 1) - this.baseEnd);
+			}
+
+			final StringBuilder stringBuilder = new StringBuilder();
+
+			if (-1 != this.preReleaseEnd)
+			{
+				stringBuilder
+					.append(PRE_RELEASE_DELIMITER)
+					.append(this.characters, this.preReleaseStart, this.preReleaseEnd);
+			}
+
+			final int buildMetadataOffset = stringBuilder.length();
+
+			if (-1 != this.buildMetadataEnd)
+			{
+				stringBuilder
+					.append(BUILD_METADATA_DELIMITER)
+					.append(this.characters, this.buildMetadataStart, this.buildMetadataEnd);
+			}
+
+			return
+				new SemanticVersion(
+					this.major,
+					this.minor,
+					this.patch,
+					stringBuilder.toString(),
+					buildMetadataOffset);
+		}
+
+
+		private boolean scanBaseVersion()
+		{
+			int fields = 0;
+			int nonEmptyFields = 0;
+			int excessFieldOffset = -1;
+			int illegalField = -1;
+			int illegalFieldOffset = -1;
+
+			while (true)
+			{
+				final int fieldStart = this.index;
+				int illegalCharacterOffset = -1;
+				long value = 0;
+				char character;
+
+				while (
+					this.index < this.length
+					&& '.' != (character = this.characters.charAt(this.index))
+					&& '-' != character
+					&& '+' != character)
+				{
+					if (
+						-1 == illegalCharacterOffset
+						&& (!isDigit(character)
+							|| Integer.MAX_VALUE < (value = value * 10 + (character - '0'))))
+					{
+						illegalCharacterOffset = this.index;
+					}
+
+					++this.index;
+				}
+
+				if (fieldStart == this.index)
+				{
+					illegalCharacterOffset = fieldStart;
+				}
+				else
+				{
+					nonEmptyFields = fields + 1;
+
+					if (1 < this.index - fieldStart && '0' == this.characters.charAt(fieldStart))
+					{
+						illegalCharacterOffset = fieldStart;
+					}
+
+					if (3 < nonEmptyFields && -1 == excessFieldOffset)
+					{
+						excessFieldOffset = fieldStart;
+					}
+				}
+
+				if (3 > fields)
+				{
+					if (0 == fields)
+					{
+						this.major = (int) value;
+					}
+					else if (1 == fields)
+					{
+						this.minor = (int) value;
+					}
+					else
+					{
+						this.patch = (int) value;
+						this.baseEnd = this.index;
+					}
+
+					if (-1 != illegalCharacterOffset && -1 == illegalField)
+					{
+						illegalField = fields;
+						illegalFieldOffset = illegalCharacterOffset;
+					}
+				}
+
+				++fields;
+
+				if (this.index < this.length && '.' == this.characters.charAt(this.index))
+				{
+					++this.index;
+				}
+				else
+				{
+					break;
+				}
+			}
+
+			// Trailing empty fields are ignored, just like String.split does.
+			if (3 > nonEmptyFields)
+			{
+				return this.fail(ParseError.INVALID_BASE_FORMAT, this.index);
+			}
+			else if (3 < nonEmptyFields)
+			{
+				return this.fail(ParseError.INVALID_BASE_FORMAT, excessFieldOffset);
+			}
+			else if (0 == illegalField)
+			{
+				return this.fail(ParseError.ILLEGAL_MAJOR_VERSION, illegalFieldOffset);
+			}
+			else if (1 == illegalField)
+			{
+				return this.fail(ParseError.ILLEGAL_MINOR_VERSION, illegalFieldOffset);
+			}
+			else if (2 == illegalField)
+			{
+				return this.fail(ParseError.ILLEGAL_PATCH_VERSION, illegalFieldOffset);
+			}
+
+			this.canonical = fields == nonEmptyFields;
+			return true;
+		}
+
+
+		/**
+		 * Scans a dot separated list of identifiers following a delimiter,
+		 * recording where they start and end. Pre-release data ends at the
+		 * build metadata delimiter, build metadata ends at the end of the
+		 * string.
+		 *
+		 * Trailing empty identifiers are ignored, just like String.split
+		 * does, so "1.0.0-alpha." has always been read as "1.0.0-alpha".
+		 */
+		private boolean scanIdentifiers(
+			final boolean preRelease)
+		{
+			final ParseError illegalIdentifier =
+				preRelease ? ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER : ParseError.ILLEGAL_BUILD_METADATA_IDENTIFIER;
+			final int start = ++this.index;
+			int firstEmptyIdentifier = -1;
+			int end = -1;
+
+			while (true)
+			{
+				final int identifierStart = this.index;
+				boolean numerical = true;
+				char character;
+
+				while (
+					this.index < this.length
+					&& '.' != (character = this.characters.charAt(this.index))
+					&& !(preRelease && '+' == character))
+				{
+					if (!isIdentifierCharacter(character))
+					{
+						return this.fail(illegalIdentifier, this.index);
+					}
+
+					numerical &= isDigit(character);
+					++this.index;
+				}
+
+				if (identifierStart == this.index)
+				{
+					if (-1 == firstEmptyIdentifier)
+					{
+						firstEmptyIdentifier = identifierStart;
+					}
+				}
+				else if (-1 != firstEmptyIdentifier)
+				{
+					return this.fail(illegalIdentifier, firstEmptyIdentifier);
+				}
+				else if (
+					preRelease
+					&& numerical
+					&& 1 < this.index - identifierStart
+					&& '0' == this.characters.charAt(identifierStart))
+				{
+					return this.fail(illegalIdentifier, identifierStart);
+				}
+				else
+				{
+					end = this.index;
+				}
+
+				if (this.index < this.length && '.' == this.characters.charAt(this.index))
+				{
+					++this.index;
+				}
+				else
+				{
+					break;
+				}
+			}
+
+			if (start == this.index)
+			{
+				// An empty list is a single empty identifier.
+				return this.fail(illegalIdentifier, start);
+			}
+
+			if (preRelease)
+			{
+				this.preReleaseStart = start;
+				this.preReleaseEnd = end;
+			}
+			else
+			{
+				this.buildMetadataStart = start;
+				this.buildMetadataEnd = end;
+			}
+
+			this.canonical &= -1 == firstEmptyIdentifier;
+			return true;
+		}
+
+
+		private boolean fail(
+			/* @Nonnull */ final ParseError error,
+			final int errorOffset)
+		{
+			this.error = error;
+			this.errorOffset = errorOffset;
+			return false;
+		}
+	}
+
+
+	/**
+	 * The kinds of problems that can be found when parsing a semantic
+	 * version string, in the order that they are checked for.
+	 */
+	public enum ParseError
+	{
+		INVALID_BASE_FORMAT,
+		ILLEGAL_MAJOR_VERSION,
+		ILLEGAL_MINOR_VERSION,
+		ILLEGAL_PATCH_VERSION,
+		ILLEGAL_PRE_RELEASE_IDENTIFIER,
+		ILLEGAL_BUILD_METADATA_IDENTIFIER;
+
+
+		/**
+		 * @return Returns the exception that {@link SemanticVersion#from(String)}
+		 *         throws for this kind of error.
+		 */
+		/* @Nonnull */
+		public SemanticVersionException exception(
+			/* @Nonnull */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			switch (this)
+			{
+				case INVALID_BASE_FORMAT:
+					return new InvalidBaseFormatException(semanticVersionString, errorOffset);
+				case ILLEGAL_MAJOR_VERSION:
+					return new IllegalMajorVersion(semanticVersionString, errorOffset);
+				case ILLEGAL_MINOR_VERSION:
+					return new IllegalMinorVersion(semanticVersionString, errorOffset);
+				case ILLEGAL_PATCH_VERSION:
+					return new IllegalPatchVersion(semanticVersionString, errorOffset);
+				case ILLEGAL_PRE_RELEASE_IDENTIFIER:
+					return new IllegalPreReleaseIdentifier(semanticVersionString, errorOffset);
+				default:
+					return new IllegalBuildMetadataIdentifier(semanticVersionString, errorOffset);
+			}
+		}
+	}
+
+
+	/**
+	 * The outcome of {@link SemanticVersion#tryParse(String)}. Holds either
+	 * the parsed version or a description of why the string is invalid.
+	 */
+	public static final class ParseResult
+	{
+		/* @Nullable */ private final SemanticVersion semanticVersion;
+		/* @Nullable */ private final ParseError error;
+		private final int errorOffset;
+
+
+		private ParseResult(
+			/* @Nullable */ final SemanticVersion semanticVersion,
+			/* @Nullable */ final ParseError error,
+			final int errorOffset)
+		{
+			this.semanticVersion = semanticVersion;
+			this.error = error;
+			this.errorOffset = errorOffset;
+		}
+
+
+		public boolean isValid()
+		{
+			return null != this.semanticVersion;
+		}
+
+
+		/**
+		 * @return Returns the parsed version, or null if the string was
+		 *         invalid.
+		 */
+		/* @Nullable */
+		public SemanticVersion getSemanticVersion()
+		{
+			return this.semanticVersion;
+		}
+
+
+		/**
+		 * @return Returns the kind of error, or null if the string was valid.
+		 */
+		/* @Nullable */
+		public ParseError getError()
+		{
+			return this.error;
+		}
+
+
+		/**
+		 * @return Returns the offset of the character at which the error was
+		 *         found, or -1 if the string was valid. The offset is equal
+		 *         to the length of the string when the string ended early.
+		 */
+		public int getErrorOffset()
+		{
+			return this.errorOffset;
+		}
+
+
+		@Override
+		/* @Nonnull */
+		public String toString()
 		{
-			return identifier;
+			return
+				this.isValid()
+					? String.valueOf(this.semanticVersion)
+					: this.error + " at offset " + this.errorOffset;
 		}
 	}
 
 
+	/**
+	 * Stack traces are not filled in when the system property
+	 * "io.github.gravitation1.SemanticVersion.stacklessExceptions" is set
+	 * to true, which makes throwing these exceptions much cheaper.
+	 */
 	public static class SemanticVersionException extends RuntimeException
 	{
+		/* @Nullable */ private final String semanticVersionString;
+		private final int errorOffset;
+
+
+		public SemanticVersionException()
+		{
+			this(null, -1);
+		}
+
+
+		public SemanticVersionException(
+			/* @Nullable */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			super(null, null, true, !STACKLESS_EXCEPTIONS);
+			this.semanticVersionString = semanticVersionString;
+			this.errorOffset = errorOffset;
+		}
+
+
+		/**
+		 * @return Returns the string that failed to parse, or null if the
+		 *         exception was not thrown while parsing a string.
+		 */
+		/* @Nullable */
+		public String getSemanticVersionString()
+		{
+			return this.semanticVersionString;
+		}
+
+
+		/**
+		 * @return Returns the offset of the character at which the error was
+		 *         found, or -1 if the exception was not thrown while parsing
+		 *         a string.
+		 */
+		public int getErrorOffset()
+		{
+			return this.errorOffset;
+		}
+
+
+		/**
+		 * The message is only built when asked for, since most callers never
+		 * look at it.
+		 */
+		@Override
+		/* @Nullable */
+		public String getMessage()
+		{
+			return
+				null == this.semanticVersionString
+					? null
+					: "\"" + this.semanticVersionString + "\" at offset " + this.errorOffset;
+		}
 	}
 
 
 	public static class InvalidBaseFormatException extends SemanticVersionException
 	{
+		public InvalidBaseFormatException()
+		{
+		}
+
+
+		public InvalidBaseFormatException(
+			/* @Nullable */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			super(semanticVersionString, errorOffset);
+		}
 	}
 
 
 	public static class IllegalMajorVersion extends SemanticVersionException
 	{
+		public IllegalMajorVersion()
+		{
+		}
+
+
+		public IllegalMajorVersion(
+			/* @Nullable */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			super(semanticVersionString, errorOffset);
+		}
 	}
 
 
 	public static class IllegalMinorVersion extends SemanticVersionException
 	{
+		public IllegalMinorVersion()
+		{
+		}
+
+
+		public IllegalMinorVersion(
+			/* @Nullable */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			super(semanticVersionString, errorOffset);
+		}
 	}
 
 
 	public static class IllegalPatchVersion extends SemanticVersionException
 	{
+		public IllegalPatchVersion()
+		{
+		}
+
+
+		public IllegalPatchVersion(
+			/* @Nullable */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			super(semanticVersionString, errorOffset);
+		}
 	}
 
 
 	public static class IllegalPreReleaseIdentifier extends SemanticVersionException
 	{
+		public IllegalPreReleaseIdentifier()
+		{
+		}
+
+
+		public IllegalPreReleaseIdentifier(
+			/* @Nullable */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			super(semanticVersionString, errorOffset);
+		}
 	}
 
 
 	public static class IllegalBuildMetadataIdentifier extends SemanticVersionException
 	{
+		public IllegalBuildMetadataIdentifier()
+		{
+		}
+
+
+		public IllegalBuildMetadataIdentifier(
+			/* @Nullable */ final String semanticVersionString,
+			final int errorOffset)
+		{
+			super(semanticVersionString, errorOffset);
+		}
 	}
 }
@@ -0,0 +1,109 @@
+package io.github.gravitation1;
+
+
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Keeps track of the latest version and the latest stable version seen by
+ * any number of threads, without locking.
+ *
+ * Each is replaced by compare-and-set, after a comparison that is settled
+ * by the precedence keys unless both versions have pre-release data with
+ * the same version numbers. Of versions with the same precedence, the one
+ * whose string form is greatest wins, as in {@link SemanticVersionIndex},
+ * so the result does not depend on the order in which versions arrive.
+ */
+public final class SemanticVersionAccumulator
+{
+	/* @Nonnull */ private final AtomicReference<SemanticVersion> latest;
+	/* @Nonnull */ private final AtomicReference<SemanticVersion> latestStable;
+
+
+	public SemanticVersionAccumulator()
+	{
+		this.latest = new AtomicReference<>();
+		this.latestStable = new AtomicReference<>();
+	}
+
+
+	/**
+	 * @return Returns true if the version is now the latest version.
+	 */
+	public boolean accumulate(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		if (!semanticVersion.hasPreReleaseData())
+		{
+			accumulate(this.latestStable, semanticVersion);
+		}
+
+		return accumulate(this.latest, semanticVersion);
+	}
+
+
+	/* @Nullable */
+	public SemanticVersion getLatest()
+	{
+		return this.latest.get();
+	}
+
+
+	/**
+	 * @return Returns the latest version without pre-release data.
+	 */
+	/* @Nullable */
+	public SemanticVersion getLatestStable()
+	{
+		return this.latestStable.get();
+	}
+
+
+	/**
+	 * Forgets every version seen. Versions accumulated at the same time may
+	 * or may not be forgotten.
+	 */
+	public void reset()
+	{
+		this.latest.set(null);
+		this.latestStable.set(null);
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return "latest=" + this.latest.get() + ", latestStable=" + this.latestStable.get();
+	}
+
+
+	private static boolean accumulate(
+		/* @Nonnull */ final AtomicReference<SemanticVersion> reference,
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		while (true)
+		{
+			final SemanticVersion current = reference.get();
+
+			if (null != current && 0 <= compare(current, semanticVersion))
+			{
+				return false;
+			}
+
+			if (reference.compareAndSet(current, semanticVersion))
+			{
+				return true;
+			}
+		}
+	}
+
+
+	private static int compare(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		/* @Nonnull */ final SemanticVersion other)
+	{
+		final int comparison = semanticVersion.compareTo(other);
+
+		return 0 != comparison ? comparison : semanticVersion.toString().compareTo(other.toString());
+	}
+}
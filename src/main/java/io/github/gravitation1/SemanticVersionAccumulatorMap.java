@@ -0,0 +1,89 @@
+package io.github.gravitation1;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Keeps a {@link SemanticVersionAccumulator} per key, such as per artifact,
+ * for any number of threads. Accumulating for keys that have been seen
+ * before takes no locks.
+ */
+public final class SemanticVersionAccumulatorMap<K>
+{
+	/* @Nonnull */ private final ConcurrentHashMap<K, SemanticVersionAccumulator> accumulators;
+
+
+	public SemanticVersionAccumulatorMap()
+	{
+		this.accumulators = new ConcurrentHashMap<>();
+	}
+
+
+	/**
+	 * @return Returns true if the version is now the latest version for the
+	 *         key.
+	 */
+	public boolean accumulate(
+		/* @Nonnull */ final K key,
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		SemanticVersionAccumulator accumulator = this.accumulators.get(key);
+
+		if (null == accumulator)
+		{
+			// Only new keys go through computeIfAbsent, which locks.
+			accumulator = this.accumulators.computeIfAbsent(key, k -> new SemanticVersionAccumulator());
+		}
+
+		return accumulator.accumulate(semanticVersion);
+	}
+
+
+	/* @Nullable */
+	public SemanticVersion getLatest(
+		/* @Nonnull */ final K key)
+	{
+		final SemanticVersionAccumulator accumulator = this.accumulators.get(key);
+
+		return null == accumulator ? null : accumulator.getLatest();
+	}
+
+
+	/* @Nullable */
+	public SemanticVersion getLatestStable(
+		/* @Nonnull */ final K key)
+	{
+		final SemanticVersionAccumulator accumulator = this.accumulators.get(key);
+
+		return null == accumulator ? null : accumulator.getLatestStable();
+	}
+
+
+	/**
+	 * Forgets the versions seen for a key.
+	 */
+	public void remove(
+		/* @Nonnull */ final K key)
+	{
+		this.accumulators.remove(key);
+	}
+
+
+	public int size()
+	{
+		return this.accumulators.size();
+	}
+
+
+	/**
+	 * Calls the action for every key and its accumulator, which may still
+	 * be changing.
+	 */
+	public void forEach(
+		/* @Nonnull */ final BiConsumer<? super K, ? super SemanticVersionAccumulator> action)
+	{
+		this.accumulators.forEach(action);
+	}
+}
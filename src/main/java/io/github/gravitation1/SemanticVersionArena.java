@@ -0,0 +1,674 @@
+package io.github.gravitation1;
+
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Stores versions outside of the heap, in direct byte buffers, so that
+ * tens of millions of them neither count toward heap occupancy nor have to
+ * be marked by the garbage collector.
+ *
+ * Each version added is given a handle, a long that can be kept in
+ * primitive arrays or collections. Handles are compared, formatted and
+ * queried through the arena, or through a {@link View}, a flyweight that
+ * can be moved from one handle to the next without allocating. Both follow
+ * the semantics of {@link SemanticVersion}, and
+ * {@link #get(long)} turns a handle back into a version when one is needed.
+ *
+ * A version is stored as a record of its precedence key, its major, minor
+ * and patch version numbers, the length of its suffix, the offset of the
+ * build metadata delimiter in the suffix and the characters of the suffix,
+ * padded to a multiple of eight bytes. The records are appended to chunks
+ * of a fixed size, and a handle holds the number of the chunk in its upper
+ * and the offset of the record in its lower half. All access goes through
+ * the absolute accessors of the chunks, so on JDKs with the foreign memory
+ * API the chunks can be replaced with a single memory segment addressed by
+ * the handle, without changing the layout or the handles given out.
+ *
+ * Adding versions is not thread-safe. Once every version has been added
+ * and the arena has been safely published, any number of threads can read
+ * from it. The memory is released when the arena is garbage collected.
+ */
+public final class SemanticVersionArena
+{
+	private static final int DEFAULT_CHUNK_SIZE;
+	private static final int KEY_OFFSET;
+	private static final int MAJOR_OFFSET;
+	private static final int MINOR_OFFSET;
+	private static final int PATCH_OFFSET;
+	private static final int SUFFIX_LENGTH_OFFSET;
+	private static final int BUILD_METADATA_OFFSET_OFFSET;
+	private static final int SUFFIX_OFFSET;
+	private static final int ALIGNMENT;
+	private static final int CHUNK_SHIFT;
+	private static final long OFFSET_MASK;
+
+	private final int chunkSize;
+	/* @Nonnull */ private final List<ByteBuffer> chunks;
+	private int chunkIndex;
+	private int position;
+	private long size;
+
+
+	static
+	{
+		DEFAULT_CHUNK_SIZE = 1 << 24;
+		KEY_OFFSET = 0;
+		MAJOR_OFFSET = 8;
+		MINOR_OFFSET = 12;
+		PATCH_OFFSET = 16;
+		SUFFIX_LENGTH_OFFSET = 20;
+		BUILD_METADATA_OFFSET_OFFSET = 24;
+		SUFFIX_OFFSET = 28;
+		ALIGNMENT = 8;
+		CHUNK_SHIFT = 32;
+		OFFSET_MASK = 0xFFFFFFFFL;
+	}
+
+
+	/**
+	 * Creates an arena that allocates 16 MiB at a time.
+	 */
+	public SemanticVersionArena()
+	{
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+
+	/**
+	 * @param chunkSize The number of bytes to allocate at a time, which
+	 *                  limits the length of the longest version that can
+	 *                  be added.
+	 */
+	public SemanticVersionArena(
+		final int chunkSize)
+	{
+		if (SUFFIX_OFFSET > chunkSize)
+		{
+			throw new IllegalArgumentException("The chunk size must be at least " + SUFFIX_OFFSET);
+		}
+
+		this.chunkSize = chunkSize;
+		this.chunks = new ArrayList<>();
+		this.chunkIndex = -1;
+		this.position = chunkSize;
+	}
+
+
+	/**
+	 * @return Returns the handle of the version, which stays valid until the
+	 *         arena is cleared.
+	 * @throws IllegalArgumentException Thrown if the version does not fit
+	 *                                  into a chunk.
+	 */
+	public long add(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final String suffix = semanticVersion.getSuffix();
+		final int suffixLength = null == suffix ? 0 : suffix.length();
+		final long recordLength = align((long) SUFFIX_OFFSET + suffixLength);
+
+		if (this.chunkSize < recordLength)
+		{
+			throw new IllegalArgumentException("Version too long for a chunk: " + semanticVersion);
+		}
+
+		if (this.chunkSize - this.position < recordLength)
+		{
+			this.nextChunk();
+		}
+
+		final ByteBuffer chunk = this.chunks.get(this.chunkIndex);
+		final int offset = this.position;
+
+		chunk.putLong(offset + KEY_OFFSET, semanticVersion.getPrecedenceKey());
+		chunk.putInt(offset + MAJOR_OFFSET, semanticVersion.getMajor());
+		chunk.putInt(offset + MINOR_OFFSET, semanticVersion.getMinor());
+		chunk.putInt(offset + PATCH_OFFSET, semanticVersion.getPatch());
+		chunk.putInt(offset + SUFFIX_LENGTH_OFFSET, suffixLength);
+		chunk.putInt(offset + BUILD_METADATA_OFFSET_OFFSET, semanticVersion.getBuildMetadataOffset());
+
+		for (int i = 0; i < suffixLength; ++i)
+		{
+			// Versions only ever contain ASCII characters.
+			chunk.put(offset + SUFFIX_OFFSET + i, (byte) suffix.charAt(i));
+		}
+
+		this.position += (int) recordLength;
+		++this.size;
+
+		return ((long) this.chunkIndex << CHUNK_SHIFT) | offset;
+	}
+
+
+	/**
+	 * @return Returns the number of versions added since the arena was
+	 *         created or last cleared.
+	 */
+	public long size()
+	{
+		return this.size;
+	}
+
+
+	/**
+	 * @return Returns the number of bytes allocated outside of the heap.
+	 */
+	public long getCapacity()
+	{
+		return (long) this.chunks.size() * this.chunkSize;
+	}
+
+
+	/**
+	 * Forgets every version, but keeps the memory for the versions added
+	 * next. Handles given out before are no longer valid.
+	 */
+	public void clear()
+	{
+		this.chunkIndex = -1;
+		this.position = this.chunkSize;
+		this.size = 0;
+	}
+
+
+	public int getMajor(
+		final long handle)
+	{
+		return this.chunk(handle).getInt(offset(handle) + MAJOR_OFFSET);
+	}
+
+
+	public int getMinor(
+		final long handle)
+	{
+		return this.chunk(handle).getInt(offset(handle) + MINOR_OFFSET);
+	}
+
+
+	public int getPatch(
+		final long handle)
+	{
+		return this.chunk(handle).getInt(offset(handle) + PATCH_OFFSET);
+	}
+
+
+	public boolean hasPreReleaseData(
+		final long handle)
+	{
+		return 0 != this.chunk(handle).getInt(offset(handle) + BUILD_METADATA_OFFSET_OFFSET);
+	}
+
+
+	/**
+	 * Compares two versions of this arena as {@link SemanticVersion#compareTo}
+	 * does, without materializing either.
+	 */
+	public int compare(
+		final long handle,
+		final long otherHandle)
+	{
+		return compare(this.chunk(handle), offset(handle), this.chunk(otherHandle), offset(otherHandle));
+	}
+
+
+	/**
+	 * @return Returns true if both handles are of versions with the same
+	 *         string form, as {@link SemanticVersion#equals} does.
+	 */
+	public boolean equals(
+		final long handle,
+		final long otherHandle)
+	{
+		return equals(this.chunk(handle), offset(handle), this.chunk(otherHandle), offset(otherHandle));
+	}
+
+
+	/**
+	 * @return Returns the hash code that the version would have as a
+	 *         {@link SemanticVersion}.
+	 */
+	public int hashCode(
+		final long handle)
+	{
+		final ByteBuffer chunk = this.chunk(handle);
+		final int offset = offset(handle);
+		final int suffixLength = chunk.getInt(offset + SUFFIX_LENGTH_OFFSET);
+		final int hashCode =
+			31 * (31 * (31 * chunk.getInt(offset + MAJOR_OFFSET) + chunk.getInt(offset + MINOR_OFFSET))
+				+ chunk.getInt(offset + PATCH_OFFSET));
+		int suffixHashCode = 0;
+
+		// The same as the hash code of the suffix as a string.
+		for (int i = 0; i < suffixLength; ++i)
+		{
+			suffixHashCode = 31 * suffixHashCode + chunk.get(offset + SUFFIX_OFFSET + i);
+		}
+
+		return hashCode + suffixHashCode;
+	}
+
+
+	/**
+	 * Appends the version as {@link SemanticVersion#toString()} would format
+	 * it, without building a string.
+	 */
+	/* @Nonnull */
+	public StringBuilder appendTo(
+		final long handle,
+		/* @Nonnull */ final StringBuilder stringBuilder)
+	{
+		final ByteBuffer chunk = this.chunk(handle);
+		final int offset = offset(handle);
+		final int suffixLength = chunk.getInt(offset + SUFFIX_LENGTH_OFFSET);
+
+		stringBuilder
+			.append(chunk.getInt(offset + MAJOR_OFFSET))
+			.append('.')
+			.append(chunk.getInt(offset + MINOR_OFFSET))
+			.append('.')
+			.append(chunk.getInt(offset + PATCH_OFFSET));
+
+		for (int i = 0; i < suffixLength; ++i)
+		{
+			stringBuilder.append((char) chunk.get(offset + SUFFIX_OFFSET + i));
+		}
+
+		return stringBuilder;
+	}
+
+
+	/* @Nonnull */
+	public String toString(
+		final long handle)
+	{
+		return this.appendTo(handle, new StringBuilder(32)).toString();
+	}
+
+
+	/**
+	 * @return Returns the version of the handle as a new object on the heap.
+	 */
+	/* @Nonnull */
+	public SemanticVersion get(
+		final long handle)
+	{
+		final ByteBuffer chunk = this.chunk(handle);
+		final int offset = offset(handle);
+		final int suffixLength = chunk.getInt(offset + SUFFIX_LENGTH_OFFSET);
+		String suffix = null;
+
+		if (0 < suffixLength)
+		{
+			final char[] characters = new char[suffixLength];
+
+			for (int i = 0; i < suffixLength; ++i)
+			{
+				characters[i] = (char) chunk.get(offset + SUFFIX_OFFSET + i);
+			}
+
+			suffix = new String(characters);
+		}
+
+		return
+			SemanticVersion.fromTrustedParts(
+				chunk.getInt(offset + MAJOR_OFFSET),
+				chunk.getInt(offset + MINOR_OFFSET),
+				chunk.getInt(offset + PATCH_OFFSET),
+				suffix,
+				chunk.getInt(offset + BUILD_METADATA_OFFSET_OFFSET));
+	}
+
+
+	/**
+	 * @return Returns a new view of the version of the handle.
+	 */
+	/* @Nonnull */
+	public View view(
+		final long handle)
+	{
+		return new View(this, handle);
+	}
+
+
+	/**
+	 * A version of an arena, which can be moved to another version of the
+	 * same arena to look at many versions with a single object. Views
+	 * compare, format and hash like the versions they look at, so they can
+	 * stand in for them wherever a comparable is needed, but a view that
+	 * has been put into a sorted or hashed collection must not be moved.
+	 */
+	public static final class View
+		implements Comparable<View>
+	{
+		/* @Nonnull */ private final SemanticVersionArena arena;
+		private long handle;
+
+
+		private View(
+			/* @Nonnull */ final SemanticVersionArena arena,
+			final long handle)
+		{
+			this.arena = arena;
+			this.handle = handle;
+		}
+
+
+		/**
+		 * @return Returns this view, looking at the version of the handle.
+		 */
+		/* @Nonnull */
+		public View moveTo(
+			final long handle)
+		{
+			this.handle = handle;
+
+			return this;
+		}
+
+
+		public long getHandle()
+		{
+			return this.handle;
+		}
+
+
+		public int getMajor()
+		{
+			return this.arena.getMajor(this.handle);
+		}
+
+
+		public int getMinor()
+		{
+			return this.arena.getMinor(this.handle);
+		}
+
+
+		public int getPatch()
+		{
+			return this.arena.getPatch(this.handle);
+		}
+
+
+		public boolean hasPreReleaseData()
+		{
+			return this.arena.hasPreReleaseData(this.handle);
+		}
+
+
+		/* @Nonnull */
+		public SemanticVersion toSemanticVersion()
+		{
+			return this.arena.get(this.handle);
+		}
+
+
+		/**
+		 * Compares as {@link SemanticVersion#compareTo} does, also with views
+		 * of other arenas.
+		 */
+		@Override
+		public int compareTo(
+			/* @Nonnull */ final View other)
+		{
+			return
+				SemanticVersionArena.compare(
+					this.arena.chunk(this.handle),
+					offset(this.handle),
+					other.arena.chunk(other.handle),
+					offset(other.handle));
+		}
+
+
+		@Override
+		public boolean equals(
+			/* @Nullable */ final Object object)
+		{
+			if (this == object)
+			{
+				return true;
+			}
+			else if (!(object instanceof View))
+			{
+				return false;
+			}
+
+			final View other = (View) object;
+
+			return
+				SemanticVersionArena.equals(
+					this.arena.chunk(this.handle),
+					offset(this.handle),
+					other.arena.chunk(other.handle),
+					offset(other.handle));
+		}
+
+
+		@Override
+		public int hashCode()
+		{
+			return this.arena.hashCode(this.handle);
+		}
+
+
+		@Override
+		/* @Nonnull */
+		public String toString()
+		{
+			return this.arena.toString(this.handle);
+		}
+	}
+
+
+	private void nextChunk()
+	{
+		++this.chunkIndex;
+
+		if (this.chunks.size() == this.chunkIndex)
+		{
+			this.chunks.add(ByteBuffer.allocateDirect(this.chunkSize).order(ByteOrder.nativeOrder()));
+		}
+
+		this.position = 0;
+	}
+
+
+	/* @Nonnull */
+	private ByteBuffer chunk(
+		final long handle)
+	{
+		return this.chunks.get((int) (handle >>> CHUNK_SHIFT));
+	}
+
+
+	private static int offset(
+		final long handle)
+	{
+		return (int) (handle & OFFSET_MASK);
+	}
+
+
+	private static long align(
+		final long length)
+	{
+		return (length + ALIGNMENT - 1) & -ALIGNMENT;
+	}
+
+
+	/**
+	 * Decides most comparisons with the precedence keys, as
+	 * {@link SemanticVersion} does, and otherwise walks both lists of
+	 * pre-release identifiers in step.
+	 */
+	private static int compare(
+		/* @Nonnull */ final ByteBuffer chunk,
+		final int offset,
+		/* @Nonnull */ final ByteBuffer otherChunk,
+		final int otherOffset)
+	{
+		final int keyComparison =
+			Long.compare(chunk.getLong(offset + KEY_OFFSET), otherChunk.getLong(otherOffset + KEY_OFFSET));
+
+		if (0 != keyComparison)
+		{
+			return keyComparison;
+		}
+
+		for (int field = MAJOR_OFFSET; field <= PATCH_OFFSET; field += Integer.BYTES)
+		{
+			final int fieldComparison = Integer.compare(chunk.getInt(offset + field), otherChunk.getInt(otherOffset + field));
+
+			if (0 != fieldComparison)
+			{
+				return fieldComparison;
+			}
+		}
+
+		final int end = offset + SUFFIX_OFFSET + chunk.getInt(offset + BUILD_METADATA_OFFSET_OFFSET);
+		final int otherEnd = otherOffset + SUFFIX_OFFSET + otherChunk.getInt(otherOffset + BUILD_METADATA_OFFSET_OFFSET);
+		final boolean preRelease = offset + SUFFIX_OFFSET != end;
+		final boolean otherPreRelease = otherOffset + SUFFIX_OFFSET != otherEnd;
+
+		if (!preRelease || !otherPreRelease)
+		{
+			// A version without pre-release data has the higher precedence.
+			return Boolean.compare(otherPreRelease, preRelease);
+		}
+
+		// Skips the pre-release delimiters.
+		int start = offset + SUFFIX_OFFSET + 1;
+		int otherStart = otherOffset + SUFFIX_OFFSET + 1;
+
+		while (start < end && otherStart < otherEnd)
+		{
+			final int identifierEnd = endOfIdentifier(chunk, start, end);
+			final int otherIdentifierEnd = endOfIdentifier(otherChunk, otherStart, otherEnd);
+			final int identifierComparison =
+				compareIdentifiers(chunk, start, identifierEnd, otherChunk, otherStart, otherIdentifierEnd);
+
+			if (0 != identifierComparison)
+			{
+				return identifierComparison;
+			}
+
+			start = identifierEnd + 1;
+			otherStart = otherIdentifierEnd + 1;
+		}
+
+		// A larger set of pre-release fields has a higher precedence.
+		return Boolean.compare(start < end, otherStart < otherEnd);
+	}
+
+
+	private static int compareIdentifiers(
+		/* @Nonnull */ final ByteBuffer chunk,
+		final int start,
+		final int end,
+		/* @Nonnull */ final ByteBuffer otherChunk,
+		final int otherStart,
+		final int otherEnd)
+	{
+		final boolean numerical = isNumerical(chunk, start, end);
+
+		if (numerical != isNumerical(otherChunk, otherStart, otherEnd))
+		{
+			// Numerical identifiers have lower precedence than textual ones.
+			return numerical ? -1 : 1;
+		}
+
+		final int length = end - start;
+		final int otherLength = otherEnd - otherStart;
+
+		if (numerical && length != otherLength)
+		{
+			return Integer.compare(length, otherLength);
+		}
+
+		final int shorterLength = Math.min(length, otherLength);
+
+		for (int i = 0; i < shorterLength; ++i)
+		{
+			final int characterComparison = Integer.compare(chunk.get(start + i), otherChunk.get(otherStart + i));
+
+			if (0 != characterComparison)
+			{
+				return characterComparison;
+			}
+		}
+
+		return Integer.compare(length, otherLength);
+	}
+
+
+	private static boolean isNumerical(
+		/* @Nonnull */ final ByteBuffer chunk,
+		final int start,
+		final int end)
+	{
+		for (int i = start; i < end; ++i)
+		{
+			final byte character = chunk.get(i);
+
+			if ('0' > character || '9' < character)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+
+	private static int endOfIdentifier(
+		/* @Nonnull */ final ByteBuffer chunk,
+		final int start,
+		final int end)
+	{
+		int i = start;
+
+		while (i < end && '.' != chunk.get(i))
+		{
+			++i;
+		}
+
+		return i;
+	}
+
+
+	private static boolean equals(
+		/* @Nonnull */ final ByteBuffer chunk,
+		final int offset,
+		/* @Nonnull */ final ByteBuffer otherChunk,
+		final int otherOffset)
+	{
+		final int suffixLength = chunk.getInt(offset + SUFFIX_LENGTH_OFFSET);
+
+		if (suffixLength != otherChunk.getInt(otherOffset + SUFFIX_LENGTH_OFFSET))
+		{
+			return false;
+		}
+
+		for (int field = MAJOR_OFFSET; field <= PATCH_OFFSET; field += Integer.BYTES)
+		{
+			if (chunk.getInt(offset + field) != otherChunk.getInt(otherOffset + field))
+			{
+				return false;
+			}
+		}
+
+		for (int i = 0; i < suffixLength; ++i)
+		{
+			if (chunk.get(offset + SUFFIX_OFFSET + i) != otherChunk.get(otherOffset + SUFFIX_OFFSET + i))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,234 @@
+package io.github.gravitation1;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Resolves many ranges against one index at once, such as every dependency
+ * in a lockfile against the versions of a registry.
+ *
+ * Ranges with the same string form are only resolved once. The intervals of
+ * the remaining ranges are sorted by their upper bounds, so that their
+ * positions in the index can mostly be found by stepping forward through it
+ * instead of searching for each one separately. The sorted intervals are
+ * split into batches that are swept in parallel, each starting with a
+ * single binary search.
+ */
+public final class SemanticVersionBatchResolver
+{
+	private static final int MINIMUM_BATCH_SIZE;
+	private static final int MAXIMUM_SWEEP_STEP;
+	private static final Comparator<Bound> UPPER_BOUND_ORDER;
+
+
+	static
+	{
+		MINIMUM_BATCH_SIZE = 1 << 10;
+		MAXIMUM_SWEEP_STEP = 16;
+
+		// Missing upper bounds sort last, and exclusive bounds sort before
+		// inclusive ones at the same version.
+		UPPER_BOUND_ORDER =
+			(a, b) ->
+			{
+				final SemanticVersion upperA = a.interval.getUpper();
+				final SemanticVersion upperB = b.interval.getUpper();
+
+				if (null == upperA || null == upperB)
+				{
+					return Boolean.compare(null == upperA, null == upperB);
+				}
+
+				final int comparison = upperA.compareTo(upperB);
+
+				return
+					0 != comparison
+						? comparison
+						: Boolean.compare(a.interval.isUpperInclusive(), b.interval.isUpperInclusive());
+			};
+	}
+
+
+	private SemanticVersionBatchResolver()
+	{
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence that satisfies each
+	 *         range, in the same order as the ranges, with null for ranges
+	 *         that no version satisfies.
+	 */
+	/* @Nonnull */
+	public static List<SemanticVersion> maxSatisfying(
+		/* @Nonnull */ final SemanticVersionIndex index,
+		/* @Nonnull */ final List<SemanticVersionRange> ranges)
+	{
+		return maxSatisfying(index, ranges, ForkJoinPool.commonPool());
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence that satisfies each
+	 *         range, in the same order as the ranges, with null for ranges
+	 *         that no version satisfies.
+	 */
+	/* @Nonnull */
+	public static List<SemanticVersion> maxSatisfying(
+		/* @Nonnull */ final SemanticVersionIndex index,
+		/* @Nonnull */ final List<SemanticVersionRange> ranges,
+		/* @Nonnull */ final ForkJoinPool pool)
+	{
+		final Map<String, Integer> uniqueRangeIds = new HashMap<>();
+		final int[] rangeIds = new int[ranges.size()];
+		final List<Bound> bounds = new ArrayList<>();
+
+		for (int i = 0; i < rangeIds.length; ++i)
+		{
+			final SemanticVersionRange range = ranges.get(i);
+			final Integer rangeId = uniqueRangeIds.putIfAbsent(range.toString(), uniqueRangeIds.size());
+
+			if (null != rangeId)
+			{
+				rangeIds[i] = rangeId;
+				continue;
+			}
+
+			rangeIds[i] = uniqueRangeIds.size() - 1;
+
+			for (final SemanticVersionRange.Interval interval : range.getIntervals())
+			{
+				bounds.add(new Bound(interval, rangeIds[i]));
+			}
+		}
+
+		final Bound[] sortedBounds = bounds.toArray(new Bound[0]);
+		Arrays.sort(sortedBounds, UPPER_BOUND_ORDER);
+		pool.invoke(new SweepTask(index, sortedBounds, 0, sortedBounds.length));
+
+		final int[] maxIndexes = new int[uniqueRangeIds.size()];
+		Arrays.fill(maxIndexes, -1);
+
+		for (final Bound bound : sortedBounds)
+		{
+			maxIndexes[bound.rangeId] = Math.max(maxIndexes[bound.rangeId], bound.maxIndex);
+		}
+
+		final List<SemanticVersion> semanticVersions = new ArrayList<>(rangeIds.length);
+
+		for (final int rangeId : rangeIds)
+		{
+			semanticVersions.add(-1 == maxIndexes[rangeId] ? null : index.get(maxIndexes[rangeId]));
+		}
+
+		return semanticVersions;
+	}
+
+
+	/**
+	 * One interval of a range, along with the position of the version of
+	 * highest precedence that satisfies it once it has been swept.
+	 */
+	private static final class Bound
+	{
+		private final SemanticVersionRange.Interval interval;
+		private final int rangeId;
+		private int maxIndex;
+
+
+		private Bound(
+			/* @Nonnull */ final SemanticVersionRange.Interval interval,
+			final int rangeId)
+		{
+			this.interval = interval;
+			this.rangeId = rangeId;
+			this.maxIndex = -1;
+		}
+	}
+
+
+	/**
+	 * Splits a run of sorted bounds in half until it is small enough, then
+	 * sweeps through the index alongside it.
+	 */
+	private static final class SweepTask extends RecursiveAction
+	{
+		private final SemanticVersionIndex index;
+		private final Bound[] bounds;
+		private final int start;
+		private final int end;
+
+
+		private SweepTask(
+			/* @Nonnull */ final SemanticVersionIndex index,
+			/* @Nonnull */ final Bound[] bounds,
+			final int start,
+			final int end)
+		{
+			this.index = index;
+			this.bounds = bounds;
+			this.start = start;
+			this.end = end;
+		}
+
+
+		@Override
+		protected void compute()
+		{
+			if (this.start == this.end)
+			{
+				return;
+			}
+			else if (MINIMUM_BATCH_SIZE >= this.end - this.start)
+			{
+				this.sweep();
+				return;
+			}
+
+			final int middle = (this.start + this.end) >>> 1;
+			final SweepTask firstHalf = new SweepTask(this.index, this.bounds, this.start, middle);
+			firstHalf.fork();
+			new SweepTask(this.index, this.bounds, middle, this.end).compute();
+			firstHalf.join();
+		}
+
+
+		private void sweep()
+		{
+			int position = this.index.countBelowUpper(this.bounds[this.start].interval);
+
+			for (int i = this.start; i < this.end; ++i)
+			{
+				final SemanticVersionRange.Interval interval = this.bounds[i].interval;
+
+				if (null == interval.getUpper())
+				{
+					position = this.index.size();
+				}
+
+				final int stop = Math.min(this.index.size(), position + MAXIMUM_SWEEP_STEP);
+
+				while (position < stop && interval.isBelowUpper(this.index.get(position)))
+				{
+					++position;
+				}
+
+				if (position == stop && stop < this.index.size())
+				{
+					// The next bound is far ahead, so search for it instead.
+					position = this.index.countBelowUpper(interval);
+				}
+
+				this.bounds[i].maxIndex = this.index.maxSatisfyingIndex(interval, position, -1);
+			}
+		}
+	}
+}
@@ -0,0 +1,490 @@
+package io.github.gravitation1;
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Parses files holding one semantic version per line, such as the full
+ * publish history of a registry, using every core of a fork-join pool.
+ *
+ * The file is memory-mapped and split into chunks of roughly equal size.
+ * Each chunk parses the lines that start inside of it, reading the bytes
+ * straight out of the mapping. Lines may end with "\n" or "\r\n", and
+ * their bytes are read as ASCII.
+ */
+public final class SemanticVersionBulkParser
+{
+	private static final long MINIMUM_CHUNK_SIZE;
+	private static final long MAXIMUM_CHUNK_SIZE;
+	private static final int CHUNKS_PER_THREAD;
+	private static final long WINDOW_SLACK;
+
+
+	static
+	{
+		MINIMUM_CHUNK_SIZE = 1 << 16;
+		MAXIMUM_CHUNK_SIZE = 1 << 26;
+		CHUNKS_PER_THREAD = 4;
+		WINDOW_SLACK = 1 << 12;
+	}
+
+
+	private SemanticVersionBulkParser()
+	{
+	}
+
+
+	/* @Nonnull */
+	public static Result parse(
+		/* @Nonnull */ final Path path)
+	throws
+		IOException
+	{
+		return parse(path, ForkJoinPool.commonPool());
+	}
+
+
+	/* @Nonnull */
+	public static Result parse(
+		/* @Nonnull */ final Path path,
+		/* @Nonnull */ final ForkJoinPool pool)
+	throws
+		IOException
+	{
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			final long chunkSize =
+				Math.max(
+					MINIMUM_CHUNK_SIZE,
+					Math.min(MAXIMUM_CHUNK_SIZE, size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD)));
+			final int chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+			final List<ChunkResult> chunkResults =
+				pool.submit(new ChunkTask(channel, size, chunkSize, 0, chunkCount)).get();
+
+			return Result.of(chunkResults);
+		}
+		catch (final ExecutionException e)
+		{
+			if (e.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+	}
+
+
+	/**
+	 * The parsed versions of every line in a file, along with why each line
+	 * that is not a valid semantic version failed to parse.
+	 */
+	public static final class Result
+	{
+		private final SemanticVersion[] semanticVersions;
+		private final List<LineError> errors;
+
+
+		private Result(
+			/* @Nonnull */ final SemanticVersion[] semanticVersions,
+			/* @Nonnull */ final List<LineError> errors)
+		{
+			this.semanticVersions = semanticVersions;
+			this.errors = errors;
+		}
+
+
+		/* @Nonnull */
+		private static Result of(
+			/* @Nonnull */ final List<ChunkResult> chunkResults)
+		{
+			int lineCount = 0;
+
+			for (final ChunkResult chunkResult : chunkResults)
+			{
+				lineCount = Math.addExact(lineCount, chunkResult.lineCount);
+			}
+
+			final SemanticVersion[] semanticVersions = new SemanticVersion[lineCount];
+			final List<LineError> errors = new ArrayList<>();
+			int firstLineIndex = 0;
+
+			for (final ChunkResult chunkResult : chunkResults)
+			{
+				System.arraycopy(
+					chunkResult.semanticVersions,
+					0,
+					semanticVersions,
+					firstLineIndex,
+					chunkResult.lineCount);
+
+				for (int i = 0; i < chunkResult.errors.size(); ++i)
+				{
+					final SemanticVersion.ParseResult parseResult = chunkResult.errors.get(i);
+					errors.add(
+						new LineError(
+							firstLineIndex + chunkResult.errorLineIndexes[i],
+							parseResult.getError(),
+							parseResult.getErrorOffset()));
+				}
+
+				firstLineIndex += chunkResult.lineCount;
+			}
+
+			return new Result(semanticVersions, Collections.unmodifiableList(errors));
+		}
+
+
+		public int getLineCount()
+		{
+			return this.semanticVersions.length;
+		}
+
+
+		/**
+		 * @return Returns the version parsed from the line with the given
+		 *         index, counting from 0, or null if the line is invalid.
+		 */
+		/* @Nullable */
+		public SemanticVersion getSemanticVersion(
+			final int lineIndex)
+		{
+			return this.semanticVersions[lineIndex];
+		}
+
+
+		/**
+		 * @return Returns the version parsed from each line, in file order,
+		 *         with null in place of each invalid line.
+		 */
+		/* @Nonnull */
+		public List<SemanticVersion> getSemanticVersions()
+		{
+			return Collections.unmodifiableList(Arrays.asList(this.semanticVersions));
+		}
+
+
+		/**
+		 * @return Returns an error for each invalid line, in file order.
+		 */
+		/* @Nonnull */
+		public List<LineError> getErrors()
+		{
+			return this.errors;
+		}
+	}
+
+
+	public static final class LineError
+	{
+		private final int lineIndex;
+		private final SemanticVersion.ParseError error;
+		private final int errorOffset;
+
+
+		private LineError(
+			final int lineIndex,
+			/* @Nonnull */ final SemanticVersion.ParseError error,
+			final int errorOffset)
+		{
+			this.lineIndex = lineIndex;
+			this.error = error;
+			this.errorOffset = errorOffset;
+		}
+
+
+		/**
+		 * @return Returns the index of the line, counting from 0.
+		 */
+		public int getLineIndex()
+		{
+			return this.lineIndex;
+		}
+
+
+		/* @Nonnull */
+		public SemanticVersion.ParseError getError()
+		{
+			return this.error;
+		}
+
+
+		/**
+		 * @return Returns the offset of the error from the start of the line.
+		 */
+		public int getErrorOffset()
+		{
+			return this.errorOffset;
+		}
+
+
+		@Override
+		/* @Nonnull */
+		public String toString()
+		{
+			return "line " + this.lineIndex + ": " + this.error + " at offset " + this.errorOffset;
+		}
+	}
+
+
+	/**
+	 * Splits a range of chunks in half until a single chunk is left, then
+	 * parses it. The results are returned in file order.
+	 */
+	private static final class ChunkTask extends RecursiveTask<List<ChunkResult>>
+	{
+		private final FileChannel channel;
+		private final long size;
+		private final long chunkSize;
+		private final int firstChunk;
+		private final int endChunk;
+
+
+		private ChunkTask(
+			/* @Nonnull */ final FileChannel channel,
+			final long size,
+			final long chunkSize,
+			final int firstChunk,
+			final int endChunk)
+		{
+			this.channel = channel;
+			this.size = size;
+			this.chunkSize = chunkSize;
+			this.firstChunk = firstChunk;
+			this.endChunk = endChunk;
+		}
+
+
+		@Override
+		/* @Nonnull */
+		protected List<ChunkResult> compute()
+		{
+			if (this.firstChunk == this.endChunk)
+			{
+				return Collections.emptyList();
+			}
+			else if (1 == this.endChunk - this.firstChunk)
+			{
+				try
+				{
+					final long chunkStart = this.firstChunk * this.chunkSize;
+					final long chunkEnd = Math.min(this.size, chunkStart + this.chunkSize);
+
+					return Collections.singletonList(new ChunkParser(this.channel, this.size).parse(chunkStart, chunkEnd));
+				}
+				catch (final IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}
+
+			final int middleChunk = (this.firstChunk + this.endChunk) >>> 1;
+			final ChunkTask firstHalf =
+				new ChunkTask(this.channel, this.size, this.chunkSize, this.firstChunk, middleChunk);
+			final ChunkTask secondHalf =
+				new ChunkTask(this.channel, this.size, this.chunkSize, middleChunk, this.endChunk);
+			firstHalf.fork();
+
+			final List<ChunkResult> secondResults = secondHalf.compute();
+			final List<ChunkResult> results = new ArrayList<>(firstHalf.join());
+			results.addAll(secondResults);
+			return results;
+		}
+	}
+
+
+	/**
+	 * Parses the lines that start inside of one chunk, through a window onto
+	 * the file that is moved along as the lines are read. The window
+	 * reaches a little past the end of the chunk, so that the last line
+	 * rarely needs a mapping of its own.
+	 */
+	private static final class ChunkParser
+	{
+		private final FileChannel channel;
+		private final long size;
+		private MappedByteBuffer window;
+		private long windowStart;
+		private long windowEnd;
+
+
+		private ChunkParser(
+			/* @Nonnull */ final FileChannel channel,
+			final long size)
+		{
+			this.channel = channel;
+			this.size = size;
+		}
+
+
+		/* @Nonnull */
+		private ChunkResult parse(
+			final long chunkStart,
+			final long chunkEnd)
+		throws
+			IOException
+		{
+			final ChunkResult chunkResult = new ChunkResult();
+			this.map(Math.max(0, chunkStart - 1), chunkEnd - chunkStart + WINDOW_SLACK);
+
+			// The line that is cut by the start of the chunk belongs to the
+			// chunk before.
+			long lineStart = 0 == chunkStart ? 0 : this.findLineEnd(chunkStart - 1) + 1;
+
+			while (lineStart < chunkEnd)
+			{
+				final long lineEnd = this.findLineEnd(lineStart);
+				long contentEnd = lineEnd;
+
+				if (lineStart < contentEnd && '\r' == this.byteAt(contentEnd - 1))
+				{
+					--contentEnd;
+				}
+
+				if (Integer.MAX_VALUE < contentEnd - lineStart)
+				{
+					throw new IOException("Line starting at byte " + lineStart + " is too long");
+				}
+				else if (lineStart < this.windowStart || contentEnd > this.windowEnd)
+				{
+					this.map(lineStart, contentEnd - lineStart);
+				}
+
+				chunkResult.add(
+					SemanticVersion.tryParse(
+						new AsciiCharSequence(
+							this.window,
+							(int) (lineStart - this.windowStart),
+							(int) (contentEnd - lineStart))));
+				lineStart = lineEnd + 1;
+			}
+
+			return chunkResult;
+		}
+
+
+		/**
+		 * @return Returns the position of the first line feed at or after the
+		 *         given position, or the size of the file if there is none.
+		 */
+		private long findLineEnd(
+			final long from)
+		throws
+			IOException
+		{
+			long position = from;
+
+			while (position < this.size)
+			{
+				if (position < this.windowStart || position >= this.windowEnd)
+				{
+					this.map(position, WINDOW_SLACK);
+				}
+
+				final int end = (int) (this.windowEnd - this.windowStart);
+
+				for (int i = (int) (position - this.windowStart); i < end; ++i)
+				{
+					if ('\n' == this.window.get(i))
+					{
+						return this.windowStart + i;
+					}
+				}
+
+				position = this.windowEnd;
+			}
+
+			return this.size;
+		}
+
+
+		private byte byteAt(
+			final long position)
+		throws
+			IOException
+		{
+			if (position < this.windowStart || position >= this.windowEnd)
+			{
+				this.map(position, WINDOW_SLACK);
+			}
+
+			return this.window.get((int) (position - this.windowStart));
+		}
+
+
+		private void map(
+			final long start,
+			final long length)
+		throws
+			IOException
+		{
+			this.windowStart = start;
+			this.windowEnd = Math.min(this.size, start + Math.min(Integer.MAX_VALUE, length));
+			this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, this.windowEnd - start);
+		}
+	}
+
+
+	/**
+	 * The outcome of parsing the lines of one chunk. Versions are kept for
+	 * every line, with null for invalid lines, while errors are only kept
+	 * for the invalid lines.
+	 */
+	private static final class ChunkResult
+	{
+		private SemanticVersion[] semanticVersions;
+		private int lineCount;
+		private final List<SemanticVersion.ParseResult> errors;
+		private int[] errorLineIndexes;
+
+
+		private ChunkResult()
+		{
+			this.semanticVersions = new SemanticVersion[64];
+			this.errors = new ArrayList<>();
+			this.errorLineIndexes = new int[8];
+		}
+
+
+		private void add(
+			/* @Nonnull */ final SemanticVersion.ParseResult parseResult)
+		{
+			if (this.semanticVersions.length == this.lineCount)
+			{
+				this.semanticVersions = Arrays.copyOf(this.semanticVersions, this.lineCount * 2);
+			}
+
+			if (!parseResult.isValid())
+			{
+				if (this.errorLineIndexes.length == this.errors.size())
+				{
+					this.errorLineIndexes = Arrays.copyOf(this.errorLineIndexes, this.errors.size() * 2);
+				}
+
+				this.errorLineIndexes[this.errors.size()] = this.lineCount;
+				this.errors.add(parseResult);
+			}
+
+			this.semanticVersions[this.lineCount++] = parseResult.getSemanticVersion();
+		}
+	}
+}
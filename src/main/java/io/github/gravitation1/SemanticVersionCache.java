@@ -0,0 +1,253 @@
+package io.github.gravitation1;
+
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * A bounded cache of parsed semantic versions, so that strings that are
+ * parsed over and over again share one canonical SemanticVersion instance.
+ *
+ * Lookups never take a lock. Once the cache is full, entries are evicted in
+ * the order they were added, except that entries that have been looked up
+ * since they were last considered for eviction get a second chance (the
+ * CLOCK policy). Only the thread that wins the race to evict does so; other
+ * threads carry on, so the cache may briefly hold a few more entries than
+ * its maximum size.
+ */
+public class SemanticVersionCache
+{
+	private final int maximumSize;
+	private final ConcurrentHashMap<String, Entry> entries;
+	private final Queue<Entry> evictionOrder;
+	private final AtomicInteger size;
+	private final ReentrantLock evictionLock;
+	private final LongAdder hitCount;
+	private final LongAdder missCount;
+	private final LongAdder evictionCount;
+
+
+	public SemanticVersionCache(
+		final int maximumSize)
+	{
+		if (0 >= maximumSize)
+		{
+			throw new IllegalArgumentException("The maximum size must be positive");
+		}
+
+		this.maximumSize = maximumSize;
+		this.entries = new ConcurrentHashMap<>();
+		this.evictionOrder = new ConcurrentLinkedQueue<>();
+		this.size = new AtomicInteger();
+		this.evictionLock = new ReentrantLock();
+		this.hitCount = new LongAdder();
+		this.missCount = new LongAdder();
+		this.evictionCount = new LongAdder();
+	}
+
+
+	/**
+	 * Like {@link SemanticVersion#from(String)}, but returns the cached
+	 * instance when the same string has been parsed before. Strings that fail
+	 * to parse are not cached.
+	 */
+	/* @Nonnull */
+	public SemanticVersion from(
+		/* @Nonnull */ final String semanticVersionString)
+	{
+		final SemanticVersion cached = this.lookUp(semanticVersionString);
+
+		return
+			null != cached
+				? cached
+				: this.add(semanticVersionString, SemanticVersion.from(semanticVersionString));
+	}
+
+
+	/**
+	 * Like {@link SemanticVersion#parseOrNull(String)}, but returns the
+	 * cached instance when the same string has been parsed before.
+	 */
+	/* @Nullable */
+	public SemanticVersion parseOrNull(
+		/* @Nonnull */ final String semanticVersionString)
+	{
+		final SemanticVersion cached = this.lookUp(semanticVersionString);
+
+		if (null != cached)
+		{
+			return cached;
+		}
+
+		final SemanticVersion semanticVersion = SemanticVersion.parseOrNull(semanticVersionString);
+
+		return null == semanticVersion ? null : this.add(semanticVersionString, semanticVersion);
+	}
+
+
+	/**
+	 * @return Returns the cached instance that is equal to the given version,
+	 *         caching the given version if there is none.
+	 */
+	/* @Nonnull */
+	public SemanticVersion intern(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final String semanticVersionString = semanticVersion.toString();
+		final SemanticVersion cached = this.lookUp(semanticVersionString);
+
+		return null != cached ? cached : this.add(semanticVersionString, semanticVersion);
+	}
+
+
+	public int getMaximumSize()
+	{
+		return this.maximumSize;
+	}
+
+
+	public int size()
+	{
+		return this.size.get();
+	}
+
+
+	public long getHitCount()
+	{
+		return this.hitCount.sum();
+	}
+
+
+	public long getMissCount()
+	{
+		return this.missCount.sum();
+	}
+
+
+	public long getEvictionCount()
+	{
+		return this.evictionCount.sum();
+	}
+
+
+	/* @Nullable */
+	private SemanticVersion lookUp(
+		/* @Nonnull */ final String semanticVersionString)
+	{
+		final Entry entry = this.entries.get(semanticVersionString);
+		final SemanticVersionListener listener = SemanticVersion.getListener();
+
+		if (null == entry)
+		{
+			this.missCount.increment();
+
+			if (null != listener)
+			{
+				listener.cacheMiss();
+			}
+
+			return null;
+		}
+
+		if (!entry.referenced)
+		{
+			entry.referenced = true;
+		}
+
+		this.hitCount.increment();
+
+		if (null != listener)
+		{
+			listener.cacheHit();
+		}
+
+		return entry.semanticVersion;
+	}
+
+
+	/* @Nonnull */
+	private SemanticVersion add(
+		/* @Nonnull */ final String semanticVersionString,
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final Entry entry = new Entry(semanticVersionString, semanticVersion);
+		final Entry existing = this.entries.putIfAbsent(semanticVersionString, entry);
+
+		if (null != existing)
+		{
+			// Another thread parsed the same string first.
+			return existing.semanticVersion;
+		}
+
+		this.evictionOrder.add(entry);
+
+		if (this.maximumSize < this.size.incrementAndGet())
+		{
+			this.evict();
+		}
+
+		return semanticVersion;
+	}
+
+
+	private void evict()
+	{
+		// The size is checked again after unlocking, in case another thread
+		// added an entry while the lock was held.
+		while (this.maximumSize < this.size.get() && this.evictionLock.tryLock())
+		{
+			try
+			{
+				while (this.maximumSize < this.size.get())
+				{
+					final Entry entry = this.evictionOrder.poll();
+
+					if (null == entry)
+					{
+						return;
+					}
+					else if (entry.referenced)
+					{
+						entry.referenced = false;
+						this.evictionOrder.add(entry);
+					}
+					else
+					{
+						this.entries.remove(entry.semanticVersionString, entry);
+						this.size.decrementAndGet();
+						this.evictionCount.increment();
+					}
+				}
+			}
+			finally
+			{
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+
+	private static final class Entry
+	{
+		private final String semanticVersionString;
+		private final SemanticVersion semanticVersion;
+
+		// Racy updates are harmless, at worst an entry gets one more or one
+		// less chance to stay in the cache.
+		private volatile boolean referenced;
+
+
+		private Entry(
+			/* @Nonnull */ final String semanticVersionString,
+			/* @Nonnull */ final SemanticVersion semanticVersion)
+		{
+			this.semanticVersionString = semanticVersionString;
+			this.semanticVersion = semanticVersion;
+		}
+	}
+}
@@ -0,0 +1,443 @@
+package io.github.gravitation1;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+
+/**
+ * The versions of any number of artifacts, such as those of a registry,
+ * that can be published to from many threads while being read from many
+ * others.
+ *
+ * Readers take a {@link Snapshot}, which is a single volatile read and
+ * never waits. A snapshot sees every version published before it was taken
+ * and none after, for as long as it is held, so a long query sees the
+ * same catalog from start to end.
+ *
+ * The artifacts are kept in a persistent hash trie, with an immutable
+ * {@link SemanticVersionIndex} per artifact. Publishing copies the index of
+ * the artifact and the handful of trie nodes on the way to it, and shares
+ * everything else with the snapshots that came before. Concurrent
+ * publishers retry with compare-and-set, so a slow reader never holds up a
+ * writer either.
+ */
+public final class SemanticVersionCatalog
+{
+	private static final int BITS_PER_LEVEL;
+	private static final Node EMPTY_NODE;
+
+	/* @Nonnull */ private final AtomicReference<Snapshot> snapshot;
+
+
+	static
+	{
+		BITS_PER_LEVEL = 5;
+		EMPTY_NODE = new Node(0, new Object[0]);
+	}
+
+
+	public SemanticVersionCatalog()
+	{
+		this.snapshot = new AtomicReference<>(new Snapshot(EMPTY_NODE, 0, 0));
+	}
+
+
+	/**
+	 * @return Returns the catalog as it is now, which does not change when
+	 *         versions are published later.
+	 */
+	/* @Nonnull */
+	public Snapshot snapshot()
+	{
+		return this.snapshot.get();
+	}
+
+
+	/**
+	 * @return Returns the versions of the artifact as they are now, or null
+	 *         if none have been published.
+	 */
+	/* @Nullable */
+	public SemanticVersionIndex getVersions(
+		/* @Nonnull */ final String artifact)
+	{
+		return this.snapshot.get().getVersions(artifact);
+	}
+
+
+	/**
+	 * @return Returns true if the version was not published for the artifact
+	 *         yet.
+	 */
+	public boolean publish(
+		/* @Nonnull */ final String artifact,
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final int hash = hash(artifact);
+
+		while (true)
+		{
+			final Snapshot current = this.snapshot.get();
+			final SemanticVersionIndex index = current.getVersions(artifact, hash);
+			final SemanticVersionIndex updated =
+				null == index
+					? new SemanticVersionIndex(Collections.singletonList(semanticVersion))
+					: index.withSemanticVersion(semanticVersion);
+
+			if (updated == index)
+			{
+				return false;
+			}
+			else if (this.snapshot.compareAndSet(current, current.with(artifact, hash, index, updated)))
+			{
+				return true;
+			}
+		}
+	}
+
+
+	/**
+	 * Publishes many versions of an artifact at once, so that they appear
+	 * together and the index of the artifact is only copied once.
+	 *
+	 * @return Returns the number of versions that were not published for the
+	 *         artifact yet.
+	 */
+	public int publishAll(
+		/* @Nonnull */ final String artifact,
+		/* @Nonnull */ final Collection<SemanticVersion> semanticVersions)
+	{
+		final int hash = hash(artifact);
+
+		while (true)
+		{
+			final Snapshot current = this.snapshot.get();
+			final SemanticVersionIndex index = current.getVersions(artifact, hash);
+			final List<SemanticVersion> all = new ArrayList<>(semanticVersions);
+
+			if (null != index)
+			{
+				all.addAll(index.getSemanticVersions());
+			}
+
+			final SemanticVersionIndex updated = new SemanticVersionIndex(all);
+			final int added = updated.size() - (null == index ? 0 : index.size());
+
+			if (0 == added)
+			{
+				return 0;
+			}
+			else if (this.snapshot.compareAndSet(current, current.with(artifact, hash, index, updated)))
+			{
+				return added;
+			}
+		}
+	}
+
+
+	/**
+	 * The catalog at one point in time. Snapshots are immutable, and can be
+	 * read from any number of threads.
+	 */
+	public static final class Snapshot
+	{
+		/* @Nonnull */ private final Node root;
+		private final int artifactCount;
+		private final long versionCount;
+
+
+		private Snapshot(
+			/* @Nonnull */ final Node root,
+			final int artifactCount,
+			final long versionCount)
+		{
+			this.root = root;
+			this.artifactCount = artifactCount;
+			this.versionCount = versionCount;
+		}
+
+
+		/**
+		 * @return Returns the versions of the artifact, or null if none had
+		 *         been published.
+		 */
+		/* @Nullable */
+		public SemanticVersionIndex getVersions(
+			/* @Nonnull */ final String artifact)
+		{
+			return this.getVersions(artifact, hash(artifact));
+		}
+
+
+		/**
+		 * @return Returns the version of the artifact of highest precedence, or
+		 *         null if none had been published.
+		 */
+		/* @Nullable */
+		public SemanticVersion latest(
+			/* @Nonnull */ final String artifact)
+		{
+			final SemanticVersionIndex index = this.getVersions(artifact);
+
+			return null == index ? null : index.latest();
+		}
+
+
+		/**
+		 * @return Returns the version of the artifact of highest precedence
+		 *         without pre-release data, or null if there is none.
+		 */
+		/* @Nullable */
+		public SemanticVersion latestStable(
+			/* @Nonnull */ final String artifact)
+		{
+			final SemanticVersionIndex index = this.getVersions(artifact);
+
+			return null == index ? null : index.latestStable();
+		}
+
+
+		public int getArtifactCount()
+		{
+			return this.artifactCount;
+		}
+
+
+		public long getVersionCount()
+		{
+			return this.versionCount;
+		}
+
+
+		/**
+		 * Calls the action for every artifact and its versions, in no
+		 * particular order.
+		 */
+		public void forEach(
+			/* @Nonnull */ final BiConsumer<? super String, ? super SemanticVersionIndex> action)
+		{
+			forEach(this.root, action);
+		}
+
+
+		/* @Nullable */
+		private SemanticVersionIndex getVersions(
+			/* @Nonnull */ final String artifact,
+			final int hash)
+		{
+			Node node = this.root;
+
+			for (int shift = 0; ; shift += BITS_PER_LEVEL)
+			{
+				final int bit = bit(hash, shift);
+
+				if (0 == (node.bitmap & bit))
+				{
+					return null;
+				}
+
+				final Object child = node.children[node.position(bit)];
+
+				if (child instanceof Node)
+				{
+					node = (Node) child;
+					continue;
+				}
+
+				for (Entry entry = (Entry) child; null != entry; entry = entry.next)
+				{
+					if (entry.artifact.equals(artifact))
+					{
+						return entry.index;
+					}
+				}
+
+				return null;
+			}
+		}
+
+
+		/**
+		 * @param index The current versions of the artifact, if any.
+		 * @return Returns this snapshot with the artifact's versions replaced.
+		 */
+		/* @Nonnull */
+		private Snapshot with(
+			/* @Nonnull */ final String artifact,
+			final int hash,
+			/* @Nullable */ final SemanticVersionIndex index,
+			/* @Nonnull */ final SemanticVersionIndex updated)
+		{
+			return
+				new Snapshot(
+					put(this.root, 0, new Entry(artifact, hash, updated, null)),
+					this.artifactCount + (null == index ? 1 : 0),
+					this.versionCount + updated.size() - (null == index ? 0 : index.size()));
+		}
+
+
+		private static void forEach(
+			/* @Nonnull */ final Node node,
+			/* @Nonnull */ final BiConsumer<? super String, ? super SemanticVersionIndex> action)
+		{
+			for (final Object child : node.children)
+			{
+				if (child instanceof Node)
+				{
+					forEach((Node) child, action);
+					continue;
+				}
+
+				for (Entry entry = (Entry) child; null != entry; entry = entry.next)
+				{
+					action.accept(entry.artifact, entry.index);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * A node of the hash trie, whose children are picked by the next five
+	 * bits of the hash. Only the children that exist are stored, in the order
+	 * of the bits that are set in the bitmap.
+	 */
+	private static final class Node
+	{
+		private final int bitmap;
+		private final Object[] children;
+
+
+		private Node(
+			final int bitmap,
+			/* @Nonnull */ final Object[] children)
+		{
+			this.bitmap = bitmap;
+			this.children = children;
+		}
+
+
+		private int position(
+			final int bit)
+		{
+			return Integer.bitCount(this.bitmap & (bit - 1));
+		}
+	}
+
+
+	/**
+	 * The versions of an artifact, followed by those of other artifacts with
+	 * the same hash, if any.
+	 */
+	private static final class Entry
+	{
+		private final String artifact;
+		private final int hash;
+		private final SemanticVersionIndex index;
+		/* @Nullable */ private final Entry next;
+
+
+		private Entry(
+			/* @Nonnull */ final String artifact,
+			final int hash,
+			/* @Nonnull */ final SemanticVersionIndex index,
+			/* @Nullable */ final Entry next)
+		{
+			this.artifact = artifact;
+			this.hash = hash;
+			this.index = index;
+			this.next = next;
+		}
+
+
+		/**
+		 * @return Returns the entries with the given one added, or replacing
+		 *         the one for the same artifact.
+		 */
+		/* @Nonnull */
+		private Entry with(
+			/* @Nonnull */ final Entry entry)
+		{
+			if (this.artifact.equals(entry.artifact))
+			{
+				return new Entry(entry.artifact, entry.hash, entry.index, this.next);
+			}
+
+			return
+				new Entry(
+					this.artifact,
+					this.hash,
+					this.index,
+					null == this.next ? entry : this.next.with(entry));
+		}
+	}
+
+
+	/**
+	 * @return Returns a copy of the node with the entry added, or replacing
+	 *         the one for the same artifact.
+	 */
+	/* @Nonnull */
+	private static Node put(
+		/* @Nonnull */ final Node node,
+		final int shift,
+		/* @Nonnull */ final Entry entry)
+	{
+		final int bit = bit(entry.hash, shift);
+		final int position = node.position(bit);
+
+		if (0 == (node.bitmap & bit))
+		{
+			final Object[] children = new Object[node.children.length + 1];
+			System.arraycopy(node.children, 0, children, 0, position);
+			children[position] = entry;
+			System.arraycopy(node.children, position, children, position + 1, node.children.length - position);
+			return new Node(node.bitmap | bit, children);
+		}
+
+		final Object child = node.children[position];
+		final Object updated;
+
+		if (child instanceof Node)
+		{
+			updated = put((Node) child, shift + BITS_PER_LEVEL, entry);
+		}
+		else if (((Entry) child).hash == entry.hash)
+		{
+			updated = ((Entry) child).with(entry);
+		}
+		else
+		{
+			// The hashes agree on the bits used so far, so they differ in one of
+			// the bits still to be used, at the latest by the last level.
+			updated = put(put(EMPTY_NODE, shift + BITS_PER_LEVEL, (Entry) child), shift + BITS_PER_LEVEL, entry);
+		}
+
+		final Object[] children = node.children.clone();
+		children[position] = updated;
+		return new Node(node.bitmap, children);
+	}
+
+
+	private static int bit(
+		final int hash,
+		final int shift)
+	{
+		return 1 << ((hash >>> shift) & 31);
+	}
+
+
+	private static int hash(
+		/* @Nonnull */ final String artifact)
+	{
+		// Spreads the bits of String.hashCode, which keeps similar names
+		// close in the low bits that pick the first levels.
+		final int hash = artifact.hashCode() * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
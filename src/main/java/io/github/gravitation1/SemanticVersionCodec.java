@@ -0,0 +1,546 @@
+package io.github.gravitation1;
+
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A compact binary format for versions, for sending them between services
+ * without formatting and parsing strings.
+ *
+ * A version is written as its major, minor and patch version numbers, each
+ * as a varint of 7 bits per byte, least significant first, followed by its
+ * pre-release identifiers and then its build metadata identifiers, each
+ * list ending with a 0 byte. Every identifier starts with a tag:
+ *
+ * 1: a number without leading zeros, as a varint.
+ * 2: text, as a varint length followed by that many ASCII characters.
+ * 3: text like 2, which is also added to the dictionary.
+ * 4: the text of a dictionary entry, as a varint index into the dictionary.
+ *
+ * The dictionary holds text identifiers in the order they were first
+ * written to a stream, so an encoder and a decoder must each be used for a
+ * single stream, and are not thread-safe. Decoding the output of an
+ * encoder with a dictionary needs no configuration. Every version decodes
+ * to a version whose string form is exactly that of the encoded version.
+ */
+public final class SemanticVersionCodec
+{
+	private static final int END_TAG;
+	private static final int NUMBER_TAG;
+	private static final int TEXT_TAG;
+	private static final int NEW_ENTRY_TAG;
+	private static final int ENTRY_TAG;
+	private static final int MAXIMUM_NUMBER_LENGTH;
+	private static final int DICTIONARY_LIMIT;
+
+
+	static
+	{
+		END_TAG = 0;
+		NUMBER_TAG = 1;
+		TEXT_TAG = 2;
+		NEW_ENTRY_TAG = 3;
+		ENTRY_TAG = 4;
+
+		// Longer numerical identifiers may not fit into a long.
+		MAXIMUM_NUMBER_LENGTH = 18;
+		DICTIONARY_LIMIT = 1 << 12;
+	}
+
+
+	private SemanticVersionCodec()
+	{
+	}
+
+
+	public static final class Encoder
+	{
+		private final boolean useDictionary;
+		/* @Nonnull */ private final Map<String, Integer> dictionaryIndexes;
+		/* @Nonnull */ private final List<String> dictionary;
+		/* @Nonnull */ private byte[] bytes;
+		private int length;
+
+
+		/**
+		 * @param useDictionary Whether to write repeated text identifiers as
+		 *        references to their first occurrence in the stream.
+		 */
+		public Encoder(
+			final boolean useDictionary)
+		{
+			this.useDictionary = useDictionary;
+			this.dictionaryIndexes = new HashMap<>();
+			this.dictionary = new ArrayList<>();
+			this.bytes = new byte[64];
+		}
+
+
+		/**
+		 * Writes a version at the position of the buffer. If there is not
+		 * enough room, nothing is written.
+		 *
+		 * @throws BufferOverflowException Thrown if there is not enough room
+		 *         in the buffer.
+		 */
+		public void encode(
+			/* @Nonnull */ final SemanticVersion semanticVersion,
+			/* @Nonnull */ final ByteBuffer byteBuffer)
+		{
+			final int dictionarySize = this.dictionary.size();
+			this.write(semanticVersion);
+
+			try
+			{
+				byteBuffer.put(this.bytes, 0, this.length);
+			}
+			catch (final BufferOverflowException e)
+			{
+				this.truncateDictionary(dictionarySize);
+				throw e;
+			}
+		}
+
+
+		public void encode(
+			/* @Nonnull */ final SemanticVersion semanticVersion,
+			/* @Nonnull */ final DataOutput dataOutput)
+			throws IOException
+		{
+			final int dictionarySize = this.dictionary.size();
+			this.write(semanticVersion);
+
+			try
+			{
+				dataOutput.write(this.bytes, 0, this.length);
+			}
+			catch (final IOException e)
+			{
+				this.truncateDictionary(dictionarySize);
+				throw e;
+			}
+		}
+
+
+		private void write(
+			/* @Nonnull */ final SemanticVersion semanticVersion)
+		{
+			this.length = 0;
+			this.writeVarint(semanticVersion.getMajor());
+			this.writeVarint(semanticVersion.getMinor());
+			this.writeVarint(semanticVersion.getPatch());
+
+			final String suffix = semanticVersion.getSuffix();
+
+			if (null == suffix)
+			{
+				this.writeByte(END_TAG);
+				this.writeByte(END_TAG);
+				return;
+			}
+
+			final int buildMetadataOffset = semanticVersion.getBuildMetadataOffset();
+			this.writeIdentifiers(suffix, 1, buildMetadataOffset);
+			this.writeIdentifiers(suffix, buildMetadataOffset + 1, suffix.length());
+		}
+
+
+		/**
+		 * Writes the identifiers between the given offsets of the suffix,
+		 * followed by the end tag.
+		 */
+		private void writeIdentifiers(
+			/* @Nonnull */ final String suffix,
+			final int start,
+			final int end)
+		{
+			for (int identifierStart = start; identifierStart < end; )
+			{
+				int identifierEnd = suffix.indexOf('.', identifierStart);
+
+				if (-1 == identifierEnd || end < identifierEnd)
+				{
+					identifierEnd = end;
+				}
+
+				this.writeIdentifier(suffix, identifierStart, identifierEnd);
+				identifierStart = identifierEnd + 1;
+			}
+
+			this.writeByte(END_TAG);
+		}
+
+
+		private void writeIdentifier(
+			/* @Nonnull */ final String suffix,
+			final int start,
+			final int end)
+		{
+			if (isCanonicalNumber(suffix, start, end))
+			{
+				long number = 0;
+
+				for (int i = start; i < end; ++i)
+				{
+					number = 10 * number + (suffix.charAt(i) - '0');
+				}
+
+				this.writeByte(NUMBER_TAG);
+				this.writeVarint(number);
+				return;
+			}
+
+			if (!this.useDictionary)
+			{
+				this.writeText(TEXT_TAG, suffix, start, end);
+				return;
+			}
+
+			final String identifier = suffix.substring(start, end);
+			final Integer index = this.dictionaryIndexes.get(identifier);
+
+			if (null != index)
+			{
+				this.writeByte(ENTRY_TAG);
+				this.writeVarint(index);
+			}
+			else if (DICTIONARY_LIMIT > this.dictionary.size())
+			{
+				this.dictionaryIndexes.put(identifier, this.dictionary.size());
+				this.dictionary.add(identifier);
+				this.writeText(NEW_ENTRY_TAG, suffix, start, end);
+			}
+			else
+			{
+				this.writeText(TEXT_TAG, suffix, start, end);
+			}
+		}
+
+
+		private void writeText(
+			final int tag,
+			/* @Nonnull */ final String suffix,
+			final int start,
+			final int end)
+		{
+			this.writeByte(tag);
+			this.writeVarint(end - start);
+
+			for (int i = start; i < end; ++i)
+			{
+				this.writeByte(suffix.charAt(i));
+			}
+		}
+
+
+		private void writeVarint(
+			final long value)
+		{
+			long remaining = value;
+
+			while (0x80 <= remaining)
+			{
+				this.writeByte((int) (remaining & 0x7F) | 0x80);
+				remaining >>>= 7;
+			}
+
+			this.writeByte((int) remaining);
+		}
+
+
+		private void writeByte(
+			final int value)
+		{
+			if (this.bytes.length == this.length)
+			{
+				this.bytes = Arrays.copyOf(this.bytes, 2 * this.length);
+			}
+
+			this.bytes[this.length++] = (byte) value;
+		}
+
+
+		/**
+		 * Forgets the entries added for a version that could not be written,
+		 * so the dictionary stays in step with the decoder's.
+		 */
+		private void truncateDictionary(
+			final int size)
+		{
+			while (size < this.dictionary.size())
+			{
+				this.dictionaryIndexes.remove(this.dictionary.remove(this.dictionary.size() - 1));
+			}
+		}
+
+
+		private static boolean isCanonicalNumber(
+			/* @Nonnull */ final String suffix,
+			final int start,
+			final int end)
+		{
+			if (MAXIMUM_NUMBER_LENGTH < end - start || (1 < end - start && '0' == suffix.charAt(start)))
+			{
+				return false;
+			}
+
+			for (int i = start; i < end; ++i)
+			{
+				final char character = suffix.charAt(i);
+
+				if ('0' > character || '9' < character)
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+
+
+	public static final class Decoder
+	{
+		private final boolean trusted;
+		/* @Nonnull */ private final List<String> dictionary;
+		/* @Nonnull */ private final StringBuilder stringBuilder;
+
+
+		/**
+		 * @param trusted Whether the input comes from an encoder, in which
+		 *        case the versions are not validated. Corrupted input then
+		 *        decodes to invalid versions, rather than failing.
+		 */
+		public Decoder(
+			final boolean trusted)
+		{
+			this.trusted = trusted;
+			this.dictionary = new ArrayList<>();
+			this.stringBuilder = new StringBuilder();
+		}
+
+
+		/**
+		 * Reads a version at the position of the buffer. If the buffer holds
+		 * only part of a version, its position is left unchanged, so that the
+		 * version can be read once the rest of it has arrived.
+		 *
+		 * @throws BufferUnderflowException Thrown if the buffer ends within
+		 *         the version.
+		 * @throws IllegalArgumentException Thrown if the input is malformed.
+		 * @throws SemanticVersion.SemanticVersionException Thrown if the
+		 *         version is invalid, unless the decoder trusts its input.
+		 */
+		/* @Nonnull */
+		public SemanticVersion decode(
+			/* @Nonnull */ final ByteBuffer byteBuffer)
+		{
+			final int position = byteBuffer.position();
+			final int dictionarySize = this.dictionary.size();
+
+			try
+			{
+				return this.read(() -> byteBuffer.get() & 0xFF);
+			}
+			catch (final IOException e)
+			{
+				// Reading from a buffer does not throw checked exceptions.
+				throw new UncheckedIOException(e);
+			}
+			catch (final RuntimeException e)
+			{
+				byteBuffer.position(position);
+				this.truncateDictionary(dictionarySize);
+				throw e;
+			}
+		}
+
+
+		/**
+		 * @throws IllegalArgumentException Thrown if the input is malformed.
+		 * @throws SemanticVersion.SemanticVersionException Thrown if the
+		 *         version is invalid, unless the decoder trusts its input.
+		 */
+		/* @Nonnull */
+		public SemanticVersion decode(
+			/* @Nonnull */ final DataInput dataInput)
+			throws IOException
+		{
+			final int dictionarySize = this.dictionary.size();
+
+			try
+			{
+				return this.read(dataInput::readUnsignedByte);
+			}
+			catch (final IOException | RuntimeException e)
+			{
+				this.truncateDictionary(dictionarySize);
+				throw e;
+			}
+		}
+
+
+		/* @Nonnull */
+		private SemanticVersion read(
+			/* @Nonnull */ final ByteSource byteSource)
+			throws IOException
+		{
+			final int major = readVersionNumber(byteSource);
+			final int minor = readVersionNumber(byteSource);
+			final int patch = readVersionNumber(byteSource);
+			final StringBuilder stringBuilder = this.stringBuilder;
+			stringBuilder.setLength(0);
+			stringBuilder.append(major).append('.').append(minor).append('.').append(patch);
+
+			final int baseEnd = stringBuilder.length();
+			this.readIdentifiers(byteSource, '-');
+			final int buildMetadataOffset = stringBuilder.length() - baseEnd;
+			this.readIdentifiers(byteSource, '+');
+
+			if (!this.trusted)
+			{
+				return SemanticVersion.from(stringBuilder);
+			}
+
+			return
+				SemanticVersion.fromTrustedParts(
+					major,
+					minor,
+					patch,
+					baseEnd == stringBuilder.length() ? null : stringBuilder.substring(baseEnd),
+					buildMetadataOffset);
+		}
+
+
+		/**
+		 * Appends the identifiers up to the next end tag, preceded by the
+		 * delimiter for the first one and the separator for the rest.
+		 */
+		private void readIdentifiers(
+			/* @Nonnull */ final ByteSource byteSource,
+			final char delimiter)
+			throws IOException
+		{
+			final StringBuilder stringBuilder = this.stringBuilder;
+			char separator = delimiter;
+
+			for (int tag = byteSource.next(); END_TAG != tag; tag = byteSource.next())
+			{
+				stringBuilder.append(separator);
+				separator = '.';
+
+				if (NUMBER_TAG == tag)
+				{
+					stringBuilder.append(readVarint(byteSource, Long.MAX_VALUE));
+				}
+				else if (TEXT_TAG == tag)
+				{
+					this.readText(byteSource);
+				}
+				else if (NEW_ENTRY_TAG == tag)
+				{
+					final int start = stringBuilder.length();
+					this.readText(byteSource);
+					this.dictionary.add(stringBuilder.substring(start));
+				}
+				else if (ENTRY_TAG == tag)
+				{
+					final long index = readVarint(byteSource, Integer.MAX_VALUE);
+
+					if (this.dictionary.size() <= index)
+					{
+						throw new IllegalArgumentException("Unknown dictionary entry " + index);
+					}
+
+					stringBuilder.append(this.dictionary.get((int) index));
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown identifier tag " + tag);
+				}
+			}
+		}
+
+
+		private void readText(
+			/* @Nonnull */ final ByteSource byteSource)
+			throws IOException
+		{
+			final long length = readVarint(byteSource, Integer.MAX_VALUE);
+
+			for (long i = 0; i < length; ++i)
+			{
+				this.stringBuilder.append((char) byteSource.next());
+			}
+		}
+
+
+		private void truncateDictionary(
+			final int size)
+		{
+			while (size < this.dictionary.size())
+			{
+				this.dictionary.remove(this.dictionary.size() - 1);
+			}
+		}
+
+
+		private static int readVersionNumber(
+			/* @Nonnull */ final ByteSource byteSource)
+			throws IOException
+		{
+			return (int) readVarint(byteSource, Integer.MAX_VALUE);
+		}
+
+
+		private static long readVarint(
+			/* @Nonnull */ final ByteSource byteSource,
+			final long limit)
+			throws IOException
+		{
+			long value = 0;
+
+			// Nine bytes hold every non-negative long.
+			for (int shift = 0; Long.SIZE - 1 > shift; shift += 7)
+			{
+				final int next = byteSource.next();
+				value |= (long) (next & 0x7F) << shift;
+
+				if (0 == (next & 0x80))
+				{
+					if (limit < value)
+					{
+						break;
+					}
+
+					return value;
+				}
+			}
+
+			throw new IllegalArgumentException("Varint out of range");
+		}
+	}
+
+
+	@FunctionalInterface
+	private interface ByteSource
+	{
+		/**
+		 * @return Returns the next byte, as an unsigned value.
+		 */
+		int next()
+			throws IOException;
+	}
+}
@@ -0,0 +1,516 @@
+package io.github.gravitation1;
+
+
+import java.util.Comparator;
+
+
+/**
+ * Compares version strings by precedence without parsing them into
+ * versions, for code that only needs their order, such as sorting the tags
+ * of a repository.
+ *
+ * Both strings are walked in step from left to right, and the walk stops
+ * as soon as the order is known, usually within the first few characters.
+ * Nothing is allocated, unless a string turns out to be invalid. The result
+ * always has the sign that {@link SemanticVersion#compareTo} would give the
+ * parsed versions, so strings of versions that differ only in build
+ * metadata compare as equal.
+ *
+ * Without validation, the strings are trusted to be valid. The order of
+ * invalid strings is then unspecified, but comparing them never throws.
+ * With validation, each string is first checked in a single walk that
+ * allocates nothing, and an invalid string is reported with the exception
+ * that {@link SemanticVersion#from(String)} throws for it.
+ */
+public final class SemanticVersionComparator
+{
+	// Orders strings by the precedence of the versions they hold, trusting
+	// them to be valid.
+	public static final Comparator<CharSequence> PRECEDENCE_ORDER;
+
+	// Orders strings by the precedence of the versions they hold, throwing
+	// for invalid strings.
+	public static final Comparator<CharSequence> VALIDATING_PRECEDENCE_ORDER;
+
+	private static final int VERSION_NUMBER_COUNT;
+
+
+	static
+	{
+		PRECEDENCE_ORDER = (characters, otherCharacters) -> compare(characters, otherCharacters, false);
+		VALIDATING_PRECEDENCE_ORDER = (characters, otherCharacters) -> compare(characters, otherCharacters, true);
+		VERSION_NUMBER_COUNT = 3;
+	}
+
+
+	private SemanticVersionComparator()
+	{
+	}
+
+
+	/**
+	 * @param validate Whether to check that both strings are valid first.
+	 * @return Returns a negative number, zero or a positive number if the
+	 *         first version has a lower, the same or a higher precedence
+	 *         than the second.
+	 * @throws SemanticVersion.SemanticVersionException Thrown if validating
+	 *         and a string is invalid, as {@link SemanticVersion#from(String)}
+	 *         throws it.
+	 */
+	public static int compare(
+		/* @Nonnull */ final CharSequence characters,
+		/* @Nonnull */ final CharSequence otherCharacters,
+		final boolean validate)
+	{
+		final int length = characters.length();
+		final int otherLength = otherCharacters.length();
+
+		if (validate)
+		{
+			if (!isValid(characters, null, 0, length))
+			{
+				throw invalid(characters);
+			}
+			else if (!isValid(otherCharacters, null, 0, otherLength))
+			{
+				throw invalid(otherCharacters);
+			}
+		}
+
+		return compare(characters, null, 0, length, otherCharacters, null, 0, otherLength);
+	}
+
+
+	/**
+	 * Like {@link #compare(CharSequence, CharSequence, boolean)}, but reads
+	 * ASCII characters straight from the given ranges of the arrays.
+	 */
+	public static int compare(
+		/* @Nonnull */ final byte[] bytes,
+		final int offset,
+		final int length,
+		/* @Nonnull */ final byte[] otherBytes,
+		final int otherOffset,
+		final int otherLength,
+		final boolean validate)
+	{
+		checkRange(bytes, offset, length);
+		checkRange(otherBytes, otherOffset, otherLength);
+
+		if (validate)
+		{
+			if (!isValid(null, bytes, offset, offset + length))
+			{
+				throw invalid(new AsciiCharSequence(bytes, offset, length));
+			}
+			else if (!isValid(null, otherBytes, otherOffset, otherOffset + otherLength))
+			{
+				throw invalid(new AsciiCharSequence(otherBytes, otherOffset, otherLength));
+			}
+		}
+
+		return compare(null, bytes, offset, offset + length, null, otherBytes, otherOffset, otherOffset + otherLength);
+	}
+
+
+	/**
+	 * Reads from the sequence, or from the array if there is no sequence.
+	 * Bytes outside of the ASCII range become characters that are never
+	 * legal in a version, as they do when parsing.
+	 */
+	private static char characterAt(
+		/* @Nullable */ final CharSequence characters,
+		/* @Nullable */ final byte[] bytes,
+		final int index)
+	{
+		return null == characters ? (char) (bytes[index] & 0xFF) : characters.charAt(index);
+	}
+
+
+	/**
+	 * Walks the version numbers and then the pre-release identifiers of both
+	 * strings in step. Numbers never have leading zeros, so the longer of
+	 * two numbers is the larger one, and numbers of the same length are
+	 * ordered by their first differing digit.
+	 */
+	private static int compare(
+		/* @Nullable */ final CharSequence characters,
+		/* @Nullable */ final byte[] bytes,
+		final int start,
+		final int end,
+		/* @Nullable */ final CharSequence otherCharacters,
+		/* @Nullable */ final byte[] otherBytes,
+		final int otherStart,
+		final int otherEnd)
+	{
+		int index = start;
+		int otherIndex = otherStart;
+
+		for (int field = 0; field < VERSION_NUMBER_COUNT; ++field)
+		{
+			int digitComparison = 0;
+
+			while (true)
+			{
+				final char character = index < end ? characterAt(characters, bytes, index) : '.';
+				final char otherCharacter =
+					otherIndex < otherEnd ? characterAt(otherCharacters, otherBytes, otherIndex) : '.';
+				final boolean digit = isDigit(character);
+
+				if (digit != isDigit(otherCharacter))
+				{
+					return digit ? 1 : -1;
+				}
+				else if (!digit)
+				{
+					break;
+				}
+				else if (0 == digitComparison)
+				{
+					digitComparison = Character.compare(character, otherCharacter);
+				}
+
+				++index;
+				++otherIndex;
+			}
+
+			if (0 != digitComparison)
+			{
+				return digitComparison;
+			}
+
+			// Skips the separator, or any empty fields after the patch version.
+			index = VERSION_NUMBER_COUNT - 1 > field ? index + 1 : skipSeparators(characters, bytes, index, end);
+			otherIndex =
+				VERSION_NUMBER_COUNT - 1 > field
+					? otherIndex + 1
+					: skipSeparators(otherCharacters, otherBytes, otherIndex, otherEnd);
+		}
+
+		final boolean preRelease = startsIdentifier(characters, bytes, index + 1, end, '-', index);
+		final boolean otherPreRelease =
+			startsIdentifier(otherCharacters, otherBytes, otherIndex + 1, otherEnd, '-', otherIndex);
+
+		if (!preRelease || !otherPreRelease)
+		{
+			// A version without pre-release data has the higher precedence.
+			return Boolean.compare(otherPreRelease, preRelease);
+		}
+
+		while (true)
+		{
+			final int identifierStart = ++index;
+			final int otherIdentifierStart = ++otherIndex;
+			boolean numerical = true;
+			boolean otherNumerical = true;
+			int characterComparison = 0;
+
+			while (
+				isInIdentifier(characters, bytes, index, end)
+				&& isInIdentifier(otherCharacters, otherBytes, otherIndex, otherEnd))
+			{
+				final char character = characterAt(characters, bytes, index);
+				final char otherCharacter = characterAt(otherCharacters, otherBytes, otherIndex);
+
+				numerical &= isDigit(character);
+				otherNumerical &= isDigit(otherCharacter);
+
+				if (0 == characterComparison)
+				{
+					characterComparison = Character.compare(character, otherCharacter);
+				}
+
+				if (0 != characterComparison && !numerical && !otherNumerical)
+				{
+					// Both are textual, and the rest of them cannot matter.
+					return characterComparison;
+				}
+
+				++index;
+				++otherIndex;
+			}
+
+			for (; isInIdentifier(characters, bytes, index, end); ++index)
+			{
+				numerical &= isDigit(characterAt(characters, bytes, index));
+			}
+
+			for (; isInIdentifier(otherCharacters, otherBytes, otherIndex, otherEnd); ++otherIndex)
+			{
+				otherNumerical &= isDigit(characterAt(otherCharacters, otherBytes, otherIndex));
+			}
+
+			final int length = index - identifierStart;
+			final int otherLength = otherIndex - otherIdentifierStart;
+
+			if (numerical != otherNumerical)
+			{
+				// Numerical identifiers have lower precedence than textual ones.
+				return numerical ? -1 : 1;
+			}
+			else if (numerical && length != otherLength)
+			{
+				return Integer.compare(length, otherLength);
+			}
+			else if (0 != characterComparison)
+			{
+				return characterComparison;
+			}
+			else if (length != otherLength)
+			{
+				return Integer.compare(length, otherLength);
+			}
+
+			// Empty identifiers can only trail, where they are ignored.
+			final boolean next = startsIdentifier(characters, bytes, index + 1, end, '.', index);
+			final boolean otherNext =
+				startsIdentifier(otherCharacters, otherBytes, otherIndex + 1, otherEnd, '.', otherIndex);
+
+			if (!next || !otherNext)
+			{
+				// A larger set of pre-release fields has a higher precedence.
+				return Boolean.compare(next, otherNext);
+			}
+		}
+	}
+
+
+	/**
+	 * @return Returns true if the delimiter is at the given index and a
+	 *         non-empty pre-release identifier starts right after it.
+	 */
+	private static boolean startsIdentifier(
+		/* @Nullable */ final CharSequence characters,
+		/* @Nullable */ final byte[] bytes,
+		final int identifierStart,
+		final int end,
+		final char delimiter,
+		final int delimiterIndex)
+	{
+		return
+			identifierStart < end
+				&& delimiter == characterAt(characters, bytes, delimiterIndex)
+				&& isInIdentifier(characters, bytes, identifierStart, end);
+	}
+
+
+	private static boolean isInIdentifier(
+		/* @Nullable */ final CharSequence characters,
+		/* @Nullable */ final byte[] bytes,
+		final int index,
+		final int end)
+	{
+		if (index >= end)
+		{
+			return false;
+		}
+
+		final char character = characterAt(characters, bytes, index);
+
+		return '.' != character && '+' != character;
+	}
+
+
+	private static int skipSeparators(
+		/* @Nullable */ final CharSequence characters,
+		/* @Nullable */ final byte[] bytes,
+		final int start,
+		final int end)
+	{
+		int index = start;
+
+		while (index < end && '.' == characterAt(characters, bytes, index))
+		{
+			++index;
+		}
+
+		return index;
+	}
+
+
+	/**
+	 * Accepts exactly the strings that {@link SemanticVersion#from(String)}
+	 * accepts, including those with trailing empty fields or identifiers,
+	 * which it ignores.
+	 */
+	private static boolean isValid(
+		/* @Nullable */ final CharSequence characters,
+		/* @Nullable */ final byte[] bytes,
+		final int start,
+		final int end)
+	{
+		int index = start;
+
+		for (int field = 0; ; ++field)
+		{
+			final int fieldStart = index;
+			long value = 0;
+			char character;
+
+			while (
+				index < end
+				&& '.' != (character = characterAt(characters, bytes, index))
+				&& '-' != character
+				&& '+' != character)
+			{
+				if (!isDigit(character) || VERSION_NUMBER_COUNT <= field)
+				{
+					return false;
+				}
+
+				value = value * 10 + (character - '0');
+
+				if (Integer.MAX_VALUE < value)
+				{
+					return false;
+				}
+
+				++index;
+			}
+
+			if (
+				VERSION_NUMBER_COUNT > field
+				&& (fieldStart == index || (1 < index - fieldStart && '0' == characterAt(characters, bytes, fieldStart))))
+			{
+				return false;
+			}
+
+			if (index < end && '.' == characterAt(characters, bytes, index))
+			{
+				++index;
+			}
+			else if (VERSION_NUMBER_COUNT - 1 > field)
+			{
+				return false;
+			}
+			else
+			{
+				break;
+			}
+		}
+
+		if (index < end && '-' == characterAt(characters, bytes, index))
+		{
+			index = endOfIdentifiers(characters, bytes, index + 1, end, true);
+		}
+
+		// Anything left over starts with the build metadata delimiter.
+		if (-1 != index && index < end)
+		{
+			index = endOfIdentifiers(characters, bytes, index + 1, end, false);
+		}
+
+		return -1 != index;
+	}
+
+
+	/**
+	 * @return Returns the index at which the list of identifiers ends, or -1
+	 *         if it is invalid.
+	 */
+	private static int endOfIdentifiers(
+		/* @Nullable */ final CharSequence characters,
+		/* @Nullable */ final byte[] bytes,
+		final int start,
+		final int end,
+		final boolean preRelease)
+	{
+		boolean empty = false;
+		int index = start;
+
+		while (true)
+		{
+			final int identifierStart = index;
+			boolean numerical = true;
+			char character;
+
+			while (
+				index < end
+				&& '.' != (character = characterAt(characters, bytes, index))
+				&& !(preRelease && '+' == character))
+			{
+				if (!isIdentifierCharacter(character))
+				{
+					return -1;
+				}
+
+				numerical &= isDigit(character);
+				++index;
+			}
+
+			if (identifierStart == index)
+			{
+				empty = true;
+			}
+			else if (
+				empty
+				|| (preRelease
+					&& numerical
+					&& 1 < index - identifierStart
+					&& '0' == characterAt(characters, bytes, identifierStart)))
+			{
+				return -1;
+			}
+
+			if (index < end && '.' == characterAt(characters, bytes, index))
+			{
+				++index;
+			}
+			else
+			{
+				break;
+			}
+		}
+
+		// An empty list is a single empty identifier.
+		return start == index ? -1 : index;
+	}
+
+
+	private static boolean isDigit(
+		final char character)
+	{
+		return '0' <= character && '9' >= character;
+	}
+
+
+	/**
+	 * @return Returns true if the character is one of [0-9A-Za-z-], as per
+	 *         https://semver.org/#spec-item-9.
+	 */
+	private static boolean isIdentifierCharacter(
+		final char character)
+	{
+		return
+			isDigit(character)
+			|| ('A' <= character && 'Z' >= character)
+			|| ('a' <= character && 'z' >= character)
+			|| '-' == character;
+	}
+
+
+	private static void checkRange(
+		/* @Nonnull */ final byte[] bytes,
+		final int offset,
+		final int length)
+	{
+		if (0 > offset || 0 > length || bytes.length - length < offset)
+		{
+			throw new IndexOutOfBoundsException(offset + ", " + length);
+		}
+	}
+
+
+	/**
+	 * @return Returns the exception that {@link SemanticVersion#from(String)}
+	 *         throws for the invalid string.
+	 */
+	/* @Nonnull */
+	private static SemanticVersion.SemanticVersionException invalid(
+		/* @Nonnull */ final CharSequence characters)
+	{
+		final SemanticVersion.ParseResult result = SemanticVersion.tryParse(characters);
+
+		return result.getError().exception(characters.toString(), result.getErrorOffset());
+	}
+}
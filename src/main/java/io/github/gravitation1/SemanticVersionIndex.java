@@ -0,0 +1,442 @@
+package io.github.gravitation1;
+
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * An immutable, sorted set of semantic versions that answers floor, ceiling,
+ * range and satisfying queries by binary search.
+ *
+ * The major, minor and patch version numbers are kept in primitive columns,
+ * so a search only touches a few ints per step. The versions themselves
+ * serve as the side table for pre-release data and build metadata, and are
+ * only looked at when the version numbers tie.
+ *
+ * Versions that differ only in build metadata have the same precedence; they
+ * are all kept, ordered by their string form.
+ */
+public final class SemanticVersionIndex
+{
+	private final SemanticVersion[] semanticVersions;
+	private final int[] majors;
+	private final int[] minors;
+	private final int[] patches;
+	private final int latestStableIndex;
+
+
+	public SemanticVersionIndex(
+		/* @Nonnull */ final Collection<SemanticVersion> semanticVersions)
+	{
+		this(sortDistinct(semanticVersions));
+	}
+
+
+	/**
+	 * @param semanticVersions Distinct versions, in the order of the index.
+	 */
+	private SemanticVersionIndex(
+		/* @Nonnull */ final SemanticVersion[] semanticVersions)
+	{
+		final int size = semanticVersions.length;
+		this.semanticVersions = semanticVersions;
+		this.majors = new int[size];
+		this.minors = new int[size];
+		this.patches = new int[size];
+		int latestStableIndex = -1;
+
+		for (int i = 0; i < size; ++i)
+		{
+			this.majors[i] = this.semanticVersions[i].getMajor();
+			this.minors[i] = this.semanticVersions[i].getMinor();
+			this.patches[i] = this.semanticVersions[i].getPatch();
+
+			if (!this.semanticVersions[i].hasPreReleaseData())
+			{
+				latestStableIndex = i;
+			}
+		}
+
+		this.latestStableIndex = latestStableIndex;
+	}
+
+
+	public int size()
+	{
+		return this.semanticVersions.length;
+	}
+
+
+	/**
+	 * @return Returns the version at the given position, in order of
+	 *         precedence.
+	 */
+	/* @Nonnull */
+	public SemanticVersion get(
+		final int index)
+	{
+		return this.semanticVersions[index];
+	}
+
+
+	/**
+	 * @return Returns all versions in order of precedence.
+	 */
+	/* @Nonnull */
+	public List<SemanticVersion> getSemanticVersions()
+	{
+		return Collections.unmodifiableList(Arrays.asList(this.semanticVersions));
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence, or null if the index
+	 *         is empty.
+	 */
+	/* @Nullable */
+	public SemanticVersion latest()
+	{
+		return this.getOrNull(this.semanticVersions.length - 1);
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence without pre-release
+	 *         data, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion latestStable()
+	{
+		return this.getOrNull(this.latestStableIndex);
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence that is lower than or
+	 *         equal to the given version, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion floor(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		return this.getOrNull(this.countBelow(semanticVersion, true) - 1);
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence that is lower than the
+	 *         given version, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion lower(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		return this.getOrNull(this.countBelow(semanticVersion, false) - 1);
+	}
+
+
+	/**
+	 * @return Returns the version of lowest precedence that is higher than or
+	 *         equal to the given version, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion ceiling(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		return this.getOrNull(this.countBelow(semanticVersion, false));
+	}
+
+
+	/**
+	 * @return Returns the version of lowest precedence that is higher than the
+	 *         given version, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion higher(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		return this.getOrNull(this.countBelow(semanticVersion, true));
+	}
+
+
+	/**
+	 * @return Returns the versions between the given bounds, in order of
+	 *         precedence.
+	 */
+	/* @Nonnull */
+	public List<SemanticVersion> range(
+		/* @Nonnull */ final SemanticVersion from,
+		final boolean fromInclusive,
+		/* @Nonnull */ final SemanticVersion to,
+		final boolean toInclusive)
+	{
+		final int start = this.countBelow(from, !fromInclusive);
+		final int end = this.countBelow(to, toInclusive);
+
+		return start < end ? this.getSemanticVersions().subList(start, end) : Collections.emptyList();
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence that satisfies the
+	 *         range, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion maxSatisfying(
+		/* @Nonnull */ final SemanticVersionRange range)
+	{
+		return this.getOrNull(this.maxSatisfyingIndex(range));
+	}
+
+
+	/**
+	 * @return Returns the version of lowest precedence that satisfies the
+	 *         range, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion minSatisfying(
+		/* @Nonnull */ final SemanticVersionRange range)
+	{
+		int min = this.semanticVersions.length;
+
+		for (final SemanticVersionRange.Interval interval : range.getIntervals())
+		{
+			final SemanticVersion lower = interval.getLower();
+
+			for (
+				int i = null == lower ? 0 : this.countBelow(lower, !interval.isLowerInclusive());
+				i < min && interval.isBelowUpper(this.semanticVersions[i]);
+				++i)
+			{
+				if (this.isAllowed(interval, i))
+				{
+					min = i;
+					break;
+				}
+			}
+		}
+
+		return this.getOrNull(min);
+	}
+
+
+	/**
+	 * @return Returns the position of the version of highest precedence that
+	 *         satisfies the range, or -1 if there is none.
+	 */
+	int maxSatisfyingIndex(
+		/* @Nonnull */ final SemanticVersionRange range)
+	{
+		int max = -1;
+
+		for (final SemanticVersionRange.Interval interval : range.getIntervals())
+		{
+			max = this.maxSatisfyingIndex(interval, this.countBelowUpper(interval), max);
+		}
+
+		return max;
+	}
+
+
+	/**
+	 * @param end The number of versions below the upper bound of the
+	 *        interval.
+	 * @param floor The position to stop searching at.
+	 * @return Returns the position of the version of highest precedence that
+	 *         satisfies the interval, if it is above the floor, or else the
+	 *         floor.
+	 */
+	int maxSatisfyingIndex(
+		/* @Nonnull */ final SemanticVersionRange.Interval interval,
+		final int end,
+		final int floor)
+	{
+		for (int i = end - 1; i > floor && interval.isAboveLower(this.semanticVersions[i]); --i)
+		{
+			if (this.isAllowed(interval, i))
+			{
+				return i;
+			}
+		}
+
+		return floor;
+	}
+
+
+	/**
+	 * Sets the bits at the positions of the versions that satisfy the range.
+	 */
+	void setSatisfyingIndexes(
+		/* @Nonnull */ final SemanticVersionRange range,
+		/* @Nonnull */ final BitSet indexes)
+	{
+		for (final SemanticVersionRange.Interval interval : range.getIntervals())
+		{
+			final SemanticVersion lower = interval.getLower();
+			final int end = this.countBelowUpper(interval);
+
+			for (int i = null == lower ? 0 : this.countBelow(lower, !interval.isLowerInclusive()); i < end; ++i)
+			{
+				if (this.isAllowed(interval, i))
+				{
+					indexes.set(i);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * @return Returns the number of versions below the upper bound of the
+	 *         interval.
+	 */
+	int countBelowUpper(
+		/* @Nonnull */ final SemanticVersionRange.Interval interval)
+	{
+		final SemanticVersion upper = interval.getUpper();
+
+		return null == upper ? this.semanticVersions.length : this.countBelow(upper, interval.isUpperInclusive());
+	}
+
+
+	/**
+	 * @param inclusive Whether to count versions equal to the given version
+	 *        too.
+	 * @return Returns the number of versions lower than the given version,
+	 *         which is also the position of the first version that is not.
+	 */
+	int countBelow(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		final boolean inclusive)
+	{
+		final int major = semanticVersion.getMajor();
+		final int minor = semanticVersion.getMinor();
+		final int patch = semanticVersion.getPatch();
+		int low = 0;
+		int high = this.semanticVersions.length;
+
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+			int comparison = Integer.compare(this.majors[middle], major);
+
+			if (0 == comparison)
+			{
+				comparison = Integer.compare(this.minors[middle], minor);
+
+				if (0 == comparison)
+				{
+					comparison = Integer.compare(this.patches[middle], patch);
+
+					if (0 == comparison)
+					{
+						comparison = this.semanticVersions[middle].compareTo(semanticVersion);
+					}
+				}
+			}
+
+			if (0 > comparison || (0 == comparison && inclusive))
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+
+	/**
+	 * @return Returns true if the version at the given position, which is
+	 *         known to be within the bounds of the interval, is not excluded
+	 *         for being a pre-release.
+	 */
+	private boolean isAllowed(
+		/* @Nonnull */ final SemanticVersionRange.Interval interval,
+		final int index)
+	{
+		return
+			!this.semanticVersions[index].hasPreReleaseData()
+			|| interval.allowsPreReleaseOf(this.semanticVersions[index]);
+	}
+
+
+	/**
+	 * @return Returns an index with the given version as well, or this index
+	 *         if it already has the version.
+	 */
+	/* @Nonnull */
+	SemanticVersionIndex withSemanticVersion(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final String string = semanticVersion.toString();
+		int position = this.countBelow(semanticVersion, false);
+
+		// Versions of the same precedence are ordered by their string form.
+		while (
+			position < this.semanticVersions.length
+			&& 0 == this.semanticVersions[position].compareTo(semanticVersion))
+		{
+			final int comparison = this.semanticVersions[position].toString().compareTo(string);
+
+			if (0 == comparison)
+			{
+				return this;
+			}
+			else if (0 < comparison)
+			{
+				break;
+			}
+
+			++position;
+		}
+
+		final SemanticVersion[] semanticVersions = new SemanticVersion[this.semanticVersions.length + 1];
+		System.arraycopy(this.semanticVersions, 0, semanticVersions, 0, position);
+		semanticVersions[position] = semanticVersion;
+		System.arraycopy(
+			this.semanticVersions,
+			position,
+			semanticVersions,
+			position + 1,
+			this.semanticVersions.length - position);
+		return new SemanticVersionIndex(semanticVersions);
+	}
+
+
+	/* @Nonnull */
+	private static SemanticVersion[] sortDistinct(
+		/* @Nonnull */ final Collection<SemanticVersion> semanticVersions)
+	{
+		final SemanticVersion[] sorted = semanticVersions.toArray(new SemanticVersion[0]);
+		Arrays.sort(sorted, SemanticVersion.PRECEDENCE_ORDER.thenComparing(Object::toString));
+
+		// Equal versions are next to each other after sorting.
+		int size = 0;
+
+		for (final SemanticVersion semanticVersion : sorted)
+		{
+			if (0 == size || !sorted[size - 1].equals(semanticVersion))
+			{
+				sorted[size++] = semanticVersion;
+			}
+		}
+
+		return Arrays.copyOf(sorted, size);
+	}
+
+
+	/* @Nullable */
+	private SemanticVersion getOrNull(
+		final int index)
+	{
+		return 0 <= index && index < this.semanticVersions.length ? this.semanticVersions[index] : null;
+	}
+}
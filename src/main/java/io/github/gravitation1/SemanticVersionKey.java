@@ -0,0 +1,404 @@
+package io.github.gravitation1;
+
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Encodes versions into keys whose unsigned lexicographic byte order is
+ * the precedence order of the versions, so that sorted stores can scan
+ * ranges of versions without decoding them.
+ *
+ * A key starts with the major, minor and patch version numbers, each as
+ * four bytes, most significant first. A release then has the byte 3. A
+ * version with pre-release data has its identifiers, each starting with a
+ * tag, followed by the byte 0:
+ *
+ * 1: a number, as the count of its digits followed by the digits. Counts
+ *    from 255 on are written as 255 followed by four bytes.
+ * 2: text, as its characters followed by the byte 0.
+ *
+ * Since numbers never have leading zeros, more digits mean a larger
+ * number. The byte 0 ending a list is less than any tag, so a shorter list
+ * of otherwise equal identifiers comes first, and every tag is less than 3,
+ * so pre-release versions come before their release.
+ *
+ * Build metadata, if any, follows as written, including its '+'. Since it
+ * does not take part in precedence, the keys of versions that differ only
+ * in build metadata all start with the key of the version without it, as
+ * returned by {@link #encodePrecedence(SemanticVersion)}.
+ */
+public final class SemanticVersionKey
+{
+	private static final int END;
+	private static final int NUMBER_TAG;
+	private static final int TEXT_TAG;
+	private static final int RELEASE;
+	private static final int LONG_LENGTH;
+	private static final int CORE_LENGTH;
+
+
+	static
+	{
+		END = 0;
+		NUMBER_TAG = 1;
+		TEXT_TAG = 2;
+		RELEASE = 3;
+		LONG_LENGTH = 0xFF;
+		CORE_LENGTH = 3 * Integer.BYTES;
+	}
+
+
+	private SemanticVersionKey()
+	{
+	}
+
+
+	/**
+	 * @return Returns the key of a version, including its build metadata.
+	 */
+	/* @Nonnull */
+	public static byte[] encode(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(encodedLength(semanticVersion, true));
+		encode(semanticVersion, true, byteBuffer);
+
+		return byteBuffer.array();
+	}
+
+
+	/**
+	 * @return Returns the key of a version without its build metadata, which
+	 *         is the start of the key of every version of the same
+	 *         precedence.
+	 */
+	/* @Nonnull */
+	public static byte[] encodePrecedence(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(encodedLength(semanticVersion, false));
+		encode(semanticVersion, false, byteBuffer);
+
+		return byteBuffer.array();
+	}
+
+
+	/**
+	 * Writes the key of a version, including its build metadata, at the
+	 * position of the buffer.
+	 *
+	 * @throws java.nio.BufferOverflowException Thrown if there is not
+	 *         enough room in the buffer, as given by
+	 *         {@link #encodedLength(SemanticVersion)}.
+	 */
+	public static void encode(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		/* @Nonnull */ final ByteBuffer byteBuffer)
+	{
+		encode(semanticVersion, true, byteBuffer);
+	}
+
+
+	/**
+	 * @return Returns the length of the key of a version, including its
+	 *         build metadata.
+	 */
+	public static int encodedLength(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		return encodedLength(semanticVersion, true);
+	}
+
+
+	/**
+	 * @return Returns the version whose key this is.
+	 * @throws IllegalArgumentException Thrown if this is not a valid key.
+	 */
+	/* @Nonnull */
+	public static SemanticVersion decode(
+		/* @Nonnull */ final byte[] key)
+	{
+		try
+		{
+			return SemanticVersion.from(toSemanticVersionString(key));
+		}
+		catch (final IndexOutOfBoundsException | BufferUnderflowException e)
+		{
+			throw new IllegalArgumentException("Key too short", e);
+		}
+		catch (final SemanticVersion.SemanticVersionException e)
+		{
+			throw new IllegalArgumentException("Invalid key", e);
+		}
+	}
+
+
+	/* @Nonnull */
+	private static StringBuilder toSemanticVersionString(
+		/* @Nonnull */ final byte[] key)
+	{
+		final ByteBuffer byteBuffer = ByteBuffer.wrap(key);
+		final StringBuilder stringBuilder =
+			new StringBuilder(key.length + 2)
+				.append(byteBuffer.getInt())
+				.append('.')
+				.append(byteBuffer.getInt())
+				.append('.')
+				.append(byteBuffer.getInt());
+		int offset = CORE_LENGTH;
+
+		if (RELEASE == key[offset])
+		{
+			++offset;
+		}
+		else
+		{
+			char separator = '-';
+
+			for (int tag = key[offset++]; END != tag; tag = key[offset++])
+			{
+				stringBuilder.append(separator);
+				separator = '.';
+
+				if (NUMBER_TAG == tag)
+				{
+					int length = key[offset++] & 0xFF;
+
+					if (LONG_LENGTH == length)
+					{
+						length = byteBuffer.getInt(offset);
+						offset += Integer.BYTES;
+
+						if (0 > length)
+						{
+							throw new IllegalArgumentException("Negative identifier length at offset " + offset);
+						}
+					}
+
+					offset = appendCharacters(stringBuilder, key, offset, offset + length);
+				}
+				else if (TEXT_TAG == tag)
+				{
+					int end = offset;
+
+					while (END != key[end])
+					{
+						++end;
+					}
+
+					offset = appendCharacters(stringBuilder, key, offset, end) + 1;
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown identifier tag " + tag + " at offset " + (offset - 1));
+				}
+			}
+		}
+
+		appendCharacters(stringBuilder, key, offset, key.length);
+
+		return stringBuilder;
+	}
+
+
+	/**
+	 * Compares keys in unsigned lexicographic byte order, the order that
+	 * sorted stores keep them in.
+	 */
+	public static int compare(
+		/* @Nonnull */ final byte[] key,
+		/* @Nonnull */ final byte[] otherKey)
+	{
+		final int length = Math.min(key.length, otherKey.length);
+
+		for (int i = 0; i < length; ++i)
+		{
+			if (key[i] != otherKey[i])
+			{
+				return Integer.compare(key[i] & 0xFF, otherKey[i] & 0xFF);
+			}
+		}
+
+		return Integer.compare(key.length, otherKey.length);
+	}
+
+
+	private static void encode(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		final boolean withBuildMetadata,
+		/* @Nonnull */ final ByteBuffer byteBuffer)
+	{
+		putInt(byteBuffer, semanticVersion.getMajor());
+		putInt(byteBuffer, semanticVersion.getMinor());
+		putInt(byteBuffer, semanticVersion.getPatch());
+
+		final String suffix = semanticVersion.getSuffix();
+
+		if (null == suffix)
+		{
+			byteBuffer.put((byte) RELEASE);
+			return;
+		}
+
+		final int buildMetadataOffset = semanticVersion.getBuildMetadataOffset();
+
+		if (0 == buildMetadataOffset)
+		{
+			byteBuffer.put((byte) RELEASE);
+		}
+		else
+		{
+			for (int identifierStart = 1; identifierStart < buildMetadataOffset; )
+			{
+				final int identifierEnd = endOfIdentifier(suffix, identifierStart, buildMetadataOffset);
+				final int length = identifierEnd - identifierStart;
+
+				if (isNumerical(suffix, identifierStart, identifierEnd))
+				{
+					byteBuffer.put((byte) NUMBER_TAG);
+
+					if (LONG_LENGTH > length)
+					{
+						byteBuffer.put((byte) length);
+					}
+					else
+					{
+						byteBuffer.put((byte) LONG_LENGTH);
+						putInt(byteBuffer, length);
+					}
+
+					putCharacters(byteBuffer, suffix, identifierStart, identifierEnd);
+				}
+				else
+				{
+					byteBuffer.put((byte) TEXT_TAG);
+					putCharacters(byteBuffer, suffix, identifierStart, identifierEnd);
+					byteBuffer.put((byte) END);
+				}
+
+				identifierStart = identifierEnd + 1;
+			}
+
+			byteBuffer.put((byte) END);
+		}
+
+		if (withBuildMetadata)
+		{
+			putCharacters(byteBuffer, suffix, buildMetadataOffset, suffix.length());
+		}
+	}
+
+
+	private static int encodedLength(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		final boolean withBuildMetadata)
+	{
+		final String suffix = semanticVersion.getSuffix();
+
+		if (null == suffix)
+		{
+			return CORE_LENGTH + 1;
+		}
+
+		final int buildMetadataOffset = semanticVersion.getBuildMetadataOffset();
+		int length = CORE_LENGTH + 1;
+
+		for (int identifierStart = 1; identifierStart < buildMetadataOffset; )
+		{
+			final int identifierEnd = endOfIdentifier(suffix, identifierStart, buildMetadataOffset);
+			final int identifierLength = identifierEnd - identifierStart;
+
+			if (isNumerical(suffix, identifierStart, identifierEnd))
+			{
+				length += (LONG_LENGTH > identifierLength ? 2 : 2 + Integer.BYTES) + identifierLength;
+			}
+			else
+			{
+				length += 2 + identifierLength;
+			}
+
+			identifierStart = identifierEnd + 1;
+		}
+
+		return withBuildMetadata ? length + suffix.length() - buildMetadataOffset : length;
+	}
+
+
+	private static int endOfIdentifier(
+		/* @Nonnull */ final String suffix,
+		final int start,
+		final int end)
+	{
+		final int separator = suffix.indexOf('.', start);
+
+		return -1 == separator || end < separator ? end : separator;
+	}
+
+
+	private static boolean isNumerical(
+		/* @Nonnull */ final String suffix,
+		final int start,
+		final int end)
+	{
+		for (int i = start; i < end; ++i)
+		{
+			final char character = suffix.charAt(i);
+
+			if ('0' > character || '9' < character)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+
+	/**
+	 * Puts the most significant byte first, whatever the byte order of the
+	 * buffer.
+	 */
+	private static void putInt(
+		/* @Nonnull */ final ByteBuffer byteBuffer,
+		final int value)
+	{
+		byteBuffer
+			.put((byte) (value >>> 24))
+			.put((byte) (value >>> 16))
+			.put((byte) (value >>> 8))
+			.put((byte) value);
+	}
+
+
+	private static void putCharacters(
+		/* @Nonnull */ final ByteBuffer byteBuffer,
+		/* @Nonnull */ final String suffix,
+		final int start,
+		final int end)
+	{
+		for (int i = start; i < end; ++i)
+		{
+			byteBuffer.put((byte) suffix.charAt(i));
+		}
+	}
+
+
+	/**
+	 * @return Returns the end offset.
+	 */
+	private static int appendCharacters(
+		/* @Nonnull */ final StringBuilder stringBuilder,
+		/* @Nonnull */ final byte[] key,
+		final int start,
+		final int end)
+	{
+		for (int i = start; i < end; ++i)
+		{
+			stringBuilder.append((char) (key[i] & 0xFF));
+		}
+
+		return end;
+	}
+}
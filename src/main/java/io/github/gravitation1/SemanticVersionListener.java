@@ -0,0 +1,53 @@
+package io.github.gravitation1;
+
+
+/**
+ * Is told about the work done by {@link SemanticVersion} and
+ * {@link SemanticVersionCache}, once set with
+ * {@link SemanticVersion#setListener(SemanticVersionListener)}.
+ *
+ * Listeners are called on the parsing thread, from any number of threads
+ * at once, so they must be thread-safe and should return quickly. Every
+ * method does nothing by default.
+ */
+public interface SemanticVersionListener
+{
+	/**
+	 * Called after a string was parsed into a version, by any of the from,
+	 * tryParse or parseOrNull methods.
+	 */
+	default void parsed(
+		final long durationNanos)
+	{
+	}
+
+
+	/**
+	 * Called after a string failed to parse, with the first problem found.
+	 */
+	default void parseFailed(
+		/* @Nonnull */ final SemanticVersion.ParseError error,
+		final long durationNanos)
+	{
+	}
+
+
+	/**
+	 * Called when a version number or identifier passed to a constructor or
+	 * factory method is invalid, just before the exception is thrown.
+	 */
+	default void validationFailed(
+		/* @Nonnull */ final SemanticVersion.ParseError error)
+	{
+	}
+
+
+	default void cacheHit()
+	{
+	}
+
+
+	default void cacheMiss()
+	{
+	}
+}
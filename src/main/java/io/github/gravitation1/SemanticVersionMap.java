@@ -0,0 +1,177 @@
+package io.github.gravitation1;
+
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+
+/**
+ * A map from semantic versions to values that stores releases without
+ * build metadata as packed longs in an open-addressing table, next to an
+ * array of their values, so that they are found without hashing or
+ * comparing strings and without an entry object each. Other versions are
+ * kept in a HashMap on the side.
+ *
+ * Keys are told apart by equality, not precedence. Iteration returns equal,
+ * not identical, instances of the packed releases. Null values are
+ * allowed. This class is not thread-safe.
+ *
+ * @param <V> The type of the values.
+ */
+public final class SemanticVersionMap<V>
+{
+	private final PackedReleaseTable packedReleases;
+	private final Map<SemanticVersion, V> others;
+
+
+	public SemanticVersionMap()
+	{
+		this(0);
+	}
+
+
+	/**
+	 * @param expectedSize The number of releases to make room for up front.
+	 */
+	public SemanticVersionMap(
+		final int expectedSize)
+	{
+		this.packedReleases = new PackedReleaseTable(expectedSize, true);
+		this.others = new HashMap<>();
+	}
+
+
+	/**
+	 * @return Returns the previous value of the version, or null if there
+	 *         was none.
+	 */
+	/* @Nullable */
+	public V put(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		/* @Nullable */ final V value)
+	{
+		final long packedRelease = semanticVersion.getPackedRelease();
+
+		if (0 == packedRelease)
+		{
+			return this.others.put(semanticVersion, value);
+		}
+
+		final int slot = this.packedReleases.insert(packedRelease);
+		final V previous = this.valueAt(slot);
+		this.packedReleases.setValueAt(slot, value);
+		return previous;
+	}
+
+
+	/**
+	 * @return Returns the value of the version, or null if there is none.
+	 */
+	/* @Nullable */
+	public V get(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		return this.getOrDefault(semanticVersion, null);
+	}
+
+
+	/**
+	 * @return Returns the value of the version, or the default value if the
+	 *         version is not in the map.
+	 */
+	/* @Nullable */
+	public V getOrDefault(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		/* @Nullable */ final V defaultValue)
+	{
+		final long packedRelease = semanticVersion.getPackedRelease();
+
+		if (0 == packedRelease)
+		{
+			return this.others.getOrDefault(semanticVersion, defaultValue);
+		}
+
+		final int slot = this.packedReleases.find(packedRelease);
+		return -1 == slot ? defaultValue : this.valueAt(slot);
+	}
+
+
+	public boolean containsKey(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final long packedRelease = semanticVersion.getPackedRelease();
+
+		return
+			0 == packedRelease
+				? this.others.containsKey(semanticVersion)
+				: -1 != this.packedReleases.find(packedRelease);
+	}
+
+
+	/**
+	 * @return Returns the value of the removed version, or null if there was
+	 *         none.
+	 */
+	/* @Nullable */
+	@SuppressWarnings("unchecked")
+	public V remove(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final long packedRelease = semanticVersion.getPackedRelease();
+
+		return
+			0 == packedRelease
+				? this.others.remove(semanticVersion)
+				: (V) this.packedReleases.remove(packedRelease);
+	}
+
+
+	public int size()
+	{
+		return this.packedReleases.size() + this.others.size();
+	}
+
+
+	public boolean isEmpty()
+	{
+		return 0 == this.size();
+	}
+
+
+	public void clear()
+	{
+		this.packedReleases.clear();
+		this.others.clear();
+	}
+
+
+	/**
+	 * Calls the action for every version and its value, in no particular
+	 * order.
+	 */
+	public void forEach(
+		/* @Nonnull */ final BiConsumer<? super SemanticVersion, ? super V> action)
+	{
+		for (int slot = 0; slot < this.packedReleases.capacity(); ++slot)
+		{
+			final long packedRelease = this.packedReleases.packedReleaseAt(slot);
+
+			if (0 != packedRelease)
+			{
+				action.accept(SemanticVersion.fromPackedRelease(packedRelease), this.valueAt(slot));
+			}
+		}
+
+		this.others.forEach(action);
+	}
+
+
+	@SuppressWarnings("unchecked")
+	/* @Nullable */
+	private V valueAt(
+		final int slot)
+	{
+		return (V) this.packedReleases.valueAt(slot);
+	}
+}
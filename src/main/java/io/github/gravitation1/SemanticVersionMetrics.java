@@ -0,0 +1,207 @@
+package io.github.gravitation1;
+
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A listener that counts what it is told, without locking, for exporting
+ * to a metrics system.
+ *
+ * Parse durations are kept in a histogram with a bucket per power of two:
+ * bucket i counts durations of at least 2^i nanoseconds and less than
+ * 2^(i + 1), and bucket 0 also counts durations of 0.
+ */
+public final class SemanticVersionMetrics implements SemanticVersionListener
+{
+	private static final int HISTOGRAM_BUCKETS;
+
+	/* @Nonnull */ private final LongAdder parseCount;
+	/* @Nonnull */ private final LongAdder[] parseFailureCounts;
+	/* @Nonnull */ private final LongAdder[] validationFailureCounts;
+	/* @Nonnull */ private final LongAdder cacheHitCount;
+	/* @Nonnull */ private final LongAdder cacheMissCount;
+	/* @Nonnull */ private final LongAdder[] parseDurationHistogram;
+
+
+	static
+	{
+		HISTOGRAM_BUCKETS = Long.SIZE - 1;
+	}
+
+
+	public SemanticVersionMetrics()
+	{
+		this.parseCount = new LongAdder();
+		this.parseFailureCounts = newCounters(SemanticVersion.ParseError.values().length);
+		this.validationFailureCounts = newCounters(SemanticVersion.ParseError.values().length);
+		this.cacheHitCount = new LongAdder();
+		this.cacheMissCount = new LongAdder();
+		this.parseDurationHistogram = newCounters(HISTOGRAM_BUCKETS);
+	}
+
+
+	@Override
+	public void parsed(
+		final long durationNanos)
+	{
+		this.parseCount.increment();
+		this.recordParseDuration(durationNanos);
+	}
+
+
+	@Override
+	public void parseFailed(
+		/* @Nonnull */ final SemanticVersion.ParseError error,
+		final long durationNanos)
+	{
+		this.parseCount.increment();
+		this.parseFailureCounts[error.ordinal()].increment();
+		this.recordParseDuration(durationNanos);
+	}
+
+
+	@Override
+	public void validationFailed(
+		/* @Nonnull */ final SemanticVersion.ParseError error)
+	{
+		this.validationFailureCounts[error.ordinal()].increment();
+	}
+
+
+	@Override
+	public void cacheHit()
+	{
+		this.cacheHitCount.increment();
+	}
+
+
+	@Override
+	public void cacheMiss()
+	{
+		this.cacheMissCount.increment();
+	}
+
+
+	/**
+	 * @return Returns the number of strings parsed, whether they were valid
+	 *         or not.
+	 */
+	public long getParseCount()
+	{
+		return this.parseCount.sum();
+	}
+
+
+	public long getParseFailureCount()
+	{
+		return sum(this.parseFailureCounts);
+	}
+
+
+	public long getParseFailureCount(
+		/* @Nonnull */ final SemanticVersion.ParseError error)
+	{
+		return this.parseFailureCounts[error.ordinal()].sum();
+	}
+
+
+	public long getValidationFailureCount(
+		/* @Nonnull */ final SemanticVersion.ParseError error)
+	{
+		return this.validationFailureCounts[error.ordinal()].sum();
+	}
+
+
+	public long getCacheHitCount()
+	{
+		return this.cacheHitCount.sum();
+	}
+
+
+	public long getCacheMissCount()
+	{
+		return this.cacheMissCount.sum();
+	}
+
+
+	/**
+	 * @return Returns the counts of the parse duration histogram, as
+	 *         described above.
+	 */
+	/* @Nonnull */
+	public long[] getParseDurationHistogram()
+	{
+		final long[] counts = new long[HISTOGRAM_BUCKETS];
+
+		for (int i = 0; i < HISTOGRAM_BUCKETS; ++i)
+		{
+			counts[i] = this.parseDurationHistogram[i].sum();
+		}
+
+		return counts;
+	}
+
+
+	/**
+	 * Sets every count back to 0. Counts recorded at the same time may or may
+	 * not be kept.
+	 */
+	public void reset()
+	{
+		this.parseCount.reset();
+		reset(this.parseFailureCounts);
+		reset(this.validationFailureCounts);
+		this.cacheHitCount.reset();
+		this.cacheMissCount.reset();
+		reset(this.parseDurationHistogram);
+	}
+
+
+	private void recordParseDuration(
+		final long durationNanos)
+	{
+		// Durations below 1 are clock noise, and go into the first bucket.
+		final int bucket = Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(1, durationNanos));
+		this.parseDurationHistogram[bucket].increment();
+	}
+
+
+	/* @Nonnull */
+	private static LongAdder[] newCounters(
+		final int count)
+	{
+		final LongAdder[] counters = new LongAdder[count];
+
+		for (int i = 0; i < count; ++i)
+		{
+			counters[i] = new LongAdder();
+		}
+
+		return counters;
+	}
+
+
+	private static long sum(
+		/* @Nonnull */ final LongAdder[] counters)
+	{
+		long sum = 0;
+
+		for (final LongAdder counter : counters)
+		{
+			sum += counter.sum();
+		}
+
+		return sum;
+	}
+
+
+	private static void reset(
+		/* @Nonnull */ final LongAdder[] counters)
+	{
+		for (final LongAdder counter : counters)
+		{
+			counter.reset();
+		}
+	}
+}
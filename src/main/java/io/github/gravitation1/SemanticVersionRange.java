@@ -0,0 +1,785 @@
+package io.github.gravitation1;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A set of semantic versions, written the way npm writes version ranges,
+ * for example "^1.2.0", "~2.3", "&gt;=1.0.0 &lt;2.0.0-0", "1.2.3 - 2.3.4"
+ * or "1.x || 3.x". See https://github.com/npm/node-semver#ranges for the
+ * syntax.
+ *
+ * A range is parsed once into a list of intervals, one for each
+ * alternative separated by "||". Checking a version then takes at most two
+ * comparisons per interval, which are usually decided by precedence keys
+ * alone, and never allocates.
+ *
+ * As with npm, a version with pre-release data only satisfies an interval
+ * if one of the comparators that the interval was built from has
+ * pre-release data on the same major, minor and patch version numbers. So
+ * "&gt;=1.2.3-alpha.3" is satisfied by "1.2.3-alpha.7" but not by
+ * "3.4.5-alpha.9".
+ */
+public final class SemanticVersionRange
+{
+	private static final SemanticVersion NOTHING;
+	private static final int WILDCARD;
+
+	private final String range;
+	private final Interval[] intervals;
+
+
+	static
+	{
+		// No version has a lower precedence than 0.0.0-0.
+		NOTHING = new SemanticVersion(0, 0, 0, Collections.singletonList("0"), Collections.emptyList());
+		WILDCARD = -1;
+	}
+
+
+	private SemanticVersionRange(
+		/* @Nonnull */ final String range,
+		/* @Nonnull */ final Interval[] intervals)
+	{
+		this.range = range;
+		this.intervals = intervals;
+	}
+
+
+	/**
+	 * @throws IllegalRangeException Throws if the string is not a valid
+	 *         range.
+	 */
+	/* @Nonnull */
+	public static SemanticVersionRange from(
+		/* @Nonnull */ final String range)
+	{
+		final List<Interval> intervals = new ArrayList<>();
+		int start = 0;
+
+		while (true)
+		{
+			final int end = range.indexOf("||", start);
+			intervals.add(new IntervalParser(range, start, -1 == end ? range.length() : end).parse());
+
+			if (-1 == end)
+			{
+				break;
+			}
+
+			start = end + 2;
+		}
+
+		return new SemanticVersionRange(range.trim(), intervals.toArray(new Interval[0]));
+	}
+
+
+	public boolean isSatisfiedBy(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		for (final Interval interval : this.intervals)
+		{
+			if (interval.isSatisfiedBy(semanticVersion))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * @return Returns the version of highest precedence that satisfies this
+	 *         range, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion maxSatisfying(
+		/* @Nonnull */ final Iterable<SemanticVersion> semanticVersions)
+	{
+		SemanticVersion max = null;
+
+		for (final SemanticVersion semanticVersion : semanticVersions)
+		{
+			if ((null == max || 0 < semanticVersion.compareTo(max)) && this.isSatisfiedBy(semanticVersion))
+			{
+				max = semanticVersion;
+			}
+		}
+
+		return max;
+	}
+
+
+	/**
+	 * @return Returns the version of lowest precedence that satisfies this
+	 *         range, or null if there is none.
+	 */
+	/* @Nullable */
+	public SemanticVersion minSatisfying(
+		/* @Nonnull */ final Iterable<SemanticVersion> semanticVersions)
+	{
+		SemanticVersion min = null;
+
+		for (final SemanticVersion semanticVersion : semanticVersions)
+		{
+			if ((null == min || 0 > semanticVersion.compareTo(min)) && this.isSatisfiedBy(semanticVersion))
+			{
+				min = semanticVersion;
+			}
+		}
+
+		return min;
+	}
+
+
+	@Override
+	/* @Nonnull */
+	public String toString()
+	{
+		return this.range;
+	}
+
+
+	/* @Nonnull */
+	Interval[] getIntervals()
+	{
+		return this.intervals;
+	}
+
+
+	/**
+	 * The versions between two bounds, which is what the comparators of one
+	 * alternative of a range always boil down to. A missing bound means that
+	 * there is no limit in that direction.
+	 */
+	static final class Interval
+	{
+		/* @Nullable */ private final SemanticVersion lower;
+		private final boolean lowerInclusive;
+		/* @Nullable */ private final SemanticVersion upper;
+		private final boolean upperInclusive;
+
+		// The major, minor and patch version numbers of every comparator
+		// with pre-release data, three at a time.
+		private final int[] preReleaseVersionNumbers;
+
+
+		private Interval(
+			/* @Nullable */ final SemanticVersion lower,
+			final boolean lowerInclusive,
+			/* @Nullable */ final SemanticVersion upper,
+			final boolean upperInclusive,
+			/* @Nonnull */ final int[] preReleaseVersionNumbers)
+		{
+			this.lower = lower;
+			this.lowerInclusive = lowerInclusive;
+			this.upper = upper;
+			this.upperInclusive = upperInclusive;
+			this.preReleaseVersionNumbers = preReleaseVersionNumbers;
+		}
+
+
+		/* @Nullable */
+		SemanticVersion getLower()
+		{
+			return this.lower;
+		}
+
+
+		boolean isLowerInclusive()
+		{
+			return this.lowerInclusive;
+		}
+
+
+		/* @Nullable */
+		SemanticVersion getUpper()
+		{
+			return this.upper;
+		}
+
+
+		boolean isUpperInclusive()
+		{
+			return this.upperInclusive;
+		}
+
+
+		boolean isSatisfiedBy(
+			/* @Nonnull */ final SemanticVersion semanticVersion)
+		{
+			return
+				this.isAboveLower(semanticVersion)
+				&& this.isBelowUpper(semanticVersion)
+				&& (!semanticVersion.hasPreReleaseData() || this.allowsPreReleaseOf(semanticVersion));
+		}
+
+
+		boolean isAboveLower(
+			/* @Nonnull */ final SemanticVersion semanticVersion)
+		{
+			if (null == this.lower)
+			{
+				return true;
+			}
+
+			final int comparison = semanticVersion.compareTo(this.lower);
+
+			return 0 < comparison || (0 == comparison && this.lowerInclusive);
+		}
+
+
+		boolean isBelowUpper(
+			/* @Nonnull */ final SemanticVersion semanticVersion)
+		{
+			if (null == this.upper)
+			{
+				return true;
+			}
+
+			final int comparison = semanticVersion.compareTo(this.upper);
+
+			return 0 > comparison || (0 == comparison && this.upperInclusive);
+		}
+
+
+		boolean allowsPreReleaseOf(
+			/* @Nonnull */ final SemanticVersion semanticVersion)
+		{
+			for (int i = 0; i < this.preReleaseVersionNumbers.length; i += 3)
+			{
+				if (
+					this.preReleaseVersionNumbers[i] == semanticVersion.getMajor()
+					&& this.preReleaseVersionNumbers[i + 1] == semanticVersion.getMinor()
+					&& this.preReleaseVersionNumbers[i + 2] == semanticVersion.getPatch())
+				{
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+
+
+	/**
+	 * Parses one alternative of a range, applying each comparator to the
+	 * bounds of the interval as it goes.
+	 */
+	private static final class IntervalParser
+	{
+		private final String range;
+		private final int end;
+		private int index;
+		/* @Nullable */ private SemanticVersion lower;
+		private boolean lowerInclusive;
+		/* @Nullable */ private SemanticVersion upper;
+		private boolean upperInclusive;
+		private int[] preReleaseVersionNumbers;
+
+
+		private IntervalParser(
+			/* @Nonnull */ final String range,
+			final int start,
+			final int end)
+		{
+			this.range = range;
+			this.index = start;
+			this.end = end;
+			this.preReleaseVersionNumbers = new int[0];
+		}
+
+
+		/* @Nonnull */
+		private Interval parse()
+		{
+			final List<Partial> partials = new ArrayList<>();
+			final List<String> operators = new ArrayList<>();
+			int hyphen = -1;
+
+			while (this.skipWhitespace())
+			{
+				final int operatorStart = this.index;
+
+				while (this.index < this.end && 0 <= "<>=~^".indexOf(this.range.charAt(this.index)))
+				{
+					++this.index;
+				}
+
+				final String operator = this.range.substring(operatorStart, this.index);
+
+				if (!Arrays.asList("", "<", "<=", ">", ">=", "=", "~", "~>", "^").contains(operator))
+				{
+					throw new IllegalRangeException(this.range, operatorStart);
+				}
+
+				if (!operator.isEmpty() && !this.skipWhitespace())
+				{
+					throw new IllegalRangeException(this.range, this.index);
+				}
+
+				final int tokenStart = this.index;
+
+				while (this.index < this.end && !Character.isWhitespace(this.range.charAt(this.index)))
+				{
+					++this.index;
+				}
+
+				if (operator.isEmpty() && 1 == this.index - tokenStart && '-' == this.range.charAt(tokenStart))
+				{
+					// A hyphen range must be exactly "partial - partial".
+					if (1 != partials.size() || -1 != hyphen || !operators.get(0).isEmpty())
+					{
+						throw new IllegalRangeException(this.range, tokenStart);
+					}
+
+					hyphen = tokenStart;
+					continue;
+				}
+
+				operators.add(operator);
+				partials.add(this.parsePartial(tokenStart, this.index));
+			}
+
+			if (-1 != hyphen)
+			{
+				if (2 != partials.size() || !operators.get(1).isEmpty())
+				{
+					throw new IllegalRangeException(this.range, hyphen);
+				}
+
+				this.applyHyphen(partials.get(0), partials.get(1));
+			}
+			else
+			{
+				for (int i = 0; i < partials.size(); ++i)
+				{
+					this.apply(operators.get(i), partials.get(i));
+				}
+			}
+
+			return
+				new Interval(
+					this.lower,
+					this.lowerInclusive,
+					this.upper,
+					this.upperInclusive,
+					this.preReleaseVersionNumbers);
+		}
+
+
+		/**
+		 * @return Returns true if there is more to parse.
+		 */
+		private boolean skipWhitespace()
+		{
+			while (this.index < this.end && Character.isWhitespace(this.range.charAt(this.index)))
+			{
+				++this.index;
+			}
+
+			return this.index < this.end;
+		}
+
+
+		/**
+		 * Parses a version that may leave out the minor and patch version
+		 * numbers or replace them with "x", "X" or "*". Only complete
+		 * versions may have pre-release data or build metadata.
+		 */
+		/* @Nonnull */
+		private Partial parsePartial(
+			final int start,
+			final int end)
+		{
+			int index = start;
+
+			if (index < end && ('v' == this.range.charAt(index) || '=' == this.range.charAt(index)))
+			{
+				++index;
+			}
+
+			final int versionStart = index;
+			final int[] versionNumbers = { WILDCARD, WILDCARD, WILDCARD };
+
+			for (int i = 0; i < 3; ++i)
+			{
+				final int numberStart = index;
+
+				if (index < end && 0 <= "xX*".indexOf(this.range.charAt(index)))
+				{
+					++index;
+				}
+				else if (0 < i && WILDCARD == versionNumbers[i - 1])
+				{
+					throw new IllegalRangeException(this.range, index);
+				}
+				else
+				{
+					long value = 0;
+
+					while (index < end && '0' <= this.range.charAt(index) && '9' >= this.range.charAt(index))
+					{
+						value = value * 10 + (this.range.charAt(index++) - '0');
+
+						if (Integer.MAX_VALUE < value)
+						{
+							throw new IllegalRangeException(this.range, index - 1);
+						}
+					}
+
+					if (numberStart == index || (1 < index - numberStart && '0' == this.range.charAt(numberStart)))
+					{
+						throw new IllegalRangeException(this.range, numberStart);
+					}
+
+					versionNumbers[i] = (int) value;
+				}
+
+				if (index == end)
+				{
+					return
+						new Partial(
+							versionNumbers,
+							WILDCARD == versionNumbers[2]
+								? null
+								: new SemanticVersion(versionNumbers[0], versionNumbers[1], versionNumbers[2]));
+				}
+				else if (2 > i && '.' == this.range.charAt(index))
+				{
+					++index;
+				}
+				else
+				{
+					break;
+				}
+			}
+
+			if (WILDCARD == versionNumbers[2] || ('-' != this.range.charAt(index) && '+' != this.range.charAt(index)))
+			{
+				throw new IllegalRangeException(this.range, index);
+			}
+
+			final SemanticVersion.ParseResult parseResult =
+				SemanticVersion.tryParse(this.range.subSequence(versionStart, end));
+
+			if (!parseResult.isValid())
+			{
+				throw new IllegalRangeException(this.range, versionStart + parseResult.getErrorOffset());
+			}
+
+			return new Partial(versionNumbers, parseResult.getSemanticVersion());
+		}
+
+
+		private void apply(
+			/* @Nonnull */ final String operator,
+			/* @Nonnull */ final Partial partial)
+		{
+			final SemanticVersion lowest = partial.isComplete() ? partial.semanticVersion : partial.lowest(false);
+
+			switch (operator)
+			{
+				case "":
+				case "=":
+					this.restrictLower(lowest, true);
+
+					if (partial.isComplete())
+					{
+						this.restrictUpper(lowest, true);
+					}
+					else
+					{
+						this.restrictUpper(partial.nextAfterWildcard(true), false);
+					}
+					break;
+				case ">":
+					if (partial.isComplete())
+					{
+						this.restrictLower(lowest, false);
+					}
+					else if (WILDCARD == partial.major)
+					{
+						this.restrictUpper(NOTHING, false);
+					}
+					else
+					{
+						this.restrictLower(partial.nextAfterWildcard(false), true);
+					}
+					break;
+				case ">=":
+					this.restrictLower(lowest, true);
+					break;
+				case "<":
+					if (partial.isComplete())
+					{
+						this.restrictUpper(lowest, false);
+					}
+					else
+					{
+						this.restrictUpper(WILDCARD == partial.major ? NOTHING : partial.lowest(true), false);
+					}
+					break;
+				case "<=":
+					if (partial.isComplete())
+					{
+						this.restrictUpper(lowest, true);
+					}
+					else
+					{
+						this.restrictUpper(partial.nextAfterWildcard(true), false);
+					}
+					break;
+				case "~":
+				case "~>":
+					this.restrictLower(lowest, true);
+					this.restrictUpper(
+						WILDCARD == partial.minor
+							? partial.nextMajor(true)
+							: partial.nextMinor(true),
+						false);
+					break;
+				default:
+					this.restrictLower(lowest, true);
+					this.restrictUpper(
+						WILDCARD == partial.minor || 0 != partial.major
+							? partial.nextMajor(true)
+							: WILDCARD == partial.patch || 0 != partial.minor
+								? partial.nextMinor(true)
+								: partial.nextPatch(true),
+						false);
+					break;
+			}
+		}
+
+
+		private void applyHyphen(
+			/* @Nonnull */ final Partial from,
+			/* @Nonnull */ final Partial to)
+		{
+			this.restrictLower(from.isComplete() ? from.semanticVersion : from.lowest(false), true);
+
+			if (to.isComplete())
+			{
+				this.restrictUpper(to.semanticVersion, true);
+			}
+			else
+			{
+				this.restrictUpper(to.nextAfterWildcard(true), false);
+			}
+		}
+
+
+		private void restrictLower(
+			/* @Nullable */ final SemanticVersion lower,
+			final boolean inclusive)
+		{
+			if (null == lower)
+			{
+				return;
+			}
+
+			this.notePreRelease(lower);
+
+			final int comparison = null == this.lower ? 1 : lower.compareTo(this.lower);
+
+			if (0 < comparison)
+			{
+				this.lower = lower;
+				this.lowerInclusive = inclusive;
+			}
+			else if (0 == comparison)
+			{
+				this.lowerInclusive &= inclusive;
+			}
+		}
+
+
+		private void restrictUpper(
+			/* @Nullable */ final SemanticVersion upper,
+			final boolean inclusive)
+		{
+			if (null == upper)
+			{
+				return;
+			}
+
+			this.notePreRelease(upper);
+
+			final int comparison = null == this.upper ? -1 : upper.compareTo(this.upper);
+
+			if (0 > comparison)
+			{
+				this.upper = upper;
+				this.upperInclusive = inclusive;
+			}
+			else if (0 == comparison)
+			{
+				this.upperInclusive &= inclusive;
+			}
+		}
+
+
+		/**
+		 * Remembers the version numbers of bounds with pre-release data. That
+		 * includes the made up "-0" upper bounds, which is harmless since no
+		 * pre-release of those version numbers is below them.
+		 */
+		private void notePreRelease(
+			/* @Nonnull */ final SemanticVersion bound)
+		{
+			if (bound.hasPreReleaseData())
+			{
+				final int length = this.preReleaseVersionNumbers.length;
+				this.preReleaseVersionNumbers = Arrays.copyOf(this.preReleaseVersionNumbers, length + 3);
+				this.preReleaseVersionNumbers[length] = bound.getMajor();
+				this.preReleaseVersionNumbers[length + 1] = bound.getMinor();
+				this.preReleaseVersionNumbers[length + 2] = bound.getPatch();
+			}
+		}
+	}
+
+
+	/**
+	 * A version that may be missing its later version numbers.
+	 */
+	private static final class Partial
+	{
+		private final int major;
+		private final int minor;
+		private final int patch;
+		/* @Nullable */ private final SemanticVersion semanticVersion;
+
+
+		private Partial(
+			/* @Nonnull */ final int[] versionNumbers,
+			/* @Nullable */ final SemanticVersion semanticVersion)
+		{
+			this.major = versionNumbers[0];
+			this.minor = versionNumbers[1];
+			this.patch = versionNumbers[2];
+			this.semanticVersion = semanticVersion;
+		}
+
+
+		private boolean isComplete()
+		{
+			return WILDCARD != this.patch;
+		}
+
+
+		/**
+		 * @return Returns the lowest release that matches, or the version of
+		 *         lowest precedence with the same version numbers, or null if
+		 *         every version matches.
+		 */
+		/* @Nullable */
+		private SemanticVersion lowest(
+			final boolean preRelease)
+		{
+			return
+				WILDCARD == this.major
+					? null
+					: version(this.major, Math.max(0, this.minor), Math.max(0, this.patch), preRelease);
+		}
+
+
+		/**
+		 * @return Returns the lowest version past the ones that match, or
+		 *         null if there is none.
+		 */
+		/* @Nullable */
+		private SemanticVersion nextAfterWildcard(
+			final boolean preRelease)
+		{
+			return
+				WILDCARD == this.major
+					? null
+					: WILDCARD == this.minor
+						? this.nextMajor(preRelease)
+						: this.nextMinor(preRelease);
+		}
+
+
+		/* @Nullable */
+		private SemanticVersion nextMajor(
+			final boolean preRelease)
+		{
+			return WILDCARD == this.major ? null : version(this.major + 1L, 0, 0, preRelease);
+		}
+
+
+		/* @Nullable */
+		private SemanticVersion nextMinor(
+			final boolean preRelease)
+		{
+			return version(this.major, this.minor + 1L, 0, preRelease);
+		}
+
+
+		/* @Nullable */
+		private SemanticVersion nextPatch(
+			final boolean preRelease)
+		{
+			return version(this.major, this.minor, this.patch + 1L, preRelease);
+		}
+
+
+		/**
+		 * @param preRelease Whether to return the version of lowest precedence
+		 *        with the given version numbers, rather than the release.
+		 * @return Returns the version with the given version numbers, carrying
+		 *         over into the next version number when one is too large, or
+		 *         null if even the major version number is too large.
+		 */
+		/* @Nullable */
+		private static SemanticVersion version(
+			final long major,
+			final long minor,
+			final long patch,
+			final boolean preRelease)
+		{
+			if (Integer.MAX_VALUE < patch)
+			{
+				return version(major, minor + 1, 0, preRelease);
+			}
+			else if (Integer.MAX_VALUE < minor)
+			{
+				return version(major + 1, 0, 0, preRelease);
+			}
+			else if (Integer.MAX_VALUE < major)
+			{
+				return null;
+			}
+
+			return
+				SemanticVersion.of(
+					(int) major,
+					(int) minor,
+					(int) patch,
+					preRelease ? Collections.singletonList("0") : Collections.emptyList(),
+					Collections.emptyList());
+		}
+	}
+
+
+	public static class IllegalRangeException extends SemanticVersion.SemanticVersionException
+	{
+		public IllegalRangeException()
+		{
+		}
+
+
+		public IllegalRangeException(
+			/* @Nullable */ final String range,
+			final int errorOffset)
+		{
+			super(range, errorOffset);
+		}
+	}
+}
@@ -0,0 +1,1071 @@
+package io.github.gravitation1;
+
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Picks a version of every package that a set of requirements leads to,
+ * so that each picked version satisfies the ranges that the requirements
+ * and the other picked versions depend on. This is the PubGrub algorithm,
+ * see https://github.com/dart-lang/pub/blob/master/doc/solver.md.
+ *
+ * Versions are picked one package at a time, by default from the highest
+ * precedence down and without pre-release data first. When the picks made
+ * so far lead to a conflict, its cause is learned as an incompatibility, a
+ * set of terms that cannot all hold at once, and the resolver jumps back
+ * to the pick that caused it. Learned incompatibilities are kept for the
+ * rest of the resolution, so that no dead end is explored twice.
+ *
+ * The versions of a package are numbered by their position in its
+ * {@link SemanticVersionIndex}, so every term is a bitset over them, with
+ * one more bit for the package not being picked at all. Checking a term
+ * against the picks made so far takes two bitset intersections, and does
+ * not allocate.
+ */
+public final class SemanticVersionResolver
+{
+	private static final int SATISFIED;
+	private static final int CONTRADICTED;
+	private static final int INCONCLUSIVE;
+
+	/* @Nonnull */ private final Catalog catalog;
+	private final boolean newestFirst;
+	private final boolean stableFirst;
+
+
+	static
+	{
+		// Relations of an incompatibility to the picks made so far. Any other
+		// relation is the position of its only term that is not satisfied.
+		SATISFIED = -1;
+		CONTRADICTED = -2;
+		INCONCLUSIVE = -3;
+	}
+
+
+	/**
+	 * Creates a resolver that picks the newest versions, without
+	 * pre-release data if possible.
+	 */
+	public SemanticVersionResolver(
+		/* @Nonnull */ final Catalog catalog)
+	{
+		this(catalog, true, true);
+	}
+
+
+	/**
+	 * @param newestFirst Whether to try the versions of a package from the
+	 *        highest precedence down, rather than from the lowest up.
+	 * @param stableFirst Whether to try the versions of a package without
+	 *        pre-release data before those with pre-release data.
+	 */
+	public SemanticVersionResolver(
+		/* @Nonnull */ final Catalog catalog,
+		final boolean newestFirst,
+		final boolean stableFirst)
+	{
+		this.catalog = catalog;
+		this.newestFirst = newestFirst;
+		this.stableFirst = stableFirst;
+	}
+
+
+	/**
+	 * @param requirements The ranges that the versions picked of some
+	 *        packages must satisfy, by package name.
+	 * @return Returns the version picked of every package needed, by package
+	 *         name, in the order they were picked.
+	 * @throws UnsatisfiableException Throws if no versions satisfy the
+	 *         requirements.
+	 */
+	/* @Nonnull */
+	public Map<String, SemanticVersion> resolve(
+		/* @Nonnull */ final Map<String, SemanticVersionRange> requirements)
+	{
+		return new Solver(this).solve(requirements);
+	}
+
+
+	/**
+	 * The versions of every package and the dependencies of every version.
+	 * Each is asked for at most once per package or version during a
+	 * resolution.
+	 */
+	public interface Catalog
+	{
+		/**
+		 * @return Returns the versions of the package, or null if there is no
+		 *         such package.
+		 */
+		/* @Nullable */
+		SemanticVersionIndex getVersions(
+			/* @Nonnull */ String packageName);
+
+
+		/**
+		 * @return Returns the ranges of the packages that the version depends
+		 *         on, by package name.
+		 */
+		/* @Nonnull */
+		Map<String, SemanticVersionRange> getDependencies(
+			/* @Nonnull */ String packageName,
+			/* @Nonnull */ SemanticVersion semanticVersion);
+	}
+
+
+	/**
+	 * A catalog that is filled in by hand, such as from a lockfile or in
+	 * tests. This class is not thread-safe.
+	 */
+	public static final class InMemoryCatalog implements Catalog
+	{
+		private final Map<String, Map<SemanticVersion, Map<String, SemanticVersionRange>>> packages;
+		private final Map<String, SemanticVersionIndex> indexes;
+
+
+		public InMemoryCatalog()
+		{
+			this.packages = new HashMap<>();
+			this.indexes = new HashMap<>();
+		}
+
+
+		/**
+		 * Adds a version of a package, replacing an equal version and its
+		 * dependencies.
+		 */
+		public void add(
+			/* @Nonnull */ final String packageName,
+			/* @Nonnull */ final SemanticVersion semanticVersion,
+			/* @Nonnull */ final Map<String, SemanticVersionRange> dependencies)
+		{
+			this.packages
+				.computeIfAbsent(packageName, k -> new HashMap<>())
+				.put(semanticVersion, new LinkedHashMap<>(dependencies));
+			this.indexes.remove(packageName);
+		}
+
+
+		@Override
+		/* @Nullable */
+		public SemanticVersionIndex getVersions(
+			/* @Nonnull */ final String packageName)
+		{
+			final Map<SemanticVersion, Map<String, SemanticVersionRange>> versions = this.packages.get(packageName);
+
+			return
+				null == versions
+					? null
+					: this.indexes.computeIfAbsent(packageName, k -> new SemanticVersionIndex(versions.keySet()));
+		}
+
+
+		@Override
+		/* @Nonnull */
+		public Map<String, SemanticVersionRange> getDependencies(
+			/* @Nonnull */ final String packageName,
+			/* @Nonnull */ final SemanticVersion semanticVersion)
+		{
+			final Map<SemanticVersion, Map<String, SemanticVersionRange>> versions = this.packages.get(packageName);
+			final Map<String, SemanticVersionRange> dependencies = null == versions ? null : versions.get(semanticVersion);
+
+			return null == dependencies ? Collections.emptyMap() : Collections.unmodifiableMap(dependencies);
+		}
+	}
+
+
+	public static class UnsatisfiableException extends RuntimeException
+	{
+		/* @Nonnull */ private final List<String> reasons;
+
+
+		public UnsatisfiableException(
+			/* @Nonnull */ final List<String> reasons)
+		{
+			super("No versions satisfy all of: " + String.join("; ", reasons));
+			this.reasons = Collections.unmodifiableList(new ArrayList<>(reasons));
+		}
+
+
+		/**
+		 * @return Returns the requirements and dependencies that together
+		 *         cannot be satisfied, such as "a 1.0.0 depends on b ^2.0.0".
+		 */
+		/* @Nonnull */
+		public List<String> getReasons()
+		{
+			return this.reasons;
+		}
+	}
+
+
+	/**
+	 * A package along with the versions that the picks made so far still
+	 * allow for it. The bit after the last version stands for the package
+	 * not being picked.
+	 */
+	private static final class PackageState
+	{
+		private final String name;
+		private final int id;
+		private final SemanticVersionIndex index;
+		private final int absent;
+		private final BitSet universe;
+		private final BitSet stable;
+		private final List<Incompatibility> incompatibilities;
+		private final List<Assignment> assignments;
+		private final Map<String, BitSet> satisfyingIndexes;
+		private final List<Map<String, SemanticVersionRange>> dependencies;
+
+		// The versions whose dependency on each package has been added as an
+		// incompatibility.
+		private final Map<String, BitSet> dependenciesAdded;
+		private BitSet allowed;
+		/* @Nullable */ private Assignment decision;
+		private boolean changed;
+		private int candidatePosition;
+
+
+		private PackageState(
+			/* @Nonnull */ final String name,
+			final int id,
+			/* @Nonnull */ final SemanticVersionIndex index)
+		{
+			this.name = name;
+			this.id = id;
+			this.index = index;
+			this.absent = index.size();
+			this.universe = new BitSet(this.absent + 1);
+			this.universe.set(0, this.absent + 1);
+			this.stable = new BitSet(this.absent);
+			this.incompatibilities = new ArrayList<>();
+			this.assignments = new ArrayList<>();
+			this.satisfyingIndexes = new HashMap<>();
+			this.dependencies = new ArrayList<>(Collections.nCopies(this.absent, null));
+			this.dependenciesAdded = new HashMap<>();
+			this.allowed = this.universe;
+			this.candidatePosition = -1;
+
+			for (int i = 0; i < this.absent; ++i)
+			{
+				if (!index.get(i).hasPreReleaseData())
+				{
+					this.stable.set(i);
+				}
+			}
+		}
+
+
+		/**
+		 * @return Returns the term for the package not being picked within the
+		 *         range.
+		 */
+		/* @Nonnull */
+		private BitSet outside(
+			/* @Nonnull */ final SemanticVersionRange range)
+		{
+			BitSet satisfying = this.satisfyingIndexes.get(range.toString());
+
+			if (null == satisfying)
+			{
+				satisfying = new BitSet(this.absent);
+				this.index.setSatisfyingIndexes(range, satisfying);
+				this.satisfyingIndexes.put(range.toString(), satisfying);
+			}
+
+			final BitSet term = (BitSet) this.universe.clone();
+			term.andNot(satisfying);
+			return term;
+		}
+	}
+
+
+	/**
+	 * Terms on distinct packages that cannot all hold at once, either
+	 * because of a requirement or dependency, or because two other
+	 * incompatibilities imply so.
+	 */
+	private static final class Incompatibility
+	{
+		private final PackageState[] packages;
+		private final BitSet[] terms;
+		private final BitSet[] complements;
+		/* @Nullable */ private final String reason;
+		/* @Nullable */ private final Incompatibility cause;
+		/* @Nullable */ private final Incompatibility otherCause;
+
+
+		private Incompatibility(
+			/* @Nonnull */ final PackageState[] packages,
+			/* @Nonnull */ final BitSet[] terms,
+			/* @Nonnull */ final BitSet[] complements,
+			/* @Nullable */ final String reason,
+			/* @Nullable */ final Incompatibility cause,
+			/* @Nullable */ final Incompatibility otherCause)
+		{
+			this.packages = packages;
+			this.terms = terms;
+			this.complements = complements;
+			this.reason = reason;
+			this.cause = cause;
+			this.otherCause = otherCause;
+		}
+
+
+		/**
+		 * @return Returns the incompatibility of the terms, leaving out those
+		 *         that always hold, or null if one of them never holds.
+		 */
+		/* @Nullable */
+		private static Incompatibility of(
+			/* @Nonnull */ final Map<PackageState, BitSet> terms,
+			/* @Nullable */ final String reason,
+			/* @Nullable */ final Incompatibility cause,
+			/* @Nullable */ final Incompatibility otherCause)
+		{
+			final List<PackageState> packages = new ArrayList<>(terms.size());
+			final List<BitSet> termList = new ArrayList<>(terms.size());
+			final List<BitSet> complements = new ArrayList<>(terms.size());
+
+			for (final Map.Entry<PackageState, BitSet> entry : terms.entrySet())
+			{
+				final PackageState packageState = entry.getKey();
+
+				if (entry.getValue().isEmpty())
+				{
+					return null;
+				}
+
+				final BitSet complement = (BitSet) packageState.universe.clone();
+				complement.andNot(entry.getValue());
+
+				if (!complement.isEmpty())
+				{
+					packages.add(packageState);
+					termList.add(entry.getValue());
+					complements.add(complement);
+				}
+			}
+
+			return
+				new Incompatibility(
+					packages.toArray(new PackageState[0]),
+					termList.toArray(new BitSet[0]),
+					complements.toArray(new BitSet[0]),
+					reason,
+					cause,
+					otherCause);
+		}
+	}
+
+
+	/**
+	 * A pick of a version, or a narrowing of the versions allowed for a
+	 * package that was derived from an incompatibility.
+	 */
+	private static final class Assignment
+	{
+		private final PackageState packageState;
+		private final BitSet term;
+		private final BitSet allowed;
+		private final int decisionLevel;
+		/* @Nullable */ private final Incompatibility cause;
+		private final int position;
+
+
+		private Assignment(
+			/* @Nonnull */ final PackageState packageState,
+			/* @Nonnull */ final BitSet term,
+			/* @Nonnull */ final BitSet allowed,
+			final int decisionLevel,
+			/* @Nullable */ final Incompatibility cause,
+			final int position)
+		{
+			this.packageState = packageState;
+			this.term = term;
+			this.allowed = allowed;
+			this.decisionLevel = decisionLevel;
+			this.cause = cause;
+			this.position = position;
+		}
+	}
+
+
+	/**
+	 * The state of one resolution.
+	 */
+	private static final class Solver
+	{
+		private final SemanticVersionResolver resolver;
+		private final Map<String, PackageState> packagesByName;
+		private final List<Assignment> assignments;
+		private final ArrayDeque<PackageState> changed;
+
+		// The packages that must be picked but have not been.
+		private final List<PackageState> candidates;
+
+		private int decisionLevel;
+
+
+		private Solver(
+			/* @Nonnull */ final SemanticVersionResolver resolver)
+		{
+			this.resolver = resolver;
+			this.packagesByName = new HashMap<>();
+			this.assignments = new ArrayList<>();
+			this.changed = new ArrayDeque<>();
+			this.candidates = new ArrayList<>();
+		}
+
+
+		/* @Nonnull */
+		private Map<String, SemanticVersion> solve(
+			/* @Nonnull */ final Map<String, SemanticVersionRange> requirements)
+		{
+			for (final Map.Entry<String, SemanticVersionRange> requirement : requirements.entrySet())
+			{
+				final PackageState packageState = this.getPackageState(requirement.getKey());
+				final Incompatibility incompatibility =
+					Incompatibility.of(
+						Collections.singletonMap(packageState, packageState.outside(requirement.getValue())),
+						"root depends on " + requirement.getKey() + " " + requirement.getValue(),
+						null,
+						null);
+
+				if (0 == incompatibility.packages.length)
+				{
+					throw new UnsatisfiableException(explain(incompatibility));
+				}
+
+				this.addIncompatibility(incompatibility);
+				this.markChanged(packageState);
+			}
+
+			this.propagate();
+
+			while (true)
+			{
+				final PackageState packageState = this.nextCandidate();
+
+				if (null == packageState)
+				{
+					break;
+				}
+
+				this.decide(packageState);
+				this.propagate();
+			}
+
+			final Map<String, SemanticVersion> semanticVersions = new LinkedHashMap<>();
+
+			for (final Assignment assignment : this.assignments)
+			{
+				if (null == assignment.cause)
+				{
+					semanticVersions.put(
+						assignment.packageState.name,
+						assignment.packageState.index.get(assignment.term.nextSetBit(0)));
+				}
+			}
+
+			return semanticVersions;
+		}
+
+
+		/* @Nonnull */
+		private PackageState getPackageState(
+			/* @Nonnull */ final String name)
+		{
+			PackageState packageState = this.packagesByName.get(name);
+
+			if (null == packageState)
+			{
+				final SemanticVersionIndex index = this.resolver.catalog.getVersions(name);
+				packageState =
+					new PackageState(
+						name,
+						this.packagesByName.size(),
+						null == index ? new SemanticVersionIndex(Collections.emptyList()) : index);
+				this.packagesByName.put(name, packageState);
+			}
+
+			return packageState;
+		}
+
+
+		/**
+		 * @return Returns the package that must be picked but has not been,
+		 *         with the fewest versions left to pick from, or null if there
+		 *         is none. Conflicts are found sooner that way, since there are
+		 *         fewer ways around them.
+		 */
+		/* @Nullable */
+		private PackageState nextCandidate()
+		{
+			PackageState next = null;
+			int nextVersionCount = Integer.MAX_VALUE;
+
+			for (final PackageState candidate : this.candidates)
+			{
+				final int versionCount = candidate.allowed.cardinality();
+
+				if (versionCount < nextVersionCount || (versionCount == nextVersionCount && candidate.id < next.id))
+				{
+					next = candidate;
+					nextVersionCount = versionCount;
+				}
+			}
+
+			return next;
+		}
+
+
+		/**
+		 * Picks the preferred version of those allowed for the package, unless
+		 * one of its dependencies is already known to conflict, in which case
+		 * propagating rules that version out instead.
+		 */
+		private void decide(
+			/* @Nonnull */ final PackageState packageState)
+		{
+			final int version = this.preferredVersion(packageState);
+			boolean conflicts = false;
+
+			for (final Map.Entry<String, SemanticVersionRange> dependency : this.getDependencies(packageState, version).entrySet())
+			{
+				final BitSet added = packageState.dependenciesAdded.computeIfAbsent(dependency.getKey(), k -> new BitSet());
+
+				if (added.get(version))
+				{
+					continue;
+				}
+
+				// Neighbouring versions with the same dependency share one
+				// incompatibility, so that a conflict rules them all out at once.
+				int low = version;
+				int high = version;
+
+				while (0 < low && this.hasDependency(packageState, low - 1, dependency))
+				{
+					--low;
+				}
+
+				while (high + 1 < packageState.absent && this.hasDependency(packageState, high + 1, dependency))
+				{
+					++high;
+				}
+
+				added.set(low, high + 1);
+				final BitSet versions = new BitSet(high + 1);
+				versions.set(low, high + 1);
+
+				final PackageState dependencyState = this.getPackageState(dependency.getKey());
+				final Map<PackageState, BitSet> terms = new LinkedHashMap<>();
+				terms.put(packageState, versions);
+				merge(terms, dependencyState, dependencyState.outside(dependency.getValue()));
+
+				final String versionRange =
+					low == high
+						? packageState.index.get(low).toString()
+						: ">=" + packageState.index.get(low) + " <=" + packageState.index.get(high);
+				final Incompatibility incompatibility =
+					Incompatibility.of(
+						terms,
+						packageState.name + " " + versionRange + " depends on " + dependency.getKey() + " "
+							+ dependency.getValue(),
+						null,
+						null);
+
+				if (null != incompatibility)
+				{
+					this.addIncompatibility(incompatibility);
+					conflicts |= isSatisfiedExcept(incompatibility, packageState);
+				}
+			}
+
+			if (!conflicts)
+			{
+				final BitSet term = new BitSet(version + 1);
+				term.set(version);
+				++this.decisionLevel;
+				this.assign(packageState, term, null);
+			}
+
+			this.markChanged(packageState);
+		}
+
+
+		/* @Nonnull */
+		private Map<String, SemanticVersionRange> getDependencies(
+			/* @Nonnull */ final PackageState packageState,
+			final int version)
+		{
+			Map<String, SemanticVersionRange> dependencies = packageState.dependencies.get(version);
+
+			if (null == dependencies)
+			{
+				dependencies = this.resolver.catalog.getDependencies(packageState.name, packageState.index.get(version));
+				packageState.dependencies.set(version, dependencies);
+			}
+
+			return dependencies;
+		}
+
+
+		private boolean hasDependency(
+			/* @Nonnull */ final PackageState packageState,
+			final int version,
+			/* @Nonnull */ final Map.Entry<String, SemanticVersionRange> dependency)
+		{
+			final SemanticVersionRange range = this.getDependencies(packageState, version).get(dependency.getKey());
+
+			return null != range && range.toString().equals(dependency.getValue().toString());
+		}
+
+
+		private int preferredVersion(
+			/* @Nonnull */ final PackageState packageState)
+		{
+			final BitSet allowed = packageState.allowed;
+			final int first =
+				this.resolver.newestFirst
+					? allowed.previousSetBit(packageState.absent - 1)
+					: allowed.nextSetBit(0);
+
+			if (this.resolver.stableFirst)
+			{
+				for (
+					int i = first;
+					0 <= i && i < packageState.absent;
+					i = this.resolver.newestFirst ? allowed.previousSetBit(i - 1) : allowed.nextSetBit(i + 1))
+				{
+					if (packageState.stable.get(i))
+					{
+						return i;
+					}
+				}
+			}
+
+			return first;
+		}
+
+
+		/**
+		 * Derives what the incompatibilities of every changed package imply,
+		 * until nothing changes, resolving conflicts along the way.
+		 */
+		private void propagate()
+		{
+			while (!this.changed.isEmpty())
+			{
+				final PackageState packageState = this.changed.poll();
+				packageState.changed = false;
+
+				// Learned incompatibilities are at the end, and usually the most
+				// relevant, so they are checked first.
+				for (int i = packageState.incompatibilities.size() - 1; i >= 0; --i)
+				{
+					Incompatibility incompatibility = packageState.incompatibilities.get(i);
+					int relation = relation(incompatibility);
+
+					if (SATISFIED == relation)
+					{
+						incompatibility = this.resolveConflict(incompatibility);
+						relation = relation(incompatibility);
+
+						for (final PackageState queued : this.changed)
+						{
+							queued.changed = false;
+						}
+
+						this.changed.clear();
+						this.derive(incompatibility, relation);
+						break;
+					}
+					else if (0 <= relation)
+					{
+						this.derive(incompatibility, relation);
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Narrows the versions allowed for the package of the only term of the
+		 * incompatibility that is not satisfied, so that it is contradicted.
+		 */
+		private void derive(
+			/* @Nonnull */ final Incompatibility incompatibility,
+			final int term)
+		{
+			final PackageState packageState = incompatibility.packages[term];
+			this.assign(packageState, incompatibility.complements[term], incompatibility);
+			this.markChanged(packageState);
+		}
+
+
+		/**
+		 * Learns why a satisfied incompatibility is satisfied, by resolving it
+		 * with the causes of the assignments that satisfy it, until it would
+		 * have been derived before the latest of them. Then backtracks to
+		 * just before that point.
+		 *
+		 * @return Returns an incompatibility that has exactly one term that is
+		 *         not satisfied after backtracking.
+		 * @throws UnsatisfiableException Throws if the incompatibility has been
+		 *         resolved down to no terms at all.
+		 */
+		/* @Nonnull */
+		private Incompatibility resolveConflict(
+			/* @Nonnull */ final Incompatibility conflict)
+		{
+			Incompatibility incompatibility = conflict;
+
+			while (true)
+			{
+				final int termCount = incompatibility.packages.length;
+
+				if (0 == termCount)
+				{
+					throw new UnsatisfiableException(explain(incompatibility));
+				}
+
+				final Assignment[] satisfiers = new Assignment[termCount];
+				int satisfierTerm = 0;
+
+				for (int i = 0; i < termCount; ++i)
+				{
+					satisfiers[i] = satisfier(incompatibility.packages[i], incompatibility.complements[i]);
+
+					if (satisfiers[i].position > satisfiers[satisfierTerm].position)
+					{
+						satisfierTerm = i;
+					}
+				}
+
+				final Assignment satisfier = satisfiers[satisfierTerm];
+				int previousDecisionLevel = 0;
+
+				for (int i = 0; i < termCount; ++i)
+				{
+					if (i != satisfierTerm)
+					{
+						previousDecisionLevel = Math.max(previousDecisionLevel, satisfiers[i].decisionLevel);
+					}
+				}
+
+				// The satisfier may only satisfy its term together with earlier
+				// assignments to the same package.
+				for (final Assignment assignment : satisfier.packageState.assignments)
+				{
+					if (assignment == satisfier)
+					{
+						break;
+					}
+
+					final BitSet allowed = (BitSet) assignment.allowed.clone();
+					allowed.and(satisfier.term);
+
+					if (!allowed.intersects(incompatibility.complements[satisfierTerm]))
+					{
+						previousDecisionLevel = Math.max(previousDecisionLevel, assignment.decisionLevel);
+						break;
+					}
+				}
+
+				if (null == satisfier.cause || previousDecisionLevel < satisfier.decisionLevel)
+				{
+					if (incompatibility != conflict)
+					{
+						this.addIncompatibility(incompatibility);
+					}
+
+					this.backtrack(previousDecisionLevel);
+					return incompatibility;
+				}
+
+				incompatibility = resolve(incompatibility, satisfier.cause, satisfier.packageState);
+			}
+		}
+
+
+		private void assign(
+			/* @Nonnull */ final PackageState packageState,
+			/* @Nonnull */ final BitSet term,
+			/* @Nullable */ final Incompatibility cause)
+		{
+			final BitSet allowed = (BitSet) packageState.allowed.clone();
+			allowed.and(term);
+
+			final Assignment assignment =
+				new Assignment(packageState, term, allowed, this.decisionLevel, cause, this.assignments.size());
+			this.assignments.add(assignment);
+			packageState.assignments.add(assignment);
+			packageState.allowed = allowed;
+
+			if (null == cause)
+			{
+				packageState.decision = assignment;
+			}
+
+			this.updateCandidate(packageState);
+		}
+
+
+		/**
+		 * Undoes every assignment made after the given decision level.
+		 */
+		private void backtrack(
+			final int decisionLevel)
+		{
+			while (
+				!this.assignments.isEmpty()
+				&& this.assignments.get(this.assignments.size() - 1).decisionLevel > decisionLevel)
+			{
+				final Assignment assignment = this.assignments.remove(this.assignments.size() - 1);
+				final PackageState packageState = assignment.packageState;
+				final List<Assignment> assignments = packageState.assignments;
+				assignments.remove(assignments.size() - 1);
+				packageState.allowed =
+					assignments.isEmpty() ? packageState.universe : assignments.get(assignments.size() - 1).allowed;
+
+				if (assignment == packageState.decision)
+				{
+					packageState.decision = null;
+				}
+
+				this.updateCandidate(packageState);
+			}
+
+			this.decisionLevel = decisionLevel;
+		}
+
+
+		/**
+		 * Adds the package to the candidates or removes it from them, after the
+		 * versions allowed for it changed.
+		 */
+		private void updateCandidate(
+			/* @Nonnull */ final PackageState packageState)
+		{
+			final boolean candidate = null == packageState.decision && !packageState.allowed.get(packageState.absent);
+
+			if (candidate && -1 == packageState.candidatePosition)
+			{
+				packageState.candidatePosition = this.candidates.size();
+				this.candidates.add(packageState);
+			}
+			else if (!candidate && -1 != packageState.candidatePosition)
+			{
+				final PackageState last = this.candidates.remove(this.candidates.size() - 1);
+
+				if (last != packageState)
+				{
+					last.candidatePosition = packageState.candidatePosition;
+					this.candidates.set(last.candidatePosition, last);
+				}
+
+				packageState.candidatePosition = -1;
+			}
+		}
+
+
+		private void addIncompatibility(
+			/* @Nonnull */ final Incompatibility incompatibility)
+		{
+			for (final PackageState packageState : incompatibility.packages)
+			{
+				packageState.incompatibilities.add(incompatibility);
+			}
+		}
+
+
+		private void markChanged(
+			/* @Nonnull */ final PackageState packageState)
+		{
+			if (!packageState.changed)
+			{
+				packageState.changed = true;
+				this.changed.add(packageState);
+			}
+		}
+
+
+		/**
+		 * @return Returns SATISFIED or CONTRADICTED if every term of the
+		 *         incompatibility is satisfied or some term is contradicted by
+		 *         the versions allowed so far, the position of the only term
+		 *         that is neither, or else INCONCLUSIVE.
+		 */
+		private static int relation(
+			/* @Nonnull */ final Incompatibility incompatibility)
+		{
+			int relation = SATISFIED;
+
+			for (int i = 0; i < incompatibility.packages.length; ++i)
+			{
+				final BitSet allowed = incompatibility.packages[i].allowed;
+
+				if (!allowed.intersects(incompatibility.terms[i]))
+				{
+					return CONTRADICTED;
+				}
+				else if (allowed.intersects(incompatibility.complements[i]))
+				{
+					if (SATISFIED != relation)
+					{
+						return INCONCLUSIVE;
+					}
+
+					relation = i;
+				}
+			}
+
+			return relation;
+		}
+
+
+		private static boolean isSatisfiedExcept(
+			/* @Nonnull */ final Incompatibility incompatibility,
+			/* @Nonnull */ final PackageState packageState)
+		{
+			for (int i = 0; i < incompatibility.packages.length; ++i)
+			{
+				if (
+					packageState != incompatibility.packages[i]
+					&& incompatibility.packages[i].allowed.intersects(incompatibility.complements[i]))
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+
+		/**
+		 * @return Returns the first assignment to the package after which the
+		 *         term with the given complement is satisfied.
+		 */
+		/* @Nonnull */
+		private static Assignment satisfier(
+			/* @Nonnull */ final PackageState packageState,
+			/* @Nonnull */ final BitSet complement)
+		{
+			for (final Assignment assignment : packageState.assignments)
+			{
+				if (!assignment.allowed.intersects(complement))
+				{
+					return assignment;
+				}
+			}
+
+			throw new IllegalStateException();
+		}
+
+
+		/**
+		 * @return Returns the incompatibility implied by two incompatibilities
+		 *         that have terms on the given package: whichever version
+		 *         that package gets, the other terms of one of them cannot all
+		 *         hold.
+		 */
+		/* @Nonnull */
+		private static Incompatibility resolve(
+			/* @Nonnull */ final Incompatibility incompatibility,
+			/* @Nonnull */ final Incompatibility cause,
+			/* @Nonnull */ final PackageState packageState)
+		{
+			final Map<PackageState, BitSet> terms = new LinkedHashMap<>();
+			final BitSet union = new BitSet(packageState.absent + 1);
+
+			for (final Incompatibility source : new Incompatibility[] { incompatibility, cause })
+			{
+				for (int i = 0; i < source.packages.length; ++i)
+				{
+					if (packageState == source.packages[i])
+					{
+						union.or(source.terms[i]);
+					}
+					else
+					{
+						merge(terms, source.packages[i], source.terms[i]);
+					}
+				}
+			}
+
+			terms.put(packageState, union);
+			return Incompatibility.of(terms, null, incompatibility, cause);
+		}
+
+
+		/**
+		 * Adds a term to the terms, intersecting it with any term on the same
+		 * package, since all of them must hold.
+		 */
+		private static void merge(
+			/* @Nonnull */ final Map<PackageState, BitSet> terms,
+			/* @Nonnull */ final PackageState packageState,
+			/* @Nonnull */ final BitSet term)
+		{
+			final BitSet existing = terms.get(packageState);
+
+			if (null == existing)
+			{
+				terms.put(packageState, (BitSet) term.clone());
+			}
+			else
+			{
+				existing.and(term);
+			}
+		}
+
+
+		/**
+		 * @return Returns the requirements and dependencies that an
+		 *         incompatibility was derived from.
+		 */
+		/* @Nonnull */
+		private static List<String> explain(
+			/* @Nonnull */ final Incompatibility incompatibility)
+		{
+			final Set<String> reasons = new LinkedHashSet<>();
+			final Set<Incompatibility> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+			final ArrayDeque<Incompatibility> pending = new ArrayDeque<>();
+			pending.push(incompatibility);
+
+			while (!pending.isEmpty())
+			{
+				final Incompatibility next = pending.pop();
+
+				if (!visited.add(next))
+				{
+					continue;
+				}
+				else if (null != next.reason)
+				{
+					reasons.add(next.reason);
+					continue;
+				}
+
+				pending.push(next.otherCause);
+				pending.push(next.cause);
+			}
+
+			return new ArrayList<>(reasons);
+		}
+	}
+}
@@ -0,0 +1,682 @@
+package io.github.gravitation1;
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Finds the semantic versions in arbitrary text, such as build logs,
+ * lockfiles or SBOMs, validating them in the same pass.
+ *
+ * The text is read from left to right. A version may start at a digit
+ * that does not follow a letter, digit, '.' or '+', except that it may
+ * follow a 'v' or 'V' that does not. Each version found is the longest
+ * one at that point, without a trailing '.', '-' or '+' that no identifier
+ * follows, and the text after it is searched next. Text like "1.2.3.4",
+ * "1.2.3a" or "1.2.3-01" holds no version at all, rather than a shorter
+ * one.
+ *
+ * Files are memory-mapped and searched in chunks on a fork-join pool,
+ * with their bytes read as ASCII. A version that crosses the end of a
+ * chunk belongs to that chunk, and the search of the next chunk is lined
+ * up with it, so the versions found are always those of reading the file
+ * from left to right.
+ */
+public final class SemanticVersionScanner
+{
+	private static final long MINIMUM_CHUNK_SIZE;
+	private static final long MAXIMUM_CHUNK_SIZE;
+	private static final int CHUNKS_PER_THREAD;
+	private static final long WINDOW_SIZE;
+	private static final long WINDOW_LOOKBEHIND;
+
+
+	static
+	{
+		MINIMUM_CHUNK_SIZE = 1 << 16;
+		MAXIMUM_CHUNK_SIZE = 1 << 26;
+		CHUNKS_PER_THREAD = 4;
+		WINDOW_SIZE = 1 << 20;
+
+		// Deciding whether a version may start at a position looks at the
+		// two characters before it.
+		WINDOW_LOOKBEHIND = 2;
+	}
+
+
+	private SemanticVersionScanner()
+	{
+	}
+
+
+	/**
+	 * @param parse Whether to parse the versions found, or only find their
+	 *        offsets.
+	 * @return Returns the versions found, in order, with character offsets.
+	 */
+	/* @Nonnull */
+	public static List<Match> scan(
+		/* @Nonnull */ final CharSequence characters,
+		final boolean parse)
+	{
+		final List<Match> matches = new ArrayList<>();
+		scan(new CharSequenceText(characters), 0, characters.length(), parse, matches);
+
+		return Collections.unmodifiableList(matches);
+	}
+
+
+	/**
+	 * @param parse Whether to parse the versions found, or only find their
+	 *        offsets.
+	 * @return Returns the versions found, in order, with byte offsets.
+	 */
+	/* @Nonnull */
+	public static List<Match> scan(
+		/* @Nonnull */ final Path path,
+		final boolean parse)
+	throws
+		IOException
+	{
+		return scan(path, parse, ForkJoinPool.commonPool());
+	}
+
+
+	/* @Nonnull */
+	public static List<Match> scan(
+		/* @Nonnull */ final Path path,
+		final boolean parse,
+		/* @Nonnull */ final ForkJoinPool pool)
+	throws
+		IOException
+	{
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			final long chunkSize =
+				Math.max(
+					MINIMUM_CHUNK_SIZE,
+					Math.min(MAXIMUM_CHUNK_SIZE, size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD)));
+
+			return scan(channel, size, parse, pool, chunkSize);
+		}
+	}
+
+
+	/* @Nonnull */
+	static List<Match> scan(
+		/* @Nonnull */ final FileChannel channel,
+		final long size,
+		final boolean parse,
+		/* @Nonnull */ final ForkJoinPool pool,
+		final long chunkSize)
+	throws
+		IOException
+	{
+		try
+		{
+			final int chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+			final ChunkResult chunkResult =
+				pool.submit(new ChunkTask(channel, size, chunkSize, parse, 0, chunkCount)).get();
+
+			return Collections.unmodifiableList(chunkResult.matches);
+		}
+		catch (final ExecutionException e)
+		{
+			if (e.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+	}
+
+
+	/**
+	 * A version found in the text, between two offsets.
+	 */
+	public static final class Match
+	{
+		private final long start;
+		private final long end;
+		/* @Nullable */ private final SemanticVersion semanticVersion;
+
+
+		private Match(
+			final long start,
+			final long end,
+			/* @Nullable */ final SemanticVersion semanticVersion)
+		{
+			this.start = start;
+			this.end = end;
+			this.semanticVersion = semanticVersion;
+		}
+
+
+		public long getStart()
+		{
+			return this.start;
+		}
+
+
+		/**
+		 * @return Returns the offset just past the end of the version.
+		 */
+		public long getEnd()
+		{
+			return this.end;
+		}
+
+
+		/**
+		 * @return Returns the version, or null if the scan did not parse
+		 *         versions.
+		 */
+		/* @Nullable */
+		public SemanticVersion getSemanticVersion()
+		{
+			return this.semanticVersion;
+		}
+
+
+		@Override
+		/* @Nonnull */
+		public String toString()
+		{
+			return "[" + this.start + ", " + this.end + ")" + (null == this.semanticVersion ? "" : " " + this.semanticVersion);
+		}
+	}
+
+
+	/**
+	 * Adds the versions that start between the given offsets, one of which
+	 * may end after the end offset.
+	 *
+	 * @return Returns the offset at which the search stopped, which is the
+	 *         end offset unless a version crosses it.
+	 */
+	private static long scan(
+		/* @Nonnull */ final Text text,
+		final long from,
+		final long to,
+		final boolean parse,
+		/* @Nonnull */ final List<Match> matches)
+	{
+		long position = from;
+
+		while (position < to)
+		{
+			final long end = matchEnd(text, position);
+
+			if (-1 == end)
+			{
+				++position;
+			}
+			else
+			{
+				matches.add(newMatch(text, position, end, parse));
+				position = end;
+			}
+		}
+
+		return position;
+	}
+
+
+	/* @Nonnull */
+	private static Match newMatch(
+		/* @Nonnull */ final Text text,
+		final long start,
+		final long end,
+		final boolean parse)
+	{
+		return new Match(start, end, parse ? SemanticVersion.from(text.subSequence(start, end)) : null);
+	}
+
+
+	/**
+	 * @return Returns the offset just past the end of the version starting at
+	 *         the given offset, or -1 if there is none.
+	 */
+	private static long matchEnd(
+		/* @Nonnull */ final Text text,
+		final long start)
+	{
+		if (!isDigit(text.charAt(start)) || !isVersionStart(text, start))
+		{
+			return -1;
+		}
+
+		long position = versionNumberEnd(text, start);
+
+		if (-1 == position || '.' != text.charAt(position))
+		{
+			return -1;
+		}
+
+		position = versionNumberEnd(text, position + 1);
+
+		if (-1 == position || '.' != text.charAt(position))
+		{
+			return -1;
+		}
+
+		position = versionNumberEnd(text, position + 1);
+
+		if (-1 == position)
+		{
+			return -1;
+		}
+
+		int next = text.charAt(position);
+
+		if (isLetter(next) || ('.' == next && isDigit(text.charAt(position + 1))))
+		{
+			return -1;
+		}
+
+		if ('-' == next && isIdentifierCharacter(text.charAt(position + 1)))
+		{
+			position = identifiersEnd(text, position + 1, true);
+
+			if (-1 == position)
+			{
+				return -1;
+			}
+
+			next = text.charAt(position);
+		}
+
+		if ('+' == next && isIdentifierCharacter(text.charAt(position + 1)))
+		{
+			position = identifiersEnd(text, position + 1, false);
+		}
+
+		return position;
+	}
+
+
+	private static boolean isVersionStart(
+		/* @Nonnull */ final Text text,
+		final long start)
+	{
+		int previous = text.charAt(start - 1);
+
+		if ('v' == previous || 'V' == previous)
+		{
+			previous = text.charAt(start - 2);
+		}
+
+		return '-' == previous || !(isIdentifierCharacter(previous) || '.' == previous || '+' == previous);
+	}
+
+
+	/**
+	 * @return Returns the offset just past the end of the version number
+	 *         starting at the given offset, or -1 if there is no valid one.
+	 */
+	private static long versionNumberEnd(
+		/* @Nonnull */ final Text text,
+		final long start)
+	{
+		if ('0' == text.charAt(start))
+		{
+			return isDigit(text.charAt(start + 1)) ? -1 : start + 1;
+		}
+
+		long position = start;
+		long value = 0;
+
+		for (int character = text.charAt(position); isDigit(character); character = text.charAt(++position))
+		{
+			value = 10 * value + (character - '0');
+
+			if (Integer.MAX_VALUE < value)
+			{
+				return -1;
+			}
+		}
+
+		return start == position ? -1 : position;
+	}
+
+
+	/**
+	 * @return Returns the offset just past the end of the dot-separated
+	 *         identifiers starting at the given offset, or -1 if a
+	 *         pre-release identifier is a number with leading zeros.
+	 */
+	private static long identifiersEnd(
+		/* @Nonnull */ final Text text,
+		final long start,
+		final boolean preRelease)
+	{
+		long position = start;
+
+		while (true)
+		{
+			final long identifierStart = position;
+			boolean numerical = true;
+
+			for (int character = text.charAt(position); isIdentifierCharacter(character); character = text.charAt(++position))
+			{
+				numerical &= isDigit(character);
+			}
+
+			if (preRelease && numerical && 1 < position - identifierStart && '0' == text.charAt(identifierStart))
+			{
+				return -1;
+			}
+
+			if ('.' != text.charAt(position) || !isIdentifierCharacter(text.charAt(position + 1)))
+			{
+				return position;
+			}
+
+			++position;
+		}
+	}
+
+
+	private static boolean isDigit(
+		final int character)
+	{
+		return '0' <= character && '9' >= character;
+	}
+
+
+	private static boolean isLetter(
+		final int character)
+	{
+		return ('A' <= character && 'Z' >= character) || ('a' <= character && 'z' >= character);
+	}
+
+
+	private static boolean isIdentifierCharacter(
+		final int character)
+	{
+		return isDigit(character) || isLetter(character) || '-' == character;
+	}
+
+
+	/**
+	 * Random access to the characters being searched.
+	 */
+	private interface Text
+	{
+		/**
+		 * @return Returns the character at the offset, or -1 if the offset is
+		 *         outside of the text.
+		 */
+		int charAt(
+			final long offset);
+
+
+		/* @Nonnull */
+		CharSequence subSequence(
+			final long start,
+			final long end);
+	}
+
+
+	private static final class CharSequenceText implements Text
+	{
+		private final CharSequence characters;
+
+
+		private CharSequenceText(
+			/* @Nonnull */ final CharSequence characters)
+		{
+			this.characters = characters;
+		}
+
+
+		@Override
+		public int charAt(
+			final long offset)
+		{
+			return 0 <= offset && this.characters.length() > offset ? this.characters.charAt((int) offset) : -1;
+		}
+
+
+		@Override
+		/* @Nonnull */
+		public CharSequence subSequence(
+			final long start,
+			final long end)
+		{
+			return this.characters.subSequence((int) start, (int) end);
+		}
+	}
+
+
+	/**
+	 * Reads a file through a window onto it that is moved as needed.
+	 */
+	private static final class FileText implements Text
+	{
+		private final FileChannel channel;
+		private final long size;
+		private MappedByteBuffer window;
+		private long windowStart;
+		private long windowEnd;
+
+
+		private FileText(
+			/* @Nonnull */ final FileChannel channel,
+			final long size)
+		{
+			this.channel = channel;
+			this.size = size;
+		}
+
+
+		@Override
+		public int charAt(
+			final long offset)
+		{
+			if (0 > offset || this.size <= offset)
+			{
+				return -1;
+			}
+
+			if (offset < this.windowStart || offset >= this.windowEnd)
+			{
+				this.map(offset);
+			}
+
+			return this.window.get((int) (offset - this.windowStart)) & 0xFF;
+		}
+
+
+		@Override
+		/* @Nonnull */
+		public CharSequence subSequence(
+			final long start,
+			final long end)
+		{
+			final StringBuilder stringBuilder = new StringBuilder((int) (end - start));
+
+			for (long offset = start; offset < end; ++offset)
+			{
+				stringBuilder.append((char) this.charAt(offset));
+			}
+
+			return stringBuilder;
+		}
+
+
+		private void map(
+			final long offset)
+		{
+			this.windowStart = Math.max(0, offset - WINDOW_LOOKBEHIND);
+			this.windowEnd = Math.min(this.size, this.windowStart + WINDOW_SIZE);
+
+			try
+			{
+				this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowStart, this.windowEnd - this.windowStart);
+			}
+			catch (final IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+
+	/**
+	 * The versions found in a range of chunks, and the offset at which the
+	 * search stopped.
+	 */
+	private static final class ChunkResult
+	{
+		private final List<Match> matches;
+		private final long end;
+
+
+		private ChunkResult(
+			/* @Nonnull */ final List<Match> matches,
+			final long end)
+		{
+			this.matches = matches;
+			this.end = end;
+		}
+	}
+
+
+	/**
+	 * Splits a range of chunks in half until a single chunk is left, then
+	 * searches it, and joins the results of the halves.
+	 */
+	private static final class ChunkTask extends RecursiveTask<ChunkResult>
+	{
+		private final FileChannel channel;
+		private final long size;
+		private final long chunkSize;
+		private final boolean parse;
+		private final int firstChunk;
+		private final int endChunk;
+
+
+		private ChunkTask(
+			/* @Nonnull */ final FileChannel channel,
+			final long size,
+			final long chunkSize,
+			final boolean parse,
+			final int firstChunk,
+			final int endChunk)
+		{
+			this.channel = channel;
+			this.size = size;
+			this.chunkSize = chunkSize;
+			this.parse = parse;
+			this.firstChunk = firstChunk;
+			this.endChunk = endChunk;
+		}
+
+
+		@Override
+		/* @Nonnull */
+		protected ChunkResult compute()
+		{
+			final long start = this.firstChunk * this.chunkSize;
+
+			if (1 >= this.endChunk - this.firstChunk)
+			{
+				final List<Match> matches = new ArrayList<>();
+				final long chunkEnd = Math.min(this.size, start + this.chunkSize);
+				final long end = scan(new FileText(this.channel, this.size), start, chunkEnd, this.parse, matches);
+
+				return new ChunkResult(matches, end);
+			}
+
+			final int middleChunk = (this.firstChunk + this.endChunk) >>> 1;
+			final ChunkTask firstHalf =
+				new ChunkTask(this.channel, this.size, this.chunkSize, this.parse, this.firstChunk, middleChunk);
+			final ChunkTask secondHalf =
+				new ChunkTask(this.channel, this.size, this.chunkSize, this.parse, middleChunk, this.endChunk);
+			firstHalf.fork();
+
+			final ChunkResult secondResult = secondHalf.compute();
+
+			return this.join(firstHalf.join(), secondResult, middleChunk * this.chunkSize);
+		}
+
+
+		/**
+		 * Joins the results of two adjacent ranges. If a version found in the
+		 * first range crosses into the second, the search of the second range
+		 * may have found versions inside of it, and skipped past where the
+		 * search of the first range carries on. The search is then carried on
+		 * from the end of the first range until it reaches an offset that the
+		 * search of the second range also stopped at, from which on both
+		 * searches find the same versions.
+		 */
+		/* @Nonnull */
+		private ChunkResult join(
+			/* @Nonnull */ final ChunkResult first,
+			/* @Nonnull */ final ChunkResult second,
+			final long secondStart)
+		{
+			final List<Match> matches = new ArrayList<>(first.matches.size() + second.matches.size());
+			matches.addAll(first.matches);
+
+			if (first.end <= secondStart)
+			{
+				matches.addAll(second.matches);
+				return new ChunkResult(matches, second.end);
+			}
+
+			final Text text = new FileText(this.channel, this.size);
+			long position = first.end;
+			int index = 0;
+
+			while (true)
+			{
+				while (index < second.matches.size() && second.matches.get(index).end <= position)
+				{
+					++index;
+				}
+
+				if (index == second.matches.size() || second.matches.get(index).start >= position)
+				{
+					break;
+				}
+
+				// The search of the second range was inside of a version here.
+				final long end = matchEnd(text, position);
+
+				if (-1 == end)
+				{
+					++position;
+				}
+				else
+				{
+					matches.add(newMatch(text, position, end, this.parse));
+					position = end;
+				}
+			}
+
+			matches.addAll(second.matches.subList(index, second.matches.size()));
+
+			return new ChunkResult(matches, Math.max(position, second.end));
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package io.github.gravitation1;
+
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+
+/**
+ * A set of semantic versions that stores releases without build metadata
+ * as packed longs in an open-addressing table, so that they take 8 to 16
+ * bytes each and are found without hashing or comparing strings. Other
+ * versions are kept in a HashSet on the side.
+ *
+ * Versions are told apart by equality, not precedence. Iteration returns
+ * equal, not identical, instances of the packed releases. This class is
+ * not thread-safe.
+ */
+public final class SemanticVersionSet
+{
+	private final PackedReleaseTable packedReleases;
+	private final Set<SemanticVersion> others;
+
+
+	public SemanticVersionSet()
+	{
+		this(0);
+	}
+
+
+	/**
+	 * @param expectedSize The number of releases to make room for up front.
+	 */
+	public SemanticVersionSet(
+		final int expectedSize)
+	{
+		this.packedReleases = new PackedReleaseTable(expectedSize, false);
+		this.others = new HashSet<>();
+	}
+
+
+	/**
+	 * @return Returns true if the version was not in the set yet.
+	 */
+	public boolean add(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final long packedRelease = semanticVersion.getPackedRelease();
+
+		if (0 == packedRelease)
+		{
+			return this.others.add(semanticVersion);
+		}
+
+		final int size = this.packedReleases.size();
+		this.packedReleases.insert(packedRelease);
+		return size != this.packedReleases.size();
+	}
+
+
+	public boolean contains(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final long packedRelease = semanticVersion.getPackedRelease();
+
+		return
+			0 == packedRelease
+				? this.others.contains(semanticVersion)
+				: -1 != this.packedReleases.find(packedRelease);
+	}
+
+
+	/**
+	 * @return Returns true if the version was in the set.
+	 */
+	public boolean remove(
+		/* @Nonnull */ final SemanticVersion semanticVersion)
+	{
+		final long packedRelease = semanticVersion.getPackedRelease();
+
+		if (0 == packedRelease)
+		{
+			return this.others.remove(semanticVersion);
+		}
+
+		final int size = this.packedReleases.size();
+		this.packedReleases.remove(packedRelease);
+		return size != this.packedReleases.size();
+	}
+
+
+	public int size()
+	{
+		return this.packedReleases.size() + this.others.size();
+	}
+
+
+	public boolean isEmpty()
+	{
+		return 0 == this.size();
+	}
+
+
+	public void clear()
+	{
+		this.packedReleases.clear();
+		this.others.clear();
+	}
+
+
+	/**
+	 * Calls the action for every version, in no particular order.
+	 */
+	public void forEach(
+		/* @Nonnull */ final Consumer<? super SemanticVersion> action)
+	{
+		for (int slot = 0; slot < this.packedReleases.capacity(); ++slot)
+		{
+			final long packedRelease = this.packedReleases.packedReleaseAt(slot);
+
+			if (0 != packedRelease)
+			{
+				action.accept(SemanticVersion.fromPackedRelease(packedRelease));
+			}
+		}
+
+		this.others.forEach(action);
+	}
+}
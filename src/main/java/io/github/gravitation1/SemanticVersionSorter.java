@@ -0,0 +1,332 @@
+package io.github.gravitation1;
+
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Sorts versions by precedence, in exactly the order that compareTo
+ * gives, much faster than a comparison sort for large inputs.
+ *
+ * Versions are radix sorted on their precedence keys, which never order
+ * two versions the wrong way around. Only the runs of versions with equal
+ * keys, that is pre-release versions of the same release, versions with
+ * very large version numbers, and versions that differ only in build
+ * metadata, are then sorted with compareTo. Both steps are stable, so
+ * versions of the same precedence always keep their input order.
+ *
+ * The parallel variants sort slices of the input on a fork-join pool, then
+ * merge them, like {@link Arrays#parallelSort(Object[])}.
+ */
+public final class SemanticVersionSorter
+{
+	private static final int COMPARISON_SORT_THRESHOLD;
+	private static final int PARALLEL_SLICE_SIZE;
+	private static final int DIGIT_BITS;
+
+
+	static
+	{
+		COMPARISON_SORT_THRESHOLD = 256;
+		PARALLEL_SLICE_SIZE = 1 << 13;
+		DIGIT_BITS = 8;
+	}
+
+
+	private SemanticVersionSorter()
+	{
+	}
+
+
+	public static void sort(
+		/* @Nonnull */ final SemanticVersion[] semanticVersions)
+	{
+		final Sort sort = new Sort(semanticVersions);
+		sort.radixSort(0, semanticVersions.length);
+	}
+
+
+	public static void sort(
+		/* @Nonnull */ final List<SemanticVersion> semanticVersions)
+	{
+		final SemanticVersion[] array = semanticVersions.toArray(new SemanticVersion[0]);
+		sort(array);
+		copy(array, semanticVersions);
+	}
+
+
+	/**
+	 * Like {@link #sort(SemanticVersion[])}, but sorts large arrays on the
+	 * common fork-join pool.
+	 */
+	public static void parallelSort(
+		/* @Nonnull */ final SemanticVersion[] semanticVersions)
+	{
+		parallelSort(semanticVersions, ForkJoinPool.commonPool());
+	}
+
+
+	/**
+	 * Like {@link #sort(SemanticVersion[])}, but sorts large arrays on the
+	 * given fork-join pool.
+	 */
+	public static void parallelSort(
+		/* @Nonnull */ final SemanticVersion[] semanticVersions,
+		/* @Nonnull */ final ForkJoinPool forkJoinPool)
+	{
+		if (PARALLEL_SLICE_SIZE >= semanticVersions.length || 1 == forkJoinPool.getParallelism())
+		{
+			sort(semanticVersions);
+			return;
+		}
+
+		forkJoinPool.invoke(new SortTask(new Sort(semanticVersions), 0, semanticVersions.length));
+	}
+
+
+	/**
+	 * Like {@link #sort(List)}, but sorts large lists on the common
+	 * fork-join pool.
+	 */
+	public static void parallelSort(
+		/* @Nonnull */ final List<SemanticVersion> semanticVersions)
+	{
+		final SemanticVersion[] array = semanticVersions.toArray(new SemanticVersion[0]);
+		parallelSort(array);
+		copy(array, semanticVersions);
+	}
+
+
+	private static void copy(
+		/* @Nonnull */ final SemanticVersion[] array,
+		/* @Nonnull */ final List<SemanticVersion> semanticVersions)
+	{
+		final ListIterator<SemanticVersion> iterator = semanticVersions.listIterator();
+
+		for (final SemanticVersion semanticVersion : array)
+		{
+			iterator.next();
+			iterator.set(semanticVersion);
+		}
+	}
+
+
+	/**
+	 * The versions being sorted, their precedence keys, and buffers of the
+	 * same size to sort into.
+	 */
+	private static final class Sort
+	{
+		private final SemanticVersion[] semanticVersions;
+		private final long[] keys;
+		private final SemanticVersion[] semanticVersionBuffer;
+		private final long[] keyBuffer;
+
+
+		private Sort(
+			/* @Nonnull */ final SemanticVersion[] semanticVersions)
+		{
+			this.semanticVersions = semanticVersions;
+			this.keys = new long[semanticVersions.length];
+			this.semanticVersionBuffer = new SemanticVersion[semanticVersions.length];
+			this.keyBuffer = new long[semanticVersions.length];
+
+			for (int i = 0; i < semanticVersions.length; ++i)
+			{
+				this.keys[i] = semanticVersions[i].getPrecedenceKey();
+			}
+		}
+
+
+		/**
+		 * Sorts a range with a least significant digit first radix sort on
+		 * the keys, skipping the digits that are the same for every key, then
+		 * sorts each run of equal keys with compareTo.
+		 */
+		private void radixSort(
+			final int from,
+			final int to)
+		{
+			if (COMPARISON_SORT_THRESHOLD > to - from)
+			{
+				this.comparisonSort(from, to);
+				return;
+			}
+
+			long anyBits = 0;
+			long allBits = -1;
+
+			for (int i = from; i < to; ++i)
+			{
+				anyBits |= this.keys[i];
+				allBits &= this.keys[i];
+			}
+
+			final long varyingBits = anyBits ^ allBits;
+			final int radix = 1 << DIGIT_BITS;
+			final int[] counts = new int[radix + 1];
+			long[] keys = this.keys;
+			SemanticVersion[] semanticVersions = this.semanticVersions;
+			long[] keyBuffer = this.keyBuffer;
+			SemanticVersion[] semanticVersionBuffer = this.semanticVersionBuffer;
+
+			for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS)
+			{
+				if (0 == ((varyingBits >>> shift) & (radix - 1)))
+				{
+					continue;
+				}
+
+				Arrays.fill(counts, 0);
+
+				for (int i = from; i < to; ++i)
+				{
+					++counts[(int) ((keys[i] >>> shift) & (radix - 1)) + 1];
+				}
+
+				counts[0] = from;
+
+				for (int digit = 0; digit < radix; ++digit)
+				{
+					counts[digit + 1] += counts[digit];
+				}
+
+				for (int i = from; i < to; ++i)
+				{
+					final int index = counts[(int) ((keys[i] >>> shift) & (radix - 1))]++;
+					keyBuffer[index] = keys[i];
+					semanticVersionBuffer[index] = semanticVersions[i];
+				}
+
+				final long[] sortedKeys = keyBuffer;
+				final SemanticVersion[] sortedSemanticVersions = semanticVersionBuffer;
+				keyBuffer = keys;
+				semanticVersionBuffer = semanticVersions;
+				keys = sortedKeys;
+				semanticVersions = sortedSemanticVersions;
+			}
+
+			if (keys != this.keys)
+			{
+				System.arraycopy(keys, from, this.keys, from, to - from);
+				System.arraycopy(semanticVersions, from, this.semanticVersions, from, to - from);
+			}
+
+			for (int runStart = from; runStart < to; )
+			{
+				int runEnd = runStart + 1;
+
+				while (runEnd < to && this.keys[runEnd] == this.keys[runStart])
+				{
+					++runEnd;
+				}
+
+				if (1 < runEnd - runStart)
+				{
+					Arrays.sort(this.semanticVersions, runStart, runEnd, SemanticVersion.PRECEDENCE_ORDER);
+				}
+
+				runStart = runEnd;
+			}
+		}
+
+
+		private void comparisonSort(
+			final int from,
+			final int to)
+		{
+			Arrays.sort(this.semanticVersions, from, to, SemanticVersion.PRECEDENCE_ORDER);
+
+			for (int i = from; i < to; ++i)
+			{
+				this.keys[i] = this.semanticVersions[i].getPrecedenceKey();
+			}
+		}
+
+
+		/**
+		 * Merges two adjacent sorted ranges, taking from the first range
+		 * when versions have the same precedence.
+		 */
+		private void merge(
+			final int from,
+			final int middle,
+			final int to)
+		{
+			int first = from;
+			int second = middle;
+			int index = from;
+
+			while (first < middle && second < to)
+			{
+				final int keyComparison = Long.compare(this.keys[first], this.keys[second]);
+
+				if (
+					0 > keyComparison
+					|| (0 == keyComparison
+						&& 0 >= this.semanticVersions[first].compareTo(this.semanticVersions[second])))
+				{
+					this.keyBuffer[index] = this.keys[first];
+					this.semanticVersionBuffer[index++] = this.semanticVersions[first++];
+				}
+				else
+				{
+					this.keyBuffer[index] = this.keys[second];
+					this.semanticVersionBuffer[index++] = this.semanticVersions[second++];
+				}
+			}
+
+			// Whatever is left of the second range is already in place.
+			System.arraycopy(this.keys, first, this.keyBuffer, index, middle - first);
+			System.arraycopy(this.semanticVersions, first, this.semanticVersionBuffer, index, middle - first);
+			index += middle - first;
+			System.arraycopy(this.keyBuffer, from, this.keys, from, index - from);
+			System.arraycopy(this.semanticVersionBuffer, from, this.semanticVersions, from, index - from);
+		}
+	}
+
+
+	/**
+	 * Splits a range in half until it is small enough to radix sort, then
+	 * merges the sorted halves.
+	 */
+	private static final class SortTask extends RecursiveAction
+	{
+		private final Sort sort;
+		private final int from;
+		private final int to;
+
+
+		private SortTask(
+			/* @Nonnull */ final Sort sort,
+			final int from,
+			final int to)
+		{
+			this.sort = sort;
+			this.from = from;
+			this.to = to;
+		}
+
+
+		@Override
+		protected void compute()
+		{
+			if (PARALLEL_SLICE_SIZE >= this.to - this.from)
+			{
+				this.sort.radixSort(this.from, this.to);
+				return;
+			}
+
+			final int middle = (this.from + this.to) >>> 1;
+			final SortTask firstHalf = new SortTask(this.sort, this.from, middle);
+			firstHalf.fork();
+			new SortTask(this.sort, middle, this.to).compute();
+			firstHalf.join();
+			this.sort.merge(this.from, middle, this.to);
+		}
+	}
+}
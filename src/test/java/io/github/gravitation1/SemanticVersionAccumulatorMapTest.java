@@ -0,0 +1,84 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+public class SemanticVersionAccumulatorMapTest
+{
+	@Test
+	public void accumulateTest()
+	{
+		final SemanticVersionAccumulatorMap<String> accumulators = new SemanticVersionAccumulatorMap<>();
+
+		Assert.assertTrue(accumulators.accumulate("left-pad", SemanticVersion.from("1.0.0")));
+		Assert.assertTrue(accumulators.accumulate("left-pad", SemanticVersion.from("1.3.0")));
+		Assert.assertTrue(accumulators.accumulate("lodash", SemanticVersion.from("4.17.21")));
+		Assert.assertTrue(accumulators.accumulate("lodash", SemanticVersion.from("5.0.0-alpha")));
+		Assert.assertFalse(accumulators.accumulate("left-pad", SemanticVersion.from("1.1.0")));
+
+		Assert.assertEquals(2, accumulators.size());
+		Assert.assertEquals(SemanticVersion.from("1.3.0"), accumulators.getLatest("left-pad"));
+		Assert.assertEquals(SemanticVersion.from("5.0.0-alpha"), accumulators.getLatest("lodash"));
+		Assert.assertEquals(SemanticVersion.from("4.17.21"), accumulators.getLatestStable("lodash"));
+		Assert.assertNull(accumulators.getLatest("react"));
+		Assert.assertNull(accumulators.getLatestStable("react"));
+
+		final Map<String, SemanticVersion> latest = new HashMap<>();
+		accumulators.forEach((key, accumulator) -> latest.put(key, accumulator.getLatest()));
+
+		Assert.assertEquals(2, latest.size());
+		Assert.assertEquals(SemanticVersion.from("1.3.0"), latest.get("left-pad"));
+
+		accumulators.remove("left-pad");
+
+		Assert.assertEquals(1, accumulators.size());
+		Assert.assertNull(accumulators.getLatest("left-pad"));
+	}
+
+
+	@Test
+	public void concurrencyTest()
+		throws InterruptedException
+	{
+		final SemanticVersionAccumulatorMap<Integer> accumulators = new SemanticVersionAccumulatorMap<>();
+		final List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < 4; ++i)
+		{
+			final int offset = i;
+			threads.add(
+				new Thread(
+					() ->
+					{
+						for (int j = 0; j < 10000; ++j)
+						{
+							accumulators.accumulate(j % 10, SemanticVersion.of(1, j, offset));
+						}
+					}));
+		}
+
+		for (final Thread thread : threads)
+		{
+			thread.start();
+		}
+
+		for (final Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		Assert.assertEquals(10, accumulators.size());
+
+		for (int key = 0; key < 10; ++key)
+		{
+			Assert.assertEquals(SemanticVersion.of(1, 9990 + key, 3), accumulators.getLatest(key));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+
+public class SemanticVersionAccumulatorTest
+{
+	@Test
+	public void accumulateTest()
+	{
+		final SemanticVersionAccumulator accumulator = new SemanticVersionAccumulator();
+
+		Assert.assertNull(accumulator.getLatest());
+		Assert.assertNull(accumulator.getLatestStable());
+		Assert.assertTrue(accumulator.accumulate(SemanticVersion.from("1.0.0")));
+		Assert.assertTrue(accumulator.accumulate(SemanticVersion.from("2.0.0-rc.1")));
+		Assert.assertFalse(accumulator.accumulate(SemanticVersion.from("1.5.0")));
+		Assert.assertFalse(accumulator.accumulate(SemanticVersion.from("2.0.0-beta")));
+		Assert.assertEquals(SemanticVersion.from("2.0.0-rc.1"), accumulator.getLatest());
+		Assert.assertEquals(SemanticVersion.from("1.5.0"), accumulator.getLatestStable());
+
+		accumulator.reset();
+
+		Assert.assertNull(accumulator.getLatest());
+		Assert.assertNull(accumulator.getLatestStable());
+	}
+
+
+	@Test
+	public void equalPrecedenceTest()
+	{
+		final SemanticVersionAccumulator accumulator = new SemanticVersionAccumulator();
+
+		Assert.assertTrue(accumulator.accumulate(SemanticVersion.from("1.0.0+b")));
+		Assert.assertFalse(accumulator.accumulate(SemanticVersion.from("1.0.0+a")));
+		Assert.assertFalse(accumulator.accumulate(SemanticVersion.from("1.0.0+b")));
+		Assert.assertEquals("1.0.0+b", accumulator.getLatest().toString());
+	}
+
+
+	@Test
+	public void concurrencyTest()
+		throws InterruptedException
+	{
+		final Random random = new Random(11);
+		final List<SemanticVersion> semanticVersions = new ArrayList<>();
+
+		for (int i = 0; i < 20000; ++i)
+		{
+			semanticVersions.add(
+				SemanticVersion.from(
+					random.nextInt(5) + "." + random.nextInt(5) + "." + random.nextInt(5)
+					+ (random.nextBoolean() ? "-rc." + random.nextInt(5) : "")
+					+ (random.nextBoolean() ? "+b" + random.nextInt(5) : "")));
+		}
+
+		final SemanticVersionIndex index = new SemanticVersionIndex(semanticVersions);
+		final SemanticVersionAccumulator accumulator = new SemanticVersionAccumulator();
+		final List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < 4; ++i)
+		{
+			final List<SemanticVersion> shuffled = new ArrayList<>(semanticVersions);
+			Collections.shuffle(shuffled, new Random(i));
+			threads.add(new Thread(() -> shuffled.forEach(accumulator::accumulate)));
+		}
+
+		for (final Thread thread : threads)
+		{
+			thread.start();
+		}
+
+		for (final Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		Assert.assertEquals(index.latest().toString(), accumulator.getLatest().toString());
+		Assert.assertEquals(index.latestStable().toString(), accumulator.getLatestStable().toString());
+	}
+}
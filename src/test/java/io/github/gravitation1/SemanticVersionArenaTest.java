@@ -0,0 +1,191 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+public class SemanticVersionArenaTest
+{
+	@Test
+	public void addTest()
+	{
+		final SemanticVersionArena arena = new SemanticVersionArena();
+		final List<String> semanticVersionStrings =
+			Arrays.asList(
+				"0.0.0",
+				"1.2.3",
+				"1.2.3+build.5",
+				"1.0.0-alpha.1",
+				"1.0.0-rc.1+build.5",
+				"2147483647.2147483647.2147483647-0.a-b--c");
+
+		for (final String semanticVersionString : semanticVersionStrings)
+		{
+			final SemanticVersion semanticVersion = SemanticVersion.from(semanticVersionString);
+			final long handle = arena.add(semanticVersion);
+			final SemanticVersionArena.View view = arena.view(handle);
+
+			Assert.assertEquals(semanticVersion, arena.get(handle));
+			Assert.assertEquals(semanticVersionString, arena.toString(handle));
+			Assert.assertEquals(semanticVersion.hashCode(), arena.hashCode(handle));
+			Assert.assertEquals(semanticVersion.getMajor(), arena.getMajor(handle));
+			Assert.assertEquals(semanticVersion.getMinor(), view.getMinor());
+			Assert.assertEquals(semanticVersion.getPatch(), view.getPatch());
+			Assert.assertEquals(!semanticVersion.getPreReleaseData().isEmpty(), view.hasPreReleaseData());
+			Assert.assertEquals(semanticVersion, view.toSemanticVersion());
+			Assert.assertEquals(semanticVersionString, view.toString());
+			Assert.assertEquals(handle, view.getHandle());
+		}
+
+		Assert.assertEquals(semanticVersionStrings.size(), arena.size());
+	}
+
+
+	@Test
+	public void orderTest()
+	{
+		// In order of precedence, as per https://semver.org/#spec-item-11
+		final List<String> semanticVersionStrings =
+			Arrays.asList(
+				"1.0.0-alpha",
+				"1.0.0-alpha.1",
+				"1.0.0-alpha.beta",
+				"1.0.0-beta",
+				"1.0.0-beta.2",
+				"1.0.0-beta.11",
+				"1.0.0-rc.1",
+				"1.0.0",
+				"2.0.0",
+				"2.1.0",
+				"2.1.1",
+				"2147483647.0.0-1",
+				"2147483647.0.0");
+		final SemanticVersionArena arena = new SemanticVersionArena();
+		final long[] handles = new long[semanticVersionStrings.size()];
+
+		for (int i = 0; i < handles.length; ++i)
+		{
+			handles[i] = arena.add(SemanticVersion.from(semanticVersionStrings.get(i)));
+		}
+
+		final SemanticVersionArena.View view = arena.view(handles[0]);
+		final SemanticVersionArena.View other = arena.view(handles[0]);
+
+		for (int i = 1; i < handles.length; ++i)
+		{
+			Assert.assertTrue(semanticVersionStrings.get(i), 0 > arena.compare(handles[i - 1], handles[i]));
+			Assert.assertTrue(semanticVersionStrings.get(i), 0 < arena.compare(handles[i], handles[i - 1]));
+			Assert.assertTrue(0 > view.moveTo(handles[i - 1]).compareTo(other.moveTo(handles[i])));
+		}
+
+		final long buildMetadataHandle = arena.add(SemanticVersion.from("1.0.0-rc.1+build.5"));
+
+		Assert.assertEquals(0, arena.compare(handles[6], buildMetadataHandle));
+		Assert.assertFalse(arena.equals(handles[6], buildMetadataHandle));
+	}
+
+
+	@Test
+	public void chunkTest()
+	{
+		final SemanticVersionArena arena = new SemanticVersionArena(64);
+		final long[] handles = new long[100];
+
+		for (int i = 0; i < handles.length; ++i)
+		{
+			handles[i] = arena.add(SemanticVersion.from("1.0." + i + "-rc." + i));
+		}
+
+		Assert.assertEquals(100 * 64, arena.getCapacity());
+
+		for (int i = 0; i < handles.length; ++i)
+		{
+			Assert.assertEquals("1.0." + i + "-rc." + i, arena.toString(handles[i]));
+		}
+
+		arena.clear();
+
+		Assert.assertEquals(0, arena.size());
+		Assert.assertEquals("2.0.0", arena.toString(arena.add(SemanticVersion.from("2.0.0"))));
+		Assert.assertEquals(100 * 64, arena.getCapacity());
+
+		try
+		{
+			arena.add(SemanticVersion.from("1.0.0-" + new String(new char[64]).replace('\0', 'a')));
+			Assert.fail();
+		}
+		catch (final IllegalArgumentException e)
+		{
+			Assert.assertEquals(1, arena.size());
+		}
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(23);
+		final String[] identifiers = { "0", "1", "2", "10", "11", "alpha", "alpha1", "beta", "a-b", "B", "rc" };
+		final List<SemanticVersion> semanticVersions = new ArrayList<>();
+		final SemanticVersionArena arena = new SemanticVersionArena(4096);
+		final SemanticVersionArena otherArena = new SemanticVersionArena();
+		final List<Long> handles = new ArrayList<>();
+		final List<Long> otherHandles = new ArrayList<>();
+
+		for (int i = 0; i < 2000; ++i)
+		{
+			final StringBuilder stringBuilder =
+				new StringBuilder()
+					.append(random.nextInt(3))
+					.append('.')
+					.append(random.nextInt(3))
+					.append('.')
+					.append(random.nextInt(3));
+			final int identifierCount = random.nextInt(4);
+
+			for (int j = 0; j < identifierCount; ++j)
+			{
+				stringBuilder.append(0 == j ? '-' : '.').append(identifiers[random.nextInt(identifiers.length)]);
+			}
+
+			if (random.nextBoolean())
+			{
+				stringBuilder.append("+b").append(random.nextInt(3));
+			}
+
+			final SemanticVersion semanticVersion = SemanticVersion.from(stringBuilder);
+			semanticVersions.add(semanticVersion);
+			handles.add(arena.add(semanticVersion));
+			otherHandles.add(otherArena.add(semanticVersion));
+		}
+
+		final SemanticVersionArena.View view = arena.view(handles.get(0));
+		final SemanticVersionArena.View otherView = otherArena.view(otherHandles.get(0));
+
+		for (int n = 0; n < 20000; ++n)
+		{
+			final int i = random.nextInt(semanticVersions.size());
+			final int j = random.nextInt(semanticVersions.size());
+			final SemanticVersion semanticVersion = semanticVersions.get(i);
+			final SemanticVersion other = semanticVersions.get(j);
+			final String message = semanticVersion + " " + other;
+
+			Assert.assertEquals(
+				message,
+				Integer.signum(semanticVersion.compareTo(other)),
+				Integer.signum(arena.compare(handles.get(i), handles.get(j))));
+			Assert.assertEquals(
+				message,
+				Integer.signum(semanticVersion.compareTo(other)),
+				Integer.signum(view.moveTo(handles.get(i)).compareTo(otherView.moveTo(otherHandles.get(j)))));
+			Assert.assertEquals(message, semanticVersion.equals(other), arena.equals(handles.get(i), handles.get(j)));
+			Assert.assertEquals(message, semanticVersion.equals(other), view.equals(otherView));
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+
+public class SemanticVersionBatchResolverTest
+{
+	@Test
+	public void maxSatisfyingTest()
+	{
+		final SemanticVersionIndex index =
+			new SemanticVersionIndex(
+				Arrays.asList(
+					SemanticVersion.from("1.0.0"),
+					SemanticVersion.from("1.4.2"),
+					SemanticVersion.from("2.0.0-rc.1"),
+					SemanticVersion.from("2.1.0")));
+
+		Assert.assertEquals(
+			Arrays.asList(
+				SemanticVersion.from("1.4.2"),
+				null,
+				SemanticVersion.from("2.1.0"),
+				SemanticVersion.from("1.4.2"),
+				SemanticVersion.from("2.0.0-rc.1")),
+			SemanticVersionBatchResolver.maxSatisfying(
+				index,
+				Arrays.asList(
+					SemanticVersionRange.from("^1.0.0"),
+					SemanticVersionRange.from("^3"),
+					SemanticVersionRange.from("*"),
+					SemanticVersionRange.from("^1.0.0"),
+					SemanticVersionRange.from("<2.0.0 || 2.0.0-rc.1"))));
+	}
+
+
+	@Test
+	public void emptyTest()
+	{
+		Assert.assertEquals(
+			Collections.emptyList(),
+			SemanticVersionBatchResolver.maxSatisfying(
+				new SemanticVersionIndex(Collections.emptyList()),
+				Collections.emptyList()));
+		Assert.assertEquals(
+			Collections.singletonList(null),
+			SemanticVersionBatchResolver.maxSatisfying(
+				new SemanticVersionIndex(Collections.emptyList()),
+				Collections.singletonList(SemanticVersionRange.from("*"))));
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(7);
+		final List<SemanticVersion> semanticVersions = new ArrayList<>();
+
+		for (int i = 0; i < 3000; ++i)
+		{
+			semanticVersions.add(
+				SemanticVersion.from(
+					random.nextInt(10) + "." + random.nextInt(30) + "." + random.nextInt(30)
+					+ (0 == random.nextInt(5) ? "-rc." + random.nextInt(3) : "")));
+		}
+
+		final String[] operators = { "^", "~", ">=", "<", "<=", ">", "" };
+		final List<SemanticVersionRange> ranges = new ArrayList<>();
+
+		for (int i = 0; i < 5000; ++i)
+		{
+			final String partial =
+				random.nextInt(10) + "." + random.nextInt(30)
+				+ (0 == random.nextInt(3) ? ".x" : "." + random.nextInt(30));
+			final String range = operators[random.nextInt(operators.length)] + partial;
+			ranges.add(SemanticVersionRange.from(0 == random.nextInt(5) ? range + " || >=9.29.0-rc.0" : range));
+		}
+
+		final SemanticVersionIndex index = new SemanticVersionIndex(semanticVersions);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+
+		try
+		{
+			final List<SemanticVersion> resolved = SemanticVersionBatchResolver.maxSatisfying(index, ranges, pool);
+			Assert.assertEquals(ranges.size(), resolved.size());
+
+			for (int i = 0; i < ranges.size(); ++i)
+			{
+				Assert.assertSame(ranges.get(i).toString(), index.maxSatisfying(ranges.get(i)), resolved.get(i));
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+
+public class SemanticVersionBulkParserTest
+{
+	@Test
+	public void parseTest() throws IOException
+	{
+		final SemanticVersionBulkParser.Result result =
+			parse("1.0.0\r\n1.0.0-alpha.1+build\n01.0.0\n\n2.0.0-rc.01\n3.0.0");
+		Assert.assertEquals(6, result.getLineCount());
+		Assert.assertEquals(SemanticVersion.from("1.0.0"), result.getSemanticVersion(0));
+		Assert.assertEquals(SemanticVersion.from("1.0.0-alpha.1+build"), result.getSemanticVersion(1));
+		Assert.assertNull(result.getSemanticVersion(2));
+		Assert.assertNull(result.getSemanticVersion(3));
+		Assert.assertNull(result.getSemanticVersion(4));
+		Assert.assertEquals(SemanticVersion.from("3.0.0"), result.getSemanticVersions().get(5));
+
+		final List<SemanticVersionBulkParser.LineError> errors = result.getErrors();
+		Assert.assertEquals(3, errors.size());
+		Assert.assertEquals(2, errors.get(0).getLineIndex());
+		Assert.assertEquals(SemanticVersion.ParseError.ILLEGAL_MAJOR_VERSION, errors.get(0).getError());
+		Assert.assertEquals(0, errors.get(0).getErrorOffset());
+		Assert.assertEquals(3, errors.get(1).getLineIndex());
+		Assert.assertEquals(SemanticVersion.ParseError.INVALID_BASE_FORMAT, errors.get(1).getError());
+		Assert.assertEquals(4, errors.get(2).getLineIndex());
+		Assert.assertEquals(SemanticVersion.ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER, errors.get(2).getError());
+		Assert.assertEquals(9, errors.get(2).getErrorOffset());
+	}
+
+
+	@Test
+	public void parseTestEmptyFile() throws IOException
+	{
+		final SemanticVersionBulkParser.Result result = parse("");
+		Assert.assertEquals(0, result.getLineCount());
+		Assert.assertTrue(result.getErrors().isEmpty());
+	}
+
+
+	@Test
+	public void parseTestTrailingLineFeed() throws IOException
+	{
+		Assert.assertEquals(2, parse("1.0.0\n2.0.0\n").getLineCount());
+	}
+
+
+	@Test
+	public void parseTestManyChunks() throws IOException
+	{
+		// Enough lines for several chunks, with lines that are long enough to
+		// be cut by chunk boundaries.
+		final StringBuilder contents = new StringBuilder();
+		final List<String> lines = new ArrayList<>();
+
+		for (int i = 0; i < 40000; ++i)
+		{
+			final String line =
+				0 == i % 97
+					? "not a version " + i
+					: i + ".0." + (i % 13) + "-build." + i + "+sha." + Integer.toHexString(i * 31);
+			lines.add(line);
+			contents.append(line).append('\n');
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(4);
+
+		try
+		{
+			final SemanticVersionBulkParser.Result result = parse(contents.toString(), pool);
+			Assert.assertEquals(lines.size(), result.getLineCount());
+
+			int errorIndex = 0;
+
+			for (int i = 0; i < lines.size(); ++i)
+			{
+				if (0 == i % 97)
+				{
+					Assert.assertNull(result.getSemanticVersion(i));
+					Assert.assertEquals(i, result.getErrors().get(errorIndex++).getLineIndex());
+				}
+				else
+				{
+					Assert.assertEquals(lines.get(i), result.getSemanticVersion(i).toString());
+				}
+			}
+
+			Assert.assertEquals(errorIndex, result.getErrors().size());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+
+	@Test
+	public void parseTestLineLongerThanChunk() throws IOException
+	{
+		final StringBuilder longLine = new StringBuilder("1.0.0-x");
+
+		while (200000 > longLine.length())
+		{
+			longLine.append(".abc");
+		}
+
+		final SemanticVersionBulkParser.Result result = parse("1.0.0\n" + longLine + "\r\n2.0.0\n" + longLine);
+		Assert.assertEquals(4, result.getLineCount());
+		Assert.assertEquals(longLine.toString(), result.getSemanticVersion(1).toString());
+		Assert.assertEquals(SemanticVersion.from("2.0.0"), result.getSemanticVersion(2));
+		Assert.assertEquals(longLine.toString(), result.getSemanticVersion(3).toString());
+		Assert.assertTrue(result.getErrors().isEmpty());
+	}
+
+
+	private static SemanticVersionBulkParser.Result parse(
+		final String contents)
+	throws
+		IOException
+	{
+		return parse(contents, ForkJoinPool.commonPool());
+	}
+
+
+	private static SemanticVersionBulkParser.Result parse(
+		final String contents,
+		final ForkJoinPool pool)
+	throws
+		IOException
+	{
+		final Path path = Files.createTempFile("versions", ".txt");
+
+		try
+		{
+			Files.write(path, contents.getBytes(StandardCharsets.US_ASCII));
+			return SemanticVersionBulkParser.parse(path, pool);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+public class SemanticVersionCacheTest
+{
+	@Test
+	public void fromTest()
+	{
+		final SemanticVersionCache cache = new SemanticVersionCache(10);
+		final SemanticVersion semanticVersion = cache.from("1.2.3-alpha+build");
+		Assert.assertEquals(SemanticVersion.from("1.2.3-alpha+build"), semanticVersion);
+		Assert.assertSame(semanticVersion, cache.from("1.2.3-alpha+build"));
+		Assert.assertSame(semanticVersion, cache.parseOrNull("1.2.3-alpha+build"));
+		Assert.assertSame(semanticVersion, cache.intern(SemanticVersion.from("1.2.3-alpha+build")));
+		Assert.assertEquals(1, cache.size());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(3, cache.getHitCount());
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPreReleaseIdentifier.class)
+	public void fromTestInvalid()
+	{
+		new SemanticVersionCache(10).from("1.2.3-01");
+	}
+
+
+	@Test
+	public void parseOrNullTest()
+	{
+		final SemanticVersionCache cache = new SemanticVersionCache(10);
+		Assert.assertNull(cache.parseOrNull("1.2.3-01"));
+		Assert.assertNull(cache.parseOrNull("1.2.3-01"));
+		Assert.assertEquals(0, cache.size());
+		Assert.assertEquals(2, cache.getMissCount());
+	}
+
+
+	@Test
+	public void internTest()
+	{
+		final SemanticVersionCache cache = new SemanticVersionCache(10);
+		final SemanticVersion semanticVersion = new SemanticVersion(1, 2, 3);
+		Assert.assertSame(semanticVersion, cache.intern(semanticVersion));
+		Assert.assertSame(semanticVersion, cache.from("1.2.3"));
+	}
+
+
+	@Test
+	public void evictionTest()
+	{
+		final SemanticVersionCache cache = new SemanticVersionCache(3);
+		final SemanticVersion referenced = cache.from("1.0.0");
+		cache.from("2.0.0");
+		cache.from("3.0.0");
+		Assert.assertSame(referenced, cache.from("1.0.0"));
+		cache.from("4.0.0");
+		Assert.assertEquals(3, cache.size());
+		Assert.assertEquals(1, cache.getEvictionCount());
+		// 2.0.0 was the oldest entry that had not been looked up again.
+		Assert.assertSame(referenced, cache.from("1.0.0"));
+		final long missCount = cache.getMissCount();
+		cache.from("2.0.0");
+		Assert.assertEquals(missCount + 1, cache.getMissCount());
+	}
+
+
+	@Test(expected = IllegalArgumentException.class)
+	public void illegalMaximumSizeTest()
+	{
+		new SemanticVersionCache(0);
+	}
+
+
+	@Test
+	public void concurrentTest() throws Exception
+	{
+		final SemanticVersionCache cache = new SemanticVersionCache(50);
+		final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+		try
+		{
+			final List<Future<?>> futures = new ArrayList<>();
+
+			for (int thread = 0; thread < 8; ++thread)
+			{
+				futures.add(
+					executorService.submit(
+						() ->
+						{
+							for (int i = 0; i < 20000; ++i)
+							{
+								final String semanticVersionString = "1." + (i % 100) + ".0";
+								Assert.assertEquals(semanticVersionString, cache.from(semanticVersionString).toString());
+							}
+						}));
+			}
+
+			for (final Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+
+		Assert.assertEquals(8 * 20000, cache.getHitCount() + cache.getMissCount());
+		Assert.assertTrue(50 >= cache.size());
+	}
+}
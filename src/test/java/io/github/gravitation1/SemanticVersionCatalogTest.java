@@ -0,0 +1,219 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+public class SemanticVersionCatalogTest
+{
+	@Test
+	public void publishTest()
+	{
+		final SemanticVersionCatalog catalog = new SemanticVersionCatalog();
+		Assert.assertNull(catalog.getVersions("a"));
+
+		Assert.assertTrue(catalog.publish("a", SemanticVersion.from("1.0.0")));
+		Assert.assertTrue(catalog.publish("a", SemanticVersion.from("2.0.0-rc.1")));
+		Assert.assertFalse(catalog.publish("a", SemanticVersion.from("1.0.0")));
+		Assert.assertTrue(catalog.publish("a", SemanticVersion.from("1.0.0+b")));
+		Assert.assertTrue(catalog.publish("b", SemanticVersion.from("0.1.0")));
+		Assert.assertEquals(
+			2,
+			catalog.publishAll(
+				"b",
+				Arrays.asList(SemanticVersion.from("0.1.0"), SemanticVersion.from("0.2.0"), SemanticVersion.from("0.0.1"))));
+		Assert.assertEquals(0, catalog.publishAll("c", new ArrayList<>()));
+
+		final SemanticVersionCatalog.Snapshot snapshot = catalog.snapshot();
+		Assert.assertEquals(2, snapshot.getArtifactCount());
+		Assert.assertEquals(6, snapshot.getVersionCount());
+		Assert.assertEquals(
+			Arrays.asList(SemanticVersion.from("1.0.0"), SemanticVersion.from("1.0.0+b"), SemanticVersion.from("2.0.0-rc.1")),
+			snapshot.getVersions("a").getSemanticVersions());
+		Assert.assertEquals(SemanticVersion.from("2.0.0-rc.1"), snapshot.latest("a"));
+		Assert.assertEquals(SemanticVersion.from("1.0.0+b"), snapshot.latestStable("a"));
+		Assert.assertEquals(SemanticVersion.from("0.2.0"), snapshot.latest("b"));
+		Assert.assertNull(snapshot.latest("c"));
+		Assert.assertNull(snapshot.latestStable("c"));
+	}
+
+
+	@Test
+	public void snapshotTest()
+	{
+		final SemanticVersionCatalog catalog = new SemanticVersionCatalog();
+		catalog.publish("a", SemanticVersion.from("1.0.0"));
+
+		final SemanticVersionCatalog.Snapshot snapshot = catalog.snapshot();
+		catalog.publish("a", SemanticVersion.from("1.1.0"));
+		catalog.publish("b", SemanticVersion.from("1.0.0"));
+
+		Assert.assertEquals(SemanticVersion.from("1.0.0"), snapshot.latest("a"));
+		Assert.assertEquals(1, snapshot.getVersions("a").size());
+		Assert.assertNull(snapshot.getVersions("b"));
+		Assert.assertEquals(1, snapshot.getArtifactCount());
+		Assert.assertEquals(SemanticVersion.from("1.1.0"), catalog.snapshot().latest("a"));
+		Assert.assertEquals(2, catalog.snapshot().getArtifactCount());
+	}
+
+
+	/**
+	 * Publishes to many artifacts, including some whose names have the same
+	 * hash code, and compares every snapshot along the way with a map.
+	 */
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(7);
+		final SemanticVersionCatalog catalog = new SemanticVersionCatalog();
+		final Map<String, List<SemanticVersion>> expected = new HashMap<>();
+		final List<SemanticVersionCatalog.Snapshot> snapshots = new ArrayList<>();
+		final List<Map<String, Integer>> expectedSizes = new ArrayList<>();
+
+		for (int i = 0; i < 20000; ++i)
+		{
+			// "Aa" and "BB" have the same hash code, and so do strings made of them.
+			final String artifact =
+				0 == random.nextInt(10)
+					? (random.nextBoolean() ? "Aa" : "BB") + (random.nextBoolean() ? "Aa" : "BB")
+					: "artifact-" + random.nextInt(5000);
+			final SemanticVersion semanticVersion = SemanticVersion.of(random.nextInt(3), random.nextInt(10), 0);
+			final List<SemanticVersion> versions = expected.computeIfAbsent(artifact, k -> new ArrayList<>());
+
+			Assert.assertEquals(!versions.contains(semanticVersion), catalog.publish(artifact, semanticVersion));
+
+			if (!versions.contains(semanticVersion))
+			{
+				versions.add(semanticVersion);
+			}
+
+			if (0 == i % 1000)
+			{
+				final Map<String, Integer> sizes = new HashMap<>();
+				expected.forEach((key, value) -> sizes.put(key, value.size()));
+				snapshots.add(catalog.snapshot());
+				expectedSizes.add(sizes);
+			}
+		}
+
+		final SemanticVersionCatalog.Snapshot snapshot = catalog.snapshot();
+		final Map<String, SemanticVersionIndex> visited = new HashMap<>();
+		snapshot.forEach(visited::put);
+
+		Assert.assertEquals(expected.size(), snapshot.getArtifactCount());
+		Assert.assertEquals(expected.keySet(), visited.keySet());
+		Assert.assertEquals(
+			expected.values().stream().mapToLong(List::size).sum(),
+			snapshot.getVersionCount());
+
+		for (final Map.Entry<String, List<SemanticVersion>> entry : expected.entrySet())
+		{
+			Assert.assertEquals(
+				new SemanticVersionIndex(entry.getValue()).getSemanticVersions(),
+				snapshot.getVersions(entry.getKey()).getSemanticVersions());
+		}
+
+		// Older snapshots still see the catalog as it was.
+		for (int i = 0; i < snapshots.size(); ++i)
+		{
+			Assert.assertEquals(expectedSizes.get(i).size(), snapshots.get(i).getArtifactCount());
+
+			for (final Map.Entry<String, Integer> entry : expectedSizes.get(i).entrySet())
+			{
+				Assert.assertEquals((int) entry.getValue(), snapshots.get(i).getVersions(entry.getKey()).size());
+			}
+		}
+	}
+
+
+	@Test
+	public void concurrencyTest()
+		throws InterruptedException
+	{
+		final SemanticVersionCatalog catalog = new SemanticVersionCatalog();
+		final int writerCount = 4;
+		final int versionCount = 2000;
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicBoolean inconsistent = new AtomicBoolean();
+		final List<Thread> threads = new ArrayList<>();
+
+		for (int w = 0; w < writerCount; ++w)
+		{
+			final int writer = w;
+			threads.add(
+				new Thread(
+					() ->
+					{
+						awaitQuietly(start);
+
+						for (int i = 0; i < versionCount; ++i)
+						{
+							// Each writer publishes the same versions of its own
+							// artifact, and of one shared artifact.
+							catalog.publish("writer-" + writer, SemanticVersion.of(1, i, 0));
+							catalog.publish("shared", SemanticVersion.of(writer, i, 0));
+						}
+					}));
+		}
+
+		threads.add(
+			new Thread(
+				() ->
+				{
+					awaitQuietly(start);
+
+					for (int i = 0; i < 10000; ++i)
+					{
+						final SemanticVersionCatalog.Snapshot snapshot = catalog.snapshot();
+						final long[] visitedCount = new long[1];
+						snapshot.forEach((artifact, index) -> visitedCount[0] += index.size());
+
+						if (visitedCount[0] != snapshot.getVersionCount())
+						{
+							inconsistent.set(true);
+						}
+					}
+				}));
+
+		for (final Thread thread : threads)
+		{
+			thread.start();
+		}
+
+		start.countDown();
+
+		for (final Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		Assert.assertFalse(inconsistent.get());
+		Assert.assertEquals(writerCount + 1, catalog.snapshot().getArtifactCount());
+		Assert.assertEquals(2L * writerCount * versionCount, catalog.snapshot().getVersionCount());
+		Assert.assertEquals(SemanticVersion.of(writerCount - 1, versionCount - 1, 0), catalog.snapshot().latest("shared"));
+	}
+
+
+	private static void awaitQuietly(
+		/* @Nonnull */ final CountDownLatch latch)
+	{
+		try
+		{
+			latch.await();
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+
+public class SemanticVersionCodecTest
+{
+	private static final List<String> SEMANTIC_VERSION_STRINGS =
+		Arrays.asList(
+			"0.0.0",
+			"1.2.3",
+			"2147483647.2147483647.2147483647",
+			"1.0.0-alpha",
+			"1.0.0-alpha.1",
+			"1.0.0-0.3.7",
+			"1.0.0-x.7.z.92",
+			"1.0.0-rc.1+build.1",
+			"1.0.0+001.0010",
+			"1.0.0-99999999999999999999999.999999999999999999+exp.sha.5114f85",
+			"1.0.0-x-y-z.--+-",
+			"1.0.0-rc.1+rc.1");
+
+
+	@Test
+	public void byteBufferTest()
+	{
+		for (final boolean useDictionary : new boolean[] { false, true })
+		{
+			for (final boolean trusted : new boolean[] { false, true })
+			{
+				final SemanticVersionCodec.Encoder encoder = new SemanticVersionCodec.Encoder(useDictionary);
+				final ByteBuffer byteBuffer = ByteBuffer.allocate(4096);
+
+				for (int i = 0; i < 2; ++i)
+				{
+					for (final String semanticVersionString : SEMANTIC_VERSION_STRINGS)
+					{
+						encoder.encode(SemanticVersion.from(semanticVersionString), byteBuffer);
+					}
+				}
+
+				byteBuffer.flip();
+				final SemanticVersionCodec.Decoder decoder = new SemanticVersionCodec.Decoder(trusted);
+
+				for (int i = 0; i < 2; ++i)
+				{
+					for (final String semanticVersionString : SEMANTIC_VERSION_STRINGS)
+					{
+						final SemanticVersion semanticVersion = decoder.decode(byteBuffer);
+						Assert.assertEquals(semanticVersionString, semanticVersion.toString());
+						Assert.assertEquals(SemanticVersion.from(semanticVersionString), semanticVersion);
+					}
+				}
+
+				Assert.assertFalse(byteBuffer.hasRemaining());
+			}
+		}
+	}
+
+
+	@Test
+	public void dataStreamTest()
+		throws IOException
+	{
+		final SemanticVersionCodec.Encoder encoder = new SemanticVersionCodec.Encoder(true);
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		final DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+
+		for (final String semanticVersionString : SEMANTIC_VERSION_STRINGS)
+		{
+			encoder.encode(SemanticVersion.from(semanticVersionString), dataOutputStream);
+		}
+
+		final SemanticVersionCodec.Decoder decoder = new SemanticVersionCodec.Decoder(true);
+		final DataInputStream dataInputStream =
+			new DataInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+
+		for (final String semanticVersionString : SEMANTIC_VERSION_STRINGS)
+		{
+			Assert.assertEquals(semanticVersionString, decoder.decode(dataInputStream).toString());
+		}
+
+		Assert.assertEquals(-1, dataInputStream.read());
+	}
+
+
+	@Test
+	public void dictionaryTest()
+	{
+		final SemanticVersion semanticVersion = SemanticVersion.from("1.0.0-beta.2+sha.5114f85");
+
+		Assert.assertEquals(27, encodedLength(semanticVersion, false, 1));
+		Assert.assertEquals(27, encodedLength(semanticVersion, true, 1));
+		Assert.assertEquals(54, encodedLength(semanticVersion, false, 2));
+		Assert.assertEquals(40, encodedLength(semanticVersion, true, 2));
+	}
+
+
+	@Test
+	public void overflowTest()
+	{
+		final SemanticVersionCodec.Encoder encoder = new SemanticVersionCodec.Encoder(true);
+		final SemanticVersion semanticVersion = SemanticVersion.from("1.0.0-beta");
+
+		try
+		{
+			encoder.encode(semanticVersion, ByteBuffer.allocate(4));
+			Assert.fail();
+		}
+		catch (final BufferOverflowException e)
+		{
+			// The dictionary entry for "beta" must have been forgotten.
+		}
+
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(64);
+		encoder.encode(semanticVersion, byteBuffer);
+		byteBuffer.flip();
+
+		Assert.assertEquals(semanticVersion, new SemanticVersionCodec.Decoder(true).decode(byteBuffer));
+	}
+
+
+	@Test
+	public void underflowTest()
+	{
+		final SemanticVersionCodec.Encoder encoder = new SemanticVersionCodec.Encoder(true);
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(64);
+		encoder.encode(SemanticVersion.from("1.0.0-beta.1"), byteBuffer);
+		final int length = byteBuffer.position();
+		encoder.encode(SemanticVersion.from("1.0.0-beta.2"), byteBuffer);
+		byteBuffer.flip();
+
+		final SemanticVersionCodec.Decoder decoder = new SemanticVersionCodec.Decoder(true);
+		byteBuffer.limit(length - 1);
+
+		try
+		{
+			decoder.decode(byteBuffer);
+			Assert.fail();
+		}
+		catch (final BufferUnderflowException e)
+		{
+			Assert.assertEquals(0, byteBuffer.position());
+		}
+
+		byteBuffer.limit(byteBuffer.capacity());
+
+		Assert.assertEquals(SemanticVersion.from("1.0.0-beta.1"), decoder.decode(byteBuffer));
+		Assert.assertEquals(SemanticVersion.from("1.0.0-beta.2"), decoder.decode(byteBuffer));
+	}
+
+
+	@Test
+	public void malformedTest()
+	{
+		final byte[][] malformedInputs = {
+			{ 1, 0, 0, 9, 0 },
+			{ 1, 0, 0, 4, 0, 0, 0 },
+			{ 1, 0, 0, 0, 2, 1, '_', 0 },
+			{ (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0, 0, 0, 0 },
+		};
+
+		for (final byte[] malformedInput : malformedInputs)
+		{
+			try
+			{
+				new SemanticVersionCodec.Decoder(false).decode(ByteBuffer.wrap(malformedInput));
+				Assert.fail();
+			}
+			catch (final IllegalArgumentException | SemanticVersion.SemanticVersionException e)
+			{
+				// Expected.
+			}
+		}
+	}
+
+
+	private static int encodedLength(
+		/* @Nonnull */ final SemanticVersion semanticVersion,
+		final boolean useDictionary,
+		final int count)
+	{
+		final SemanticVersionCodec.Encoder encoder = new SemanticVersionCodec.Encoder(useDictionary);
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(256);
+
+		for (int i = 0; i < count; ++i)
+		{
+			encoder.encode(semanticVersion, byteBuffer);
+		}
+
+		return byteBuffer.position();
+	}
+}
@@ -0,0 +1,225 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+
+public class SemanticVersionComparatorTest
+{
+	@Test
+	public void orderTest()
+	{
+		// In order of precedence, as per https://semver.org/#spec-item-11
+		final List<String> semanticVersionStrings =
+			Arrays.asList(
+				"0.0.0",
+				"0.0.1",
+				"0.1.0",
+				"1.0.0-0",
+				"1.0.0-1",
+				"1.0.0-9",
+				"1.0.0-10",
+				"1.0.0-99999999999999999999",
+				"1.0.0-alpha",
+				"1.0.0-alpha.1",
+				"1.0.0-alpha.beta",
+				"1.0.0-beta",
+				"1.0.0-beta.2",
+				"1.0.0-beta.11",
+				"1.0.0-rc.1",
+				"1.0.0",
+				"2.0.0",
+				"2.1.0",
+				"2.1.1",
+				"10.0.0",
+				"2147483647.0.0");
+
+		for (int i = 0; i < semanticVersionStrings.size(); ++i)
+		{
+			for (int j = 0; j < semanticVersionStrings.size(); ++j)
+			{
+				Assert.assertEquals(
+					semanticVersionStrings.get(i) + " " + semanticVersionStrings.get(j),
+					Integer.signum(Integer.compare(i, j)),
+					Integer.signum(
+						SemanticVersionComparator.compare(
+							semanticVersionStrings.get(i),
+							semanticVersionStrings.get(j),
+							true)));
+			}
+		}
+	}
+
+
+	@Test
+	public void equalPrecedenceTest()
+	{
+		// Build metadata, and trailing empty fields and identifiers, are
+		// ignored by SemanticVersion.from as well.
+		Assert.assertEquals(0, SemanticVersionComparator.compare("1.0.0-rc.1+build.5", "1.0.0-rc.1", true));
+		Assert.assertEquals(0, SemanticVersionComparator.compare("1.0.0+a", "1.0.0+b", true));
+		Assert.assertEquals(0, SemanticVersionComparator.compare("1.0.0.", "1.0.0", true));
+		Assert.assertEquals(0, SemanticVersionComparator.compare("1.0.0-alpha.", "1.0.0-alpha", true));
+		Assert.assertEquals(0, SemanticVersionComparator.compare("1.0.0-.", "1.0.0", true));
+		Assert.assertTrue(0 > SemanticVersionComparator.compare("1.0.0-alpha..+b", "1.0.0-alpha.0", true));
+	}
+
+
+	@Test
+	public void validationTest()
+	{
+		final List<String> invalidStrings =
+			Arrays.asList(
+				"",
+				"1.0",
+				"1.0.0.0",
+				"01.0.0",
+				"1.a.0",
+				"1.0.2147483648",
+				"1.0.0-",
+				"1.0.0-01",
+				"1.0.0-a..b",
+				"1.0.0-a_b",
+				"1.0.0+",
+				"1.0.0+a+b",
+				"1.0.0-\u00e9");
+
+		for (final String invalidString : invalidStrings)
+		{
+			final SemanticVersion.ParseResult result = SemanticVersion.tryParse(invalidString);
+
+			Assert.assertFalse(invalidString, result.isValid());
+
+			try
+			{
+				SemanticVersionComparator.compare("1.0.0", invalidString, true);
+				Assert.fail(invalidString);
+			}
+			catch (final SemanticVersion.SemanticVersionException e)
+			{
+				Assert.assertEquals(
+					result.getError().exception(invalidString, result.getErrorOffset()).getMessage(),
+					e.getMessage());
+			}
+
+			// Without validation, invalid strings are ordered somehow, but never
+			// make the comparison throw.
+			SemanticVersionComparator.compare(invalidString, "1.0.0-rc.1", false);
+			SemanticVersionComparator.compare("1.0.0-rc.1", invalidString, false);
+			SemanticVersionComparator.compare(invalidString, invalidString, false);
+		}
+	}
+
+
+	@Test
+	public void bytesTest()
+	{
+		final byte[] bytes = "[1.0.0-rc.2, 1.0.0-rc.11]".getBytes(StandardCharsets.US_ASCII);
+
+		Assert.assertTrue(0 > SemanticVersionComparator.compare(bytes, 1, 10, bytes, 13, 11, true));
+		Assert.assertTrue(0 < SemanticVersionComparator.compare(bytes, 13, 11, bytes, 1, 10, false));
+		Assert.assertEquals(0, SemanticVersionComparator.compare(bytes, 1, 10, bytes, 1, 10, true));
+
+		try
+		{
+			SemanticVersionComparator.compare(bytes, 0, 10, bytes, 13, 11, true);
+			Assert.fail();
+		}
+		catch (final SemanticVersion.IllegalMajorVersion e)
+		{
+			Assert.assertEquals(0, e.getErrorOffset());
+		}
+
+		try
+		{
+			SemanticVersionComparator.compare(bytes, 20, 10, bytes, 13, 11, false);
+			Assert.fail();
+		}
+		catch (final IndexOutOfBoundsException e)
+		{
+			Assert.assertEquals("20, 10", e.getMessage());
+		}
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(29);
+		final String[] identifiers = { "0", "1", "2", "10", "11", "alpha", "alpha1", "beta", "a-b", "B", "rc", "" };
+		final List<String> semanticVersionStrings = new ArrayList<>();
+
+		for (int i = 0; i < 2000; ++i)
+		{
+			final StringBuilder stringBuilder =
+				new StringBuilder()
+					.append(random.nextInt(12))
+					.append('.')
+					.append(random.nextInt(3))
+					.append('.')
+					.append(random.nextInt(3));
+			final int identifierCount = random.nextInt(4);
+
+			for (int j = 0; j < identifierCount; ++j)
+			{
+				// Empty identifiers are only valid after the last one.
+				final boolean trailing = 0 < j && identifierCount - 1 == j;
+
+				stringBuilder
+					.append(0 == j ? '-' : '.')
+					.append(identifiers[random.nextInt(identifiers.length - (trailing ? 0 : 1))]);
+			}
+
+			if (random.nextBoolean())
+			{
+				stringBuilder.append("+b").append(random.nextInt(3));
+			}
+
+			semanticVersionStrings.add(stringBuilder.toString());
+		}
+
+		for (int i = 1; i < semanticVersionStrings.size(); ++i)
+		{
+			final String semanticVersionString = semanticVersionStrings.get(i - 1);
+			final String other = semanticVersionStrings.get(i);
+			final byte[] bytes = semanticVersionString.getBytes(StandardCharsets.US_ASCII);
+			final byte[] otherBytes = other.getBytes(StandardCharsets.US_ASCII);
+			final int expected =
+				Integer.signum(SemanticVersion.from(semanticVersionString).compareTo(SemanticVersion.from(other)));
+
+			Assert.assertEquals(
+				semanticVersionString + " " + other,
+				expected,
+				Integer.signum(SemanticVersionComparator.compare(semanticVersionString, other, true)));
+			Assert.assertEquals(
+				semanticVersionString + " " + other,
+				expected,
+				Integer.signum(
+					SemanticVersionComparator.compare(bytes, 0, bytes.length, otherBytes, 0, otherBytes.length, false)));
+		}
+
+		final List<SemanticVersion> semanticVersions = new ArrayList<>();
+
+		for (final String semanticVersionString : semanticVersionStrings)
+		{
+			semanticVersions.add(SemanticVersion.from(semanticVersionString));
+		}
+
+		// Both sorts are stable, so equal versions keep their input order.
+		Collections.sort(semanticVersions);
+		semanticVersionStrings.sort(SemanticVersionComparator.VALIDATING_PRECEDENCE_ORDER);
+
+		for (int i = 0; i < semanticVersions.size(); ++i)
+		{
+			Assert.assertEquals(semanticVersions.get(i), SemanticVersion.from(semanticVersionStrings.get(i)));
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+
+public class SemanticVersionIndexTest
+{
+	private static final SemanticVersionIndex INDEX =
+		new SemanticVersionIndex(
+			Arrays.asList(
+				SemanticVersion.from("2.0.0"),
+				SemanticVersion.from("1.0.0"),
+				SemanticVersion.from("1.2.0-beta"),
+				SemanticVersion.from("1.2.0+b"),
+				SemanticVersion.from("1.2.0+a"),
+				SemanticVersion.from("1.2.0-alpha"),
+				SemanticVersion.from("1.0.0"),
+				SemanticVersion.from("3.0.0-rc.1"),
+				SemanticVersion.from("1.5.3")));
+
+
+	private static SemanticVersion v(
+		final String semanticVersionString)
+	{
+		return SemanticVersion.from(semanticVersionString);
+	}
+
+
+	@Test
+	public void orderTest()
+	{
+		Assert.assertEquals(
+			Arrays.asList(
+				v("1.0.0"),
+				v("1.2.0-alpha"),
+				v("1.2.0-beta"),
+				v("1.2.0+a"),
+				v("1.2.0+b"),
+				v("1.5.3"),
+				v("2.0.0"),
+				v("3.0.0-rc.1")),
+			INDEX.getSemanticVersions());
+		Assert.assertEquals(8, INDEX.size());
+		Assert.assertEquals(v("1.2.0-beta"), INDEX.get(2));
+	}
+
+
+	@Test
+	public void latestTest()
+	{
+		Assert.assertEquals(v("3.0.0-rc.1"), INDEX.latest());
+		Assert.assertEquals(v("2.0.0"), INDEX.latestStable());
+
+		final SemanticVersionIndex empty = new SemanticVersionIndex(Collections.emptyList());
+		Assert.assertNull(empty.latest());
+		Assert.assertNull(empty.latestStable());
+		Assert.assertNull(empty.floor(v("1.0.0")));
+	}
+
+
+	@Test
+	public void floorCeilingTest()
+	{
+		Assert.assertEquals(v("1.5.3"), INDEX.floor(v("1.9.0")));
+		Assert.assertEquals(v("1.5.3"), INDEX.floor(v("1.5.3")));
+		Assert.assertEquals(v("1.2.0+b"), INDEX.lower(v("1.5.3")));
+		Assert.assertEquals(v("1.2.0-beta"), INDEX.floor(v("1.2.0-beta.1")));
+		Assert.assertNull(INDEX.floor(v("0.9.0")));
+		Assert.assertNull(INDEX.lower(v("1.0.0")));
+		Assert.assertEquals(v("2.0.0"), INDEX.ceiling(v("1.9.0")));
+		Assert.assertEquals(v("1.2.0-alpha"), INDEX.ceiling(v("1.2.0-0")));
+		Assert.assertEquals(v("1.2.0+a"), INDEX.ceiling(v("1.2.0")));
+		Assert.assertEquals(v("1.5.3"), INDEX.higher(v("1.2.0")));
+		Assert.assertNull(INDEX.ceiling(v("3.0.0")));
+		Assert.assertNull(INDEX.higher(v("3.0.0-rc.1")));
+	}
+
+
+	@Test
+	public void rangeTest()
+	{
+		Assert.assertEquals(
+			Arrays.asList(v("1.2.0-beta"), v("1.2.0+a"), v("1.2.0+b"), v("1.5.3")),
+			INDEX.range(v("1.2.0-alpha"), false, v("1.5.3"), true));
+		Assert.assertEquals(
+			Arrays.asList(v("1.0.0")),
+			INDEX.range(v("1.0.0"), true, v("1.2.0-alpha"), false));
+		Assert.assertEquals(Collections.emptyList(), INDEX.range(v("2.0.0"), false, v("1.0.0"), true));
+	}
+
+
+	@Test
+	public void satisfyingTest()
+	{
+		Assert.assertEquals(v("1.5.3"), INDEX.maxSatisfying(SemanticVersionRange.from("^1.0.0")));
+		Assert.assertEquals(v("1.0.0"), INDEX.minSatisfying(SemanticVersionRange.from("^1.0.0")));
+		Assert.assertEquals(v("1.2.0-beta"), INDEX.minSatisfying(SemanticVersionRange.from(">=1.2.0-beta <2")));
+		Assert.assertEquals(v("3.0.0-rc.1"), INDEX.maxSatisfying(SemanticVersionRange.from("1.x || >=3.0.0-rc.0")));
+		Assert.assertEquals(v("2.0.0"), INDEX.maxSatisfying(SemanticVersionRange.from("*")));
+		Assert.assertNull(INDEX.maxSatisfying(SemanticVersionRange.from("^4")));
+		Assert.assertNull(INDEX.minSatisfying(SemanticVersionRange.from("^4")));
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(42);
+		final List<SemanticVersion> semanticVersions = new ArrayList<>();
+
+		for (int i = 0; i < 500; ++i)
+		{
+			semanticVersions.add(randomVersion(random));
+		}
+
+		final SemanticVersionIndex index = new SemanticVersionIndex(semanticVersions);
+		final String[] ranges = { "^1.2", "~2.3.4", ">=1.2.3-alpha.1 <3", "0.x || 3.1 - 4", "<2.5.0-rc.0", "*" };
+
+		for (int i = 0; i < 200; ++i)
+		{
+			final SemanticVersion probe = randomVersion(random);
+			SemanticVersion floor = null;
+
+			for (final SemanticVersion semanticVersion : semanticVersions)
+			{
+				if (0 >= semanticVersion.compareTo(probe) && (null == floor || 0 < semanticVersion.compareTo(floor)))
+				{
+					floor = semanticVersion;
+				}
+			}
+
+			assertSamePrecedence(floor, index.floor(probe));
+		}
+
+		for (final String range : ranges)
+		{
+			final SemanticVersionRange semanticVersionRange = SemanticVersionRange.from(range);
+			assertSamePrecedence(semanticVersionRange.maxSatisfying(semanticVersions), index.maxSatisfying(semanticVersionRange));
+			assertSamePrecedence(semanticVersionRange.minSatisfying(semanticVersions), index.minSatisfying(semanticVersionRange));
+		}
+	}
+
+
+	@Test
+	public void withSemanticVersionTest()
+	{
+		final Random random = new Random(7);
+		final List<SemanticVersion> semanticVersions = new ArrayList<>();
+		SemanticVersionIndex index = new SemanticVersionIndex(Collections.emptyList());
+
+		for (int i = 0; i < 500; ++i)
+		{
+			final SemanticVersion semanticVersion =
+				0 == random.nextInt(4)
+					? v(randomVersion(random) + "+b" + random.nextInt(3))
+					: randomVersion(random);
+			final SemanticVersionIndex updated = index.withSemanticVersion(semanticVersion);
+
+			Assert.assertEquals(semanticVersions.contains(semanticVersion), updated == index);
+			semanticVersions.add(semanticVersion);
+			index = updated;
+
+			final SemanticVersionIndex expected = new SemanticVersionIndex(semanticVersions);
+			Assert.assertEquals(expected.getSemanticVersions(), index.getSemanticVersions());
+			Assert.assertEquals(expected.latestStable(), index.latestStable());
+		}
+	}
+
+
+	private static void assertSamePrecedence(
+		final SemanticVersion expected,
+		final SemanticVersion actual)
+	{
+		if (null == expected)
+		{
+			Assert.assertNull(actual);
+		}
+		else
+		{
+			Assert.assertEquals(0, expected.compareTo(actual));
+		}
+	}
+
+
+	private static SemanticVersion randomVersion(
+		final Random random)
+	{
+		final String[] preReleases = { "", "-alpha", "-alpha.1", "-beta.2", "-rc.1" };
+		return
+			v(
+				random.nextInt(5) + "." + random.nextInt(5) + "." + random.nextInt(5)
+				+ preReleases[random.nextInt(preReleases.length)]);
+	}
+}
@@ -0,0 +1,179 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+
+public class SemanticVersionKeyTest
+{
+	@Test
+	public void orderTest()
+	{
+		// In order of precedence, as per https://semver.org/#spec-item-11
+		final List<String> semanticVersionStrings =
+			Arrays.asList(
+				"0.0.0",
+				"0.0.1",
+				"0.1.0",
+				"1.0.0-0",
+				"1.0.0-1",
+				"1.0.0-9",
+				"1.0.0-10",
+				"1.0.0-99999999999999999999",
+				"1.0.0-alpha",
+				"1.0.0-alpha.1",
+				"1.0.0-alpha.beta",
+				"1.0.0-beta",
+				"1.0.0-beta.2",
+				"1.0.0-beta.11",
+				"1.0.0-rc.1",
+				"1.0.0",
+				"2.0.0",
+				"2.1.0",
+				"2.1.1",
+				"255.0.0",
+				"256.0.0",
+				"2147483647.0.0");
+		final List<byte[]> keys = new ArrayList<>();
+
+		for (final String semanticVersionString : semanticVersionStrings)
+		{
+			keys.add(SemanticVersionKey.encode(SemanticVersion.from(semanticVersionString)));
+		}
+
+		for (int i = 1; i < keys.size(); ++i)
+		{
+			Assert.assertTrue(
+				semanticVersionStrings.get(i),
+				0 > SemanticVersionKey.compare(keys.get(i - 1), keys.get(i)));
+		}
+	}
+
+
+	@Test
+	public void buildMetadataTest()
+	{
+		final byte[] precedenceKey = SemanticVersionKey.encodePrecedence(SemanticVersion.from("1.0.0-rc.1+build.5"));
+		final byte[] key = SemanticVersionKey.encode(SemanticVersion.from("1.0.0-rc.1+build.5"));
+
+		Assert.assertArrayEquals(SemanticVersionKey.encode(SemanticVersion.from("1.0.0-rc.1")), precedenceKey);
+		Assert.assertArrayEquals(precedenceKey, Arrays.copyOf(key, precedenceKey.length));
+		Assert.assertTrue(
+			0 > SemanticVersionKey.compare(key, SemanticVersionKey.encode(SemanticVersion.from("1.0.0-rc.2"))));
+	}
+
+
+	@Test
+	public void byteBufferTest()
+	{
+		final SemanticVersion semanticVersion = SemanticVersion.from("1.2.3-alpha.7+build");
+		final ByteBuffer byteBuffer =
+			ByteBuffer
+				.allocate(SemanticVersionKey.encodedLength(semanticVersion))
+				.order(ByteOrder.LITTLE_ENDIAN);
+		SemanticVersionKey.encode(semanticVersion, byteBuffer);
+
+		Assert.assertFalse(byteBuffer.hasRemaining());
+		Assert.assertArrayEquals(SemanticVersionKey.encode(semanticVersion), byteBuffer.array());
+	}
+
+
+	@Test
+	public void decodeTest()
+	{
+		for (final String semanticVersionString : Arrays.asList(
+			"1.2.3",
+			"1.2.3+build.001",
+			"1.0.0-alpha.1",
+			"1.0.0-x-y.0.z+exp.sha.5114f85",
+			"2147483647.2147483647.2147483647-rc"))
+		{
+			Assert.assertEquals(
+				semanticVersionString,
+				SemanticVersionKey.decode(SemanticVersionKey.encode(SemanticVersion.from(semanticVersionString)))
+					.toString());
+		}
+	}
+
+
+	@Test
+	public void decodeTestNegative()
+	{
+		final byte[] key = SemanticVersionKey.encode(SemanticVersion.from("1.0.0-alpha.1"));
+
+		for (final byte[] invalidKey : Arrays.asList(
+			new byte[0],
+			Arrays.copyOf(key, 12),
+			Arrays.copyOf(key, key.length - 1),
+			Arrays.copyOf(key, key.length + 1)))
+		{
+			try
+			{
+				SemanticVersionKey.decode(invalidKey);
+				Assert.fail();
+			}
+			catch (final IllegalArgumentException e)
+			{
+				// Expected.
+			}
+		}
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(17);
+		final String[] identifiers = { "0", "1", "2", "10", "11", "alpha", "alpha1", "beta", "a-b", "B", "rc" };
+		final List<SemanticVersion> semanticVersions = new ArrayList<>();
+
+		for (int i = 0; i < 2000; ++i)
+		{
+			final StringBuilder stringBuilder =
+				new StringBuilder()
+					.append(random.nextInt(3))
+					.append('.')
+					.append(random.nextInt(3))
+					.append('.')
+					.append(random.nextInt(3));
+			final int identifierCount = random.nextInt(4);
+
+			for (int j = 0; j < identifierCount; ++j)
+			{
+				stringBuilder.append(0 == j ? '-' : '.').append(identifiers[random.nextInt(identifiers.length)]);
+			}
+
+			if (random.nextBoolean())
+			{
+				stringBuilder.append("+b").append(random.nextInt(3));
+			}
+
+			semanticVersions.add(SemanticVersion.from(stringBuilder));
+		}
+
+		Collections.shuffle(semanticVersions, random);
+
+		for (int i = 1; i < semanticVersions.size(); ++i)
+		{
+			final SemanticVersion semanticVersion = semanticVersions.get(i - 1);
+			final SemanticVersion other = semanticVersions.get(i);
+
+			Assert.assertEquals(
+				semanticVersion + " " + other,
+				Integer.signum(semanticVersion.compareTo(other)),
+				Integer.signum(
+					SemanticVersionKey.compare(
+						SemanticVersionKey.encodePrecedence(semanticVersion),
+						SemanticVersionKey.encodePrecedence(other))));
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+
+public class SemanticVersionMapTest
+{
+	@Test
+	public void putGetRemoveTest()
+	{
+		final SemanticVersionMap<String> map = new SemanticVersionMap<>();
+		Assert.assertNull(map.put(SemanticVersion.from("1.2.3"), "a"));
+		Assert.assertEquals("a", map.put(SemanticVersion.from("1.2.3"), "b"));
+		Assert.assertNull(map.put(SemanticVersion.from("1.2.3-alpha"), "c"));
+		Assert.assertNull(map.put(SemanticVersion.from("1.2.3+build"), null));
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals("b", map.get(SemanticVersion.from("1.2.3")));
+		Assert.assertEquals("c", map.get(SemanticVersion.from("1.2.3-alpha")));
+		Assert.assertNull(map.get(SemanticVersion.from("1.2.3+build")));
+		Assert.assertTrue(map.containsKey(SemanticVersion.from("1.2.3+build")));
+		Assert.assertFalse(map.containsKey(SemanticVersion.from("1.2.4")));
+		Assert.assertEquals("d", map.getOrDefault(SemanticVersion.from("1.2.4"), "d"));
+		Assert.assertEquals("b", map.remove(SemanticVersion.from("1.2.3")));
+		Assert.assertNull(map.remove(SemanticVersion.from("1.2.3")));
+		Assert.assertEquals(2, map.size());
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+	}
+
+
+	@Test
+	public void forEachTest()
+	{
+		final SemanticVersionMap<Integer> map = new SemanticVersionMap<>();
+		final Map<SemanticVersion, Integer> expected = new HashMap<>();
+
+		for (int i = 0; i < 100; ++i)
+		{
+			final SemanticVersion semanticVersion = SemanticVersion.from(i + ".0.0" + (0 == i % 10 ? "+build" : ""));
+			map.put(semanticVersion, i);
+			expected.put(semanticVersion, i);
+		}
+
+		final Map<SemanticVersion, Integer> actual = new HashMap<>();
+		map.forEach(actual::put);
+		Assert.assertEquals(expected, actual);
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(5);
+		final SemanticVersionMap<Integer> map = new SemanticVersionMap<>(10);
+		final Map<SemanticVersion, Integer> expected = new HashMap<>();
+
+		for (int i = 0; i < 100000; ++i)
+		{
+			final SemanticVersion semanticVersion =
+				new SemanticVersion(random.nextInt(4), random.nextInt(40), random.nextInt(40));
+
+			switch (random.nextInt(3))
+			{
+				case 0:
+					Assert.assertEquals(expected.put(semanticVersion, i), map.put(semanticVersion, i));
+					break;
+				case 1:
+					Assert.assertEquals(expected.remove(semanticVersion), map.remove(semanticVersion));
+					break;
+				default:
+					Assert.assertEquals(expected.get(semanticVersion), map.get(semanticVersion));
+					break;
+			}
+
+			Assert.assertEquals(expected.size(), map.size());
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package io.github.gravitation1;
+
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+
+public class SemanticVersionMetricsTest
+{
+	@After
+	public void tearDown()
+	{
+		SemanticVersion.setListener(null);
+	}
+
+
+	@Test
+	public void parseTest()
+	{
+		final SemanticVersionMetrics metrics = new SemanticVersionMetrics();
+		SemanticVersion.setListener(metrics);
+
+		SemanticVersion.from("1.2.3");
+		SemanticVersion.tryParse("1.2");
+		SemanticVersion.parseOrNull("1.2.3-01");
+		SemanticVersion.parseOrNull("1.2.3+build_1");
+		SemanticVersion.parseOrNull(new byte[] { '1', '.', '2', '.', '3' }, 0, 5);
+
+		try
+		{
+			SemanticVersion.from("01.2.3");
+			Assert.fail();
+		}
+		catch (final SemanticVersion.IllegalMajorVersion e)
+		{
+			// Expected.
+		}
+
+		Assert.assertEquals(6, metrics.getParseCount());
+		Assert.assertEquals(4, metrics.getParseFailureCount());
+		Assert.assertEquals(1, metrics.getParseFailureCount(SemanticVersion.ParseError.INVALID_BASE_FORMAT));
+		Assert.assertEquals(1, metrics.getParseFailureCount(SemanticVersion.ParseError.ILLEGAL_MAJOR_VERSION));
+		Assert.assertEquals(
+			1,
+			metrics.getParseFailureCount(SemanticVersion.ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER));
+		Assert.assertEquals(
+			1,
+			metrics.getParseFailureCount(SemanticVersion.ParseError.ILLEGAL_BUILD_METADATA_IDENTIFIER));
+
+		long histogramCount = 0;
+
+		for (final long count : metrics.getParseDurationHistogram())
+		{
+			histogramCount += count;
+		}
+
+		Assert.assertEquals(6, histogramCount);
+
+		metrics.reset();
+
+		Assert.assertEquals(0, metrics.getParseCount());
+		Assert.assertEquals(0, metrics.getParseFailureCount());
+	}
+
+
+	@Test
+	public void validationTest()
+	{
+		final SemanticVersionMetrics metrics = new SemanticVersionMetrics();
+		SemanticVersion.setListener(metrics);
+
+		try
+		{
+			new SemanticVersion(1, -1, 0);
+			Assert.fail();
+		}
+		catch (final SemanticVersion.IllegalMinorVersion e)
+		{
+			// Expected.
+		}
+
+		try
+		{
+			SemanticVersion.of(1, 0, 0, Collections.singletonList("01"), Collections.emptyList());
+			Assert.fail();
+		}
+		catch (final SemanticVersion.IllegalPreReleaseIdentifier e)
+		{
+			// Expected.
+		}
+
+		Assert.assertEquals(1, metrics.getValidationFailureCount(SemanticVersion.ParseError.ILLEGAL_MINOR_VERSION));
+		Assert.assertEquals(
+			1,
+			metrics.getValidationFailureCount(SemanticVersion.ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER));
+		Assert.assertEquals(0, metrics.getValidationFailureCount(SemanticVersion.ParseError.ILLEGAL_MAJOR_VERSION));
+		Assert.assertEquals(0, metrics.getParseCount());
+	}
+
+
+	@Test
+	public void cacheTest()
+	{
+		final SemanticVersionMetrics metrics = new SemanticVersionMetrics();
+		SemanticVersion.setListener(metrics);
+		final SemanticVersionCache cache = new SemanticVersionCache(10);
+
+		cache.from("1.2.3");
+		cache.from("1.2.3");
+		cache.parseOrNull("1.2.3");
+
+		Assert.assertEquals(1, metrics.getCacheMissCount());
+		Assert.assertEquals(2, metrics.getCacheHitCount());
+		Assert.assertEquals(1, metrics.getParseCount());
+	}
+
+
+	@Test
+	public void disabledTest()
+	{
+		final SemanticVersionMetrics metrics = new SemanticVersionMetrics();
+		SemanticVersion.setListener(metrics);
+		SemanticVersion.setListener(null);
+
+		SemanticVersion.from("1.2.3");
+
+		Assert.assertNull(SemanticVersion.getListener());
+		Assert.assertEquals(0, metrics.getParseCount());
+	}
+}
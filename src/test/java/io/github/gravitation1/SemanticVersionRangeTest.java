@@ -0,0 +1,222 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+public class SemanticVersionRangeTest
+{
+	private static void assertSatisfied(
+		final String range,
+		final String... semanticVersionStrings)
+	{
+		final SemanticVersionRange semanticVersionRange = SemanticVersionRange.from(range);
+
+		for (final String semanticVersionString : semanticVersionStrings)
+		{
+			Assert.assertTrue(
+				range + " / " + semanticVersionString,
+				semanticVersionRange.isSatisfiedBy(SemanticVersion.from(semanticVersionString)));
+		}
+	}
+
+
+	private static void assertNotSatisfied(
+		final String range,
+		final String... semanticVersionStrings)
+	{
+		final SemanticVersionRange semanticVersionRange = SemanticVersionRange.from(range);
+
+		for (final String semanticVersionString : semanticVersionStrings)
+		{
+			Assert.assertFalse(
+				range + " / " + semanticVersionString,
+				semanticVersionRange.isSatisfiedBy(SemanticVersion.from(semanticVersionString)));
+		}
+	}
+
+
+	@Test
+	public void exactTest()
+	{
+		assertSatisfied("1.2.3", "1.2.3", "1.2.3+build");
+		assertSatisfied("=v1.2.3", "1.2.3");
+		assertNotSatisfied("1.2.3", "1.2.4", "1.2.2", "1.2.3-alpha");
+		assertSatisfied("1.2.3-alpha", "1.2.3-alpha");
+		assertNotSatisfied("1.2.3-alpha", "1.2.3-beta", "1.2.3");
+	}
+
+
+	@Test
+	public void caretTest()
+	{
+		assertSatisfied("^1.2.3", "1.2.3", "1.9.0", "1.99.99");
+		assertNotSatisfied("^1.2.3", "1.2.2", "2.0.0", "2.0.0-alpha", "1.5.0-alpha");
+		assertSatisfied("^0.2.3", "0.2.3", "0.2.9");
+		assertNotSatisfied("^0.2.3", "0.3.0", "0.2.2");
+		assertSatisfied("^0.0.3", "0.0.3");
+		assertNotSatisfied("^0.0.3", "0.0.4");
+		assertSatisfied("^0.0.x", "0.0.0", "0.0.9");
+		assertNotSatisfied("^0.0.x", "0.1.0");
+		assertSatisfied("^0.x", "0.0.0", "0.9.9");
+		assertNotSatisfied("^0.x", "1.0.0");
+		assertSatisfied("^1.2.3-beta.2", "1.2.3-beta.2", "1.2.3-beta.10", "1.2.3", "1.9.9");
+		assertNotSatisfied("^1.2.3-beta.2", "1.2.3-beta.1", "1.2.4-beta.3");
+	}
+
+
+	@Test
+	public void tildeTest()
+	{
+		assertSatisfied("~1.2.3", "1.2.3", "1.2.9");
+		assertNotSatisfied("~1.2.3", "1.3.0", "1.2.2");
+		assertSatisfied("~1.2", "1.2.0", "1.2.9");
+		assertNotSatisfied("~1.2", "1.3.0", "1.1.9");
+		assertSatisfied("~1", "1.0.0", "1.9.9");
+		assertNotSatisfied("~1", "2.0.0", "0.9.9");
+		assertSatisfied("~>1.2", "1.2.5");
+	}
+
+
+	@Test
+	public void wildcardTest()
+	{
+		assertSatisfied("*", "0.0.0", "1.2.3", "2147483647.0.0");
+		assertSatisfied("", "1.2.3");
+		assertNotSatisfied("*", "1.2.3-alpha");
+		assertSatisfied("1.x", "1.0.0", "1.9.9");
+		assertNotSatisfied("1.x", "2.0.0", "0.9.9");
+		assertSatisfied("1.2.X", "1.2.0", "1.2.9");
+		assertNotSatisfied("1.2.*", "1.3.0");
+		assertSatisfied("1", "1.5.0");
+		assertSatisfied("1.2", "1.2.5");
+		assertNotSatisfied("1.2", "1.3.0");
+	}
+
+
+	@Test
+	public void comparatorTest()
+	{
+		assertSatisfied(">=1.0.0 <2.0.0-0", "1.0.0", "1.9.9");
+		assertNotSatisfied(">=1.0.0 <2.0.0-0", "0.9.9", "2.0.0");
+		assertSatisfied(">1", "2.0.0");
+		assertNotSatisfied(">1", "1.9.9", "2.0.0-alpha");
+		assertSatisfied(">1.2", "1.3.0");
+		assertNotSatisfied(">1.2", "1.2.9");
+		assertSatisfied("<=1.2", "1.2.9", "0.0.0");
+		assertNotSatisfied("<=1.2", "1.3.0");
+		assertSatisfied("<1.2", "1.1.9");
+		assertNotSatisfied("<1.2", "1.2.0");
+		assertSatisfied("> 1.2.3", "1.2.4");
+		assertNotSatisfied("> 1.2.3", "1.2.3");
+		assertNotSatisfied("<*", "0.0.0");
+		assertNotSatisfied(">*", "0.0.0");
+		assertNotSatisfied(">2 <1", "1.5.0");
+	}
+
+
+	@Test
+	public void hyphenTest()
+	{
+		assertSatisfied("1.2.3 - 2.3.4", "1.2.3", "2.3.4");
+		assertNotSatisfied("1.2.3 - 2.3.4", "1.2.2", "2.3.5");
+		assertSatisfied("1.2 - 2.3", "1.2.0", "2.3.9");
+		assertNotSatisfied("1.2 - 2.3", "2.4.0", "1.1.9");
+		assertSatisfied("1.2.3 - 2", "2.9.9");
+		assertNotSatisfied("1.2.3 - 2", "3.0.0");
+	}
+
+
+	@Test
+	public void orTest()
+	{
+		assertSatisfied("1.x || 3.x", "1.2.3", "3.0.0");
+		assertNotSatisfied("1.x || 3.x", "2.0.0", "4.0.0");
+		assertSatisfied("<1.0.0||>=2.0.0", "0.5.0", "2.0.0");
+		assertNotSatisfied("<1.0.0||>=2.0.0", "1.5.0");
+	}
+
+
+	@Test
+	public void preReleaseTest()
+	{
+		assertSatisfied(">=1.2.3-alpha.3", "1.2.3-alpha.7", "1.2.3", "3.4.5");
+		assertNotSatisfied(">=1.2.3-alpha.3", "3.4.5-alpha.9", "1.2.3-alpha.2");
+		assertSatisfied(">=1.2.3-alpha.3 <1.2.4 || 2.0.0-rc.1", "1.2.3-beta", "2.0.0-rc.1");
+		assertNotSatisfied(">=1.2.3-alpha.3 <1.2.4 || 2.0.0-rc.1", "2.0.0-rc.2");
+	}
+
+
+	@Test
+	public void overflowTest()
+	{
+		assertSatisfied("^0.0.2147483647", "0.0.2147483647");
+		assertNotSatisfied("^0.0.2147483647", "0.1.0", "1.0.0");
+		assertSatisfied("^2147483647.0.0", "2147483647.2147483647.2147483647");
+	}
+
+
+	@Test
+	public void satisfyingTest()
+	{
+		final List<SemanticVersion> semanticVersions =
+			Arrays.asList(
+				SemanticVersion.from("1.2.3"),
+				SemanticVersion.from("1.5.0"),
+				SemanticVersion.from("1.9.0-beta"),
+				SemanticVersion.from("2.0.0"),
+				SemanticVersion.from("1.0.0"));
+
+		final SemanticVersionRange range = SemanticVersionRange.from("^1.2");
+		Assert.assertEquals(SemanticVersion.from("1.5.0"), range.maxSatisfying(semanticVersions));
+		Assert.assertEquals(SemanticVersion.from("1.2.3"), range.minSatisfying(semanticVersions));
+		Assert.assertNull(SemanticVersionRange.from("^3").maxSatisfying(semanticVersions));
+		Assert.assertNull(SemanticVersionRange.from("^3").minSatisfying(semanticVersions));
+	}
+
+
+	@Test
+	public void toStringTest()
+	{
+		Assert.assertEquals("^1.2 || 3.x", SemanticVersionRange.from(" ^1.2 || 3.x ").toString());
+	}
+
+
+	@Test
+	public void illegalRangeTest()
+	{
+		assertIllegal("1.2.3.4", 5);
+		assertIllegal("=>1.2.3", 0);
+		assertIllegal(">=", 2);
+		assertIllegal("1.x.3", 4);
+		assertIllegal("01.2.3", 0);
+		assertIllegal("1.2.3-01", 6);
+		assertIllegal("1.2.x-alpha", 5);
+		assertIllegal("1.2.3 - >2.0.0", 6);
+		assertIllegal("- 1.2.3", 0);
+		assertIllegal("1.2.3 - 2 - 3", 10);
+		assertIllegal("1.2.3 - 2.0.0 || 1.2.", 21);
+		assertIllegal("2147483648", 9);
+	}
+
+
+	private static void assertIllegal(
+		final String range,
+		final int errorOffset)
+	{
+		try
+		{
+			SemanticVersionRange.from(range);
+			Assert.fail(range);
+		}
+		catch (final SemanticVersionRange.IllegalRangeException e)
+		{
+			Assert.assertEquals(range, e.getSemanticVersionString());
+			Assert.assertEquals(range, errorOffset, e.getErrorOffset());
+		}
+	}
+}
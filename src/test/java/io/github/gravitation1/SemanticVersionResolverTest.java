@@ -0,0 +1,382 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+public class SemanticVersionResolverTest
+{
+	@Test
+	public void resolveTest()
+	{
+		final SemanticVersionResolver.InMemoryCatalog catalog = new SemanticVersionResolver.InMemoryCatalog();
+		add(catalog, "a", "1.0.0", "b", "^1.0.0");
+		add(catalog, "a", "1.1.0", "b", "^1.1.0", "c", "~2.0.0");
+		add(catalog, "b", "1.0.0");
+		add(catalog, "b", "1.1.0");
+		add(catalog, "b", "1.2.0");
+		add(catalog, "b", "2.0.0");
+		add(catalog, "c", "2.0.1");
+		add(catalog, "c", "2.1.0");
+
+		Assert.assertEquals(
+			versions("a", "1.1.0", "b", "1.2.0", "c", "2.0.1"),
+			new SemanticVersionResolver(catalog).resolve(ranges("a", "*")));
+		Assert.assertEquals(
+			versions("a", "1.0.0", "b", "1.0.0"),
+			new SemanticVersionResolver(catalog, false, true).resolve(ranges("a", "*")));
+		Assert.assertEquals(
+			Collections.emptyMap(),
+			new SemanticVersionResolver(catalog).resolve(Collections.emptyMap()));
+	}
+
+
+	@Test
+	public void preReleaseTest()
+	{
+		final SemanticVersionResolver.InMemoryCatalog catalog = new SemanticVersionResolver.InMemoryCatalog();
+		add(catalog, "a", "1.0.0");
+		add(catalog, "a", "1.1.0-rc.1");
+		add(catalog, "a", "1.1.0");
+		add(catalog, "a", "1.2.0-rc.1");
+
+		Assert.assertEquals(
+			versions("a", "1.1.0"),
+			new SemanticVersionResolver(catalog).resolve(ranges("a", ">=1.1.0-rc.0 || >=1.2.0-rc.0")));
+		Assert.assertEquals(
+			versions("a", "1.2.0-rc.1"),
+			new SemanticVersionResolver(catalog, true, false).resolve(ranges("a", ">=1.1.0-rc.0 || >=1.2.0-rc.0")));
+		Assert.assertEquals(
+			versions("a", "1.1.0-rc.1"),
+			new SemanticVersionResolver(catalog).resolve(ranges("a", "1.1.0-rc.1")));
+		Assert.assertEquals(
+			versions("a", "1.1.0"),
+			new SemanticVersionResolver(catalog).resolve(ranges("a", "*")));
+	}
+
+
+	/**
+	 * The examples of https://github.com/dart-lang/pub/blob/master/doc/solver.md.
+	 */
+	@Test
+	public void conflictTest()
+	{
+		// Avoiding a conflict while deciding.
+		SemanticVersionResolver.InMemoryCatalog catalog = new SemanticVersionResolver.InMemoryCatalog();
+		add(catalog, "foo", "1.0.0");
+		add(catalog, "foo", "1.1.0", "bar", "^2.0.0");
+		add(catalog, "bar", "1.0.0");
+		add(catalog, "bar", "1.1.0");
+		add(catalog, "bar", "2.0.0");
+
+		Assert.assertEquals(
+			versions("foo", "1.0.0", "bar", "1.1.0"),
+			new SemanticVersionResolver(catalog).resolve(ranges("foo", "^1.0.0", "bar", "^1.0.0")));
+
+		// Resolving a conflict.
+		catalog = new SemanticVersionResolver.InMemoryCatalog();
+		add(catalog, "foo", "1.0.0");
+		add(catalog, "foo", "2.0.0", "bar", "^1.0.0");
+		add(catalog, "bar", "1.0.0", "foo", "^1.0.0");
+
+		Assert.assertEquals(
+			versions("foo", "1.0.0"),
+			new SemanticVersionResolver(catalog).resolve(ranges("foo", ">=1.0.0")));
+
+		// Resolving a conflict with a partial satisfier.
+		catalog = new SemanticVersionResolver.InMemoryCatalog();
+		add(catalog, "foo", "1.0.0");
+		add(catalog, "foo", "1.1.0", "left", "^1.0.0", "right", "^1.0.0");
+		add(catalog, "left", "1.0.0", "shared", ">=1.0.0");
+		add(catalog, "right", "1.0.0", "shared", "<2.0.0");
+		add(catalog, "shared", "1.0.0", "target", "^1.0.0");
+		add(catalog, "shared", "2.0.0");
+		add(catalog, "target", "1.0.0");
+		add(catalog, "target", "2.0.0");
+
+		Assert.assertEquals(
+			versions("target", "2.0.0", "foo", "1.0.0"),
+			new SemanticVersionResolver(catalog).resolve(ranges("foo", "^1.0.0", "target", "^2.0.0")));
+	}
+
+
+	@Test
+	public void unsatisfiableTest()
+	{
+		final SemanticVersionResolver.InMemoryCatalog catalog = new SemanticVersionResolver.InMemoryCatalog();
+		add(catalog, "foo", "1.0.0", "bar", "^2.0.0");
+		add(catalog, "foo", "1.1.0", "bar", "^2.0.0");
+		add(catalog, "bar", "2.0.0", "baz", "^3.0.0");
+		add(catalog, "baz", "1.0.0");
+		add(catalog, "baz", "3.0.0");
+
+		try
+		{
+			new SemanticVersionResolver(catalog).resolve(ranges("foo", "^1.0.0", "baz", "^1.0.0"));
+			Assert.fail();
+		}
+		catch (final SemanticVersionResolver.UnsatisfiableException e)
+		{
+			Assert.assertEquals(
+				Arrays.asList(
+					"foo >=1.0.0 <=1.1.0 depends on bar ^2.0.0",
+					"bar 2.0.0 depends on baz ^3.0.0",
+					"root depends on baz ^1.0.0",
+					"root depends on foo ^1.0.0"),
+				e.getReasons());
+		}
+
+		try
+		{
+			new SemanticVersionResolver(catalog).resolve(ranges("baz", "^2.0.0"));
+			Assert.fail();
+		}
+		catch (final SemanticVersionResolver.UnsatisfiableException e)
+		{
+			Assert.assertEquals(Collections.singletonList("root depends on baz ^2.0.0"), e.getReasons());
+		}
+
+		try
+		{
+			new SemanticVersionResolver(catalog).resolve(ranges("qux", "*"));
+			Assert.fail();
+		}
+		catch (final SemanticVersionResolver.UnsatisfiableException e)
+		{
+			Assert.assertEquals(Collections.singletonList("root depends on qux *"), e.getReasons());
+		}
+	}
+
+
+	/**
+	 * Compares the resolver against trying every combination of versions of a
+	 * few packages.
+	 */
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(7);
+		final String[] versionStrings = { "1.0.0", "1.1.0-beta.1", "1.1.0", "2.0.0" };
+		final String[] rangeStrings =
+			{ "^1.0.0", "^2.0.0", ">=1.1.0", "<1.1.0", "1.0.0 || 2.0.0", "*", "~1.0.0", ">=3.0.0", "1.1.0-beta.1" };
+
+		for (int i = 0; i < 3000; ++i)
+		{
+			final int packageCount = 1 + random.nextInt(4);
+			final SemanticVersionResolver.InMemoryCatalog catalog = new SemanticVersionResolver.InMemoryCatalog();
+			final List<List<SemanticVersion>> versions = new ArrayList<>();
+
+			for (int p = 0; p < packageCount; ++p)
+			{
+				versions.add(new ArrayList<>());
+
+				for (final String versionString : versionStrings)
+				{
+					if (0 < random.nextInt(3))
+					{
+						final Map<String, SemanticVersionRange> dependencies = new LinkedHashMap<>();
+
+						for (int d = random.nextInt(3); d > 0; --d)
+						{
+							dependencies.put(
+								"p" + random.nextInt(packageCount + 1),
+								SemanticVersionRange.from(rangeStrings[random.nextInt(rangeStrings.length)]));
+						}
+
+						catalog.add("p" + p, SemanticVersion.from(versionString), dependencies);
+						versions.get(p).add(SemanticVersion.from(versionString));
+					}
+				}
+			}
+
+			final Map<String, SemanticVersionRange> requirements = new LinkedHashMap<>();
+
+			for (int r = 1 + random.nextInt(2); r > 0; --r)
+			{
+				requirements.put(
+					"p" + random.nextInt(packageCount),
+					SemanticVersionRange.from(rangeStrings[random.nextInt(rangeStrings.length)]));
+			}
+
+			boolean satisfiable = false;
+			int combinationCount = 1;
+
+			for (final List<SemanticVersion> packageVersions : versions)
+			{
+				combinationCount *= packageVersions.size() + 1;
+			}
+
+			for (int combination = 0; combination < combinationCount && !satisfiable; ++combination)
+			{
+				final Map<String, SemanticVersion> selection = new HashMap<>();
+
+				for (int p = 0, rest = combination; p < packageCount; ++p)
+				{
+					final int choice = rest % (versions.get(p).size() + 1);
+					rest /= versions.get(p).size() + 1;
+
+					if (0 < choice)
+					{
+						selection.put("p" + p, versions.get(p).get(choice - 1));
+					}
+				}
+
+				satisfiable = isConsistent(catalog, requirements, selection);
+			}
+
+			try
+			{
+				final Map<String, SemanticVersion> selection =
+					new SemanticVersionResolver(catalog, random.nextBoolean(), random.nextBoolean()).resolve(requirements);
+				Assert.assertTrue(satisfiable);
+				Assert.assertTrue(isConsistent(catalog, requirements, selection));
+			}
+			catch (final SemanticVersionResolver.UnsatisfiableException e)
+			{
+				Assert.assertFalse(satisfiable);
+			}
+		}
+	}
+
+
+	@Test
+	public void largeGraphTest()
+	{
+		final Random random = new Random(7);
+		final SemanticVersionResolver.InMemoryCatalog catalog = new SemanticVersionResolver.InMemoryCatalog();
+		final int packageCount = 2000;
+
+		for (int p = 0; p < packageCount; ++p)
+		{
+			final int[] dependencies = new int[p + 1 < packageCount ? 1 + random.nextInt(6) : 0];
+
+			for (int d = 0; d < dependencies.length; ++d)
+			{
+				dependencies[d] = p + 1 + random.nextInt(Math.min(100, packageCount - p - 1));
+			}
+
+			for (int major = 1; major <= 3; ++major)
+			{
+				for (int minor = 0; minor < 5; ++minor)
+				{
+					final Map<String, SemanticVersionRange> ranges = new LinkedHashMap<>();
+
+					for (final int dependency : dependencies)
+					{
+						ranges.put("p" + dependency, SemanticVersionRange.from("^" + major + ".0.0"));
+					}
+
+					// The latest minor version of some packages cannot be used.
+					if (0 == p % 10 && 4 == minor)
+					{
+						ranges.put("missing", SemanticVersionRange.from("*"));
+					}
+
+					catalog.add("p" + p, SemanticVersion.of(major, minor, 0), ranges);
+				}
+			}
+		}
+
+		final Map<String, SemanticVersionRange> requirements = ranges("p0", "*", "p1", "*", "p2", "*");
+		final Map<String, SemanticVersion> selection = new SemanticVersionResolver(catalog).resolve(requirements);
+
+		Assert.assertTrue(isConsistent(catalog, requirements, selection));
+		Assert.assertTrue(1000 < selection.size());
+
+		for (final Map.Entry<String, SemanticVersion> entry : selection.entrySet())
+		{
+			final boolean latestUnusable = 0 == Integer.parseInt(entry.getKey().substring(1)) % 10;
+			Assert.assertEquals(SemanticVersion.of(3, latestUnusable ? 3 : 4, 0), entry.getValue());
+		}
+	}
+
+
+	private static void add(
+		/* @Nonnull */ final SemanticVersionResolver.InMemoryCatalog catalog,
+		/* @Nonnull */ final String packageName,
+		/* @Nonnull */ final String semanticVersion,
+		/* @Nonnull */ final String... dependencies)
+	{
+		catalog.add(packageName, SemanticVersion.from(semanticVersion), ranges(dependencies));
+	}
+
+
+	/* @Nonnull */
+	private static Map<String, SemanticVersionRange> ranges(
+		/* @Nonnull */ final String... namesAndRanges)
+	{
+		final Map<String, SemanticVersionRange> ranges = new LinkedHashMap<>();
+
+		for (int i = 0; i < namesAndRanges.length; i += 2)
+		{
+			ranges.put(namesAndRanges[i], SemanticVersionRange.from(namesAndRanges[i + 1]));
+		}
+
+		return ranges;
+	}
+
+
+	/* @Nonnull */
+	private static Map<String, SemanticVersion> versions(
+		/* @Nonnull */ final String... namesAndVersions)
+	{
+		final Map<String, SemanticVersion> versions = new LinkedHashMap<>();
+
+		for (int i = 0; i < namesAndVersions.length; i += 2)
+		{
+			versions.put(namesAndVersions[i], SemanticVersion.from(namesAndVersions[i + 1]));
+		}
+
+		return versions;
+	}
+
+
+	private static boolean isConsistent(
+		/* @Nonnull */ final SemanticVersionResolver.Catalog catalog,
+		/* @Nonnull */ final Map<String, SemanticVersionRange> requirements,
+		/* @Nonnull */ final Map<String, SemanticVersion> selection)
+	{
+		if (!isSatisfied(requirements, selection))
+		{
+			return false;
+		}
+
+		for (final Map.Entry<String, SemanticVersion> entry : selection.entrySet())
+		{
+			if (!isSatisfied(catalog.getDependencies(entry.getKey(), entry.getValue()), selection))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+
+	private static boolean isSatisfied(
+		/* @Nonnull */ final Map<String, SemanticVersionRange> ranges,
+		/* @Nonnull */ final Map<String, SemanticVersion> selection)
+	{
+		for (final Map.Entry<String, SemanticVersionRange> range : ranges.entrySet())
+		{
+			final SemanticVersion semanticVersion = selection.get(range.getKey());
+
+			if (null == semanticVersion || !range.getValue().isSatisfiedBy(semanticVersion))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
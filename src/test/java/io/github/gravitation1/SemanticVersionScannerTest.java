@@ -0,0 +1,149 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+
+public class SemanticVersionScannerTest
+{
+	@Test
+	public void scanTest()
+	{
+		Assert.assertEquals(
+			Arrays.asList("1.2.3", "4.17.21", "2.0.0-rc.1", "3.0.0+build.5", "1.0.0", "0.1.0", "5.6.7-SNAPSHOT.jar"),
+			find(
+				"installed 1.2.3, lodash@4.17.21 and \"^2.0.0-rc.1\".\n"
+				+ "built 3.0.0+build.5. Tagged v1.0.0 (and V0.1.0) from foo-5.6.7-SNAPSHOT.jar"));
+	}
+
+
+	@Test
+	public void boundaryTest()
+	{
+		Assert.assertEquals(Collections.singletonList("1.2.3"), find("1.2.3."));
+		Assert.assertEquals(Collections.singletonList("1.2.3"), find("1.2.3-"));
+		Assert.assertEquals(Collections.singletonList("1.2.3"), find("1.2.3+"));
+		Assert.assertEquals(Collections.singletonList("1.2.3-rc"), find("1.2.3-rc.+x"));
+		Assert.assertEquals(Collections.singletonList("1.2.3"), find("1.2.3.jar"));
+		Assert.assertEquals(Collections.singletonList("1.2.3"), find("1.2.3_amd64"));
+		Assert.assertEquals(Collections.singletonList("1.2.3-x-1.2.3"), find("1.2.3-x-1.2.3"));
+		Assert.assertEquals(Arrays.asList("1.0.0+x-1.2.3", "4.5.6"), find("1.0.0+x-1.2.3+y-4.5.6"));
+		Assert.assertEquals(Collections.emptyList(), find("1.2.3.4"));
+		Assert.assertEquals(Collections.emptyList(), find("1.2.3a"));
+		Assert.assertEquals(Collections.emptyList(), find("1.2.3-01"));
+		Assert.assertEquals(Collections.emptyList(), find("01.2.3"));
+		Assert.assertEquals(Collections.emptyList(), find("x1.2.3"));
+		Assert.assertEquals(Collections.emptyList(), find("dev1.2.3"));
+		Assert.assertEquals(Collections.emptyList(), find("1.2"));
+		Assert.assertEquals(Collections.emptyList(), find("2147483648.0.0"));
+		Assert.assertEquals(Collections.emptyList(), find(""));
+	}
+
+
+	@Test
+	public void offsetsTest()
+	{
+		final List<SemanticVersionScanner.Match> matches = SemanticVersionScanner.scan("at 1.2.3-rc.1!", true);
+
+		Assert.assertEquals(1, matches.size());
+		Assert.assertEquals(3, matches.get(0).getStart());
+		Assert.assertEquals(13, matches.get(0).getEnd());
+		Assert.assertEquals(SemanticVersion.from("1.2.3-rc.1"), matches.get(0).getSemanticVersion());
+		Assert.assertNull(SemanticVersionScanner.scan("at 1.2.3-rc.1!", false).get(0).getSemanticVersion());
+	}
+
+
+	@Test
+	public void fileTest()
+		throws IOException
+	{
+		final Random random = new Random(5);
+		final String[] tokens = {
+			"1.2.3", "-", "+", ".", "x", "v", " ", "\n", "0", "10", "-rc", ".4", "+b", "1.0.0+x-", "é",
+		};
+		final StringBuilder stringBuilder = new StringBuilder();
+
+		while (20000 > stringBuilder.length())
+		{
+			stringBuilder.append(tokens[random.nextInt(tokens.length)]);
+		}
+
+		final String contents = stringBuilder.toString();
+		final List<SemanticVersionScanner.Match> expected = SemanticVersionScanner.scan(contents, true);
+		final Path path = Files.createTempFile("versions", ".txt");
+		final ForkJoinPool pool = new ForkJoinPool(4);
+
+		Assert.assertTrue(100 < expected.size());
+
+		try
+		{
+			// Every character is a single byte, except for the last token.
+			Files.write(path, contents.replace('é', '\u0080').getBytes(StandardCharsets.ISO_8859_1));
+
+			try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+			{
+				for (final long chunkSize : new long[] { 1, 2, 3, 7, 13, 64, 1000, 1 << 16 })
+				{
+					final List<SemanticVersionScanner.Match> matches =
+						SemanticVersionScanner.scan(channel, channel.size(), true, pool, chunkSize);
+
+					Assert.assertEquals(toStrings(expected), toStrings(matches));
+				}
+			}
+
+			Assert.assertEquals(toStrings(expected), toStrings(SemanticVersionScanner.scan(path, true, pool)));
+		}
+		finally
+		{
+			pool.shutdown();
+			Files.delete(path);
+		}
+	}
+
+
+	/* @Nonnull */
+	private static List<String> find(
+		/* @Nonnull */ final String text)
+	{
+		final List<String> versions = new ArrayList<>();
+
+		for (final SemanticVersionScanner.Match match : SemanticVersionScanner.scan(text, true))
+		{
+			Assert.assertEquals(
+				text.substring((int) match.getStart(), (int) match.getEnd()),
+				match.getSemanticVersion().toString());
+			versions.add(match.getSemanticVersion().toString());
+		}
+
+		return versions;
+	}
+
+
+	/* @Nonnull */
+	private static List<String> toStrings(
+		/* @Nonnull */ final List<SemanticVersionScanner.Match> matches)
+	{
+		final List<String> strings = new ArrayList<>();
+
+		for (final SemanticVersionScanner.Match match : matches)
+		{
+			strings.add(match.toString());
+		}
+
+		return strings;
+	}
+}
@@ -0,0 +1,86 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+
+public class SemanticVersionSetTest
+{
+	@Test
+	public void addContainsRemoveTest()
+	{
+		final SemanticVersionSet set = new SemanticVersionSet();
+		Assert.assertTrue(set.isEmpty());
+		Assert.assertTrue(set.add(SemanticVersion.from("1.2.3")));
+		Assert.assertFalse(set.add(SemanticVersion.from("1.2.3")));
+		Assert.assertTrue(set.add(SemanticVersion.from("1.2.3-alpha")));
+		Assert.assertTrue(set.add(SemanticVersion.from("1.2.3+build")));
+		Assert.assertTrue(set.add(SemanticVersion.from("2147483647.0.0")));
+		Assert.assertEquals(4, set.size());
+		Assert.assertTrue(set.contains(SemanticVersion.from("1.2.3")));
+		Assert.assertTrue(set.contains(SemanticVersion.from("1.2.3+build")));
+		Assert.assertTrue(set.contains(SemanticVersion.from("2147483647.0.0")));
+		Assert.assertFalse(set.contains(SemanticVersion.from("1.2.4")));
+		Assert.assertTrue(set.remove(SemanticVersion.from("1.2.3")));
+		Assert.assertFalse(set.remove(SemanticVersion.from("1.2.3")));
+		Assert.assertTrue(set.remove(SemanticVersion.from("1.2.3-alpha")));
+		Assert.assertEquals(2, set.size());
+		set.clear();
+		Assert.assertTrue(set.isEmpty());
+		Assert.assertFalse(set.contains(SemanticVersion.from("1.2.3+build")));
+	}
+
+
+	@Test
+	public void forEachTest()
+	{
+		final SemanticVersionSet set = new SemanticVersionSet(2);
+		final Set<SemanticVersion> expected = new HashSet<>();
+
+		for (int i = 0; i < 100; ++i)
+		{
+			final SemanticVersion semanticVersion = SemanticVersion.from("1." + i + ".0" + (0 == i % 10 ? "-rc" : ""));
+			set.add(semanticVersion);
+			expected.add(semanticVersion);
+		}
+
+		final Set<SemanticVersion> actual = new HashSet<>();
+		set.forEach(actual::add);
+		Assert.assertEquals(expected, actual);
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		final Random random = new Random(3);
+		final SemanticVersionSet set = new SemanticVersionSet();
+		final Set<SemanticVersion> expected = new HashSet<>();
+
+		for (int i = 0; i < 100000; ++i)
+		{
+			final SemanticVersion semanticVersion =
+				new SemanticVersion(random.nextInt(4), random.nextInt(40), random.nextInt(40));
+
+			switch (random.nextInt(3))
+			{
+				case 0:
+					Assert.assertEquals(expected.add(semanticVersion), set.add(semanticVersion));
+					break;
+				case 1:
+					Assert.assertEquals(expected.remove(semanticVersion), set.remove(semanticVersion));
+					break;
+				default:
+					Assert.assertEquals(expected.contains(semanticVersion), set.contains(semanticVersion));
+					break;
+			}
+
+			Assert.assertEquals(expected.size(), set.size());
+		}
+	}
+}
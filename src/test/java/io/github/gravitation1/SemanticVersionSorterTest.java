@@ -0,0 +1,151 @@
+package io.github.gravitation1;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+
+public class SemanticVersionSorterTest
+{
+	@Test
+	public void sortTest()
+	{
+		final List<SemanticVersion> semanticVersions =
+			new ArrayList<>(
+				Arrays.asList(
+					SemanticVersion.from("1.0.0"),
+					SemanticVersion.from("1.0.0-rc.1"),
+					SemanticVersion.from("0.9.12"),
+					SemanticVersion.from("1.0.0-alpha"),
+					SemanticVersion.from("1.0.0-alpha.1"),
+					SemanticVersion.from("1.0.0-beta.11"),
+					SemanticVersion.from("1.0.0-beta.2")));
+
+		SemanticVersionSorter.sort(semanticVersions);
+
+		Assert.assertEquals(
+			Arrays.asList(
+				SemanticVersion.from("0.9.12"),
+				SemanticVersion.from("1.0.0-alpha"),
+				SemanticVersion.from("1.0.0-alpha.1"),
+				SemanticVersion.from("1.0.0-beta.2"),
+				SemanticVersion.from("1.0.0-beta.11"),
+				SemanticVersion.from("1.0.0-rc.1"),
+				SemanticVersion.from("1.0.0")),
+			semanticVersions);
+	}
+
+
+	@Test
+	public void stabilityTest()
+	{
+		final SemanticVersion[] semanticVersions = {
+			SemanticVersion.from("1.0.0+b"),
+			SemanticVersion.from("1.0.0-rc.1+b"),
+			SemanticVersion.from("1.0.0+a"),
+			SemanticVersion.from("1.0.0-rc.1+a"),
+			SemanticVersion.from("1.0.0"),
+		};
+
+		SemanticVersionSorter.sort(semanticVersions);
+
+		Assert.assertEquals(
+			Arrays.asList("1.0.0-rc.1+b", "1.0.0-rc.1+a", "1.0.0+b", "1.0.0+a", "1.0.0"),
+			toStrings(semanticVersions));
+	}
+
+
+	@Test
+	public void emptyTest()
+	{
+		final SemanticVersion[] semanticVersions = {};
+
+		SemanticVersionSorter.sort(semanticVersions);
+		SemanticVersionSorter.parallelSort(semanticVersions);
+
+		Assert.assertEquals(0, semanticVersions.length);
+	}
+
+
+	@Test
+	public void randomTest()
+	{
+		for (final int size : new int[] { 100, 5000, 100000 })
+		{
+			final Random random = new Random(size);
+			final SemanticVersion[] semanticVersions = new SemanticVersion[size];
+
+			for (int i = 0; i < size; ++i)
+			{
+				semanticVersions[i] = randomSemanticVersion(random);
+			}
+
+			final List<SemanticVersion> expected = new ArrayList<>(Arrays.asList(semanticVersions));
+			Collections.sort(expected);
+			final SemanticVersion[] sorted = semanticVersions.clone();
+			SemanticVersionSorter.sort(sorted);
+			final SemanticVersion[] parallelSorted = semanticVersions.clone();
+			final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+			SemanticVersionSorter.parallelSort(parallelSorted, forkJoinPool);
+			forkJoinPool.shutdown();
+
+			for (int i = 0; i < size; ++i)
+			{
+				Assert.assertSame(expected.get(i), sorted[i]);
+				Assert.assertSame(expected.get(i), parallelSorted[i]);
+			}
+		}
+	}
+
+
+	/* @Nonnull */
+	private static SemanticVersion randomSemanticVersion(
+		/* @Nonnull */ final Random random)
+	{
+		final String[] preReleaseData = { "", "-0", "-1", "-10", "-alpha", "-alpha.1", "-rc.2", "-rc.10" };
+		final String[] buildMetadata = { "", "+a", "+b", "+exp.sha.5114f85" };
+
+		return
+			SemanticVersion.from(
+				randomNumber(random) + "." + randomNumber(random) + "." + randomNumber(random)
+				+ preReleaseData[random.nextInt(preReleaseData.length)]
+				+ buildMetadata[random.nextInt(buildMetadata.length)]);
+	}
+
+
+	private static int randomNumber(
+		/* @Nonnull */ final Random random)
+	{
+		switch (random.nextInt(10))
+		{
+			case 0:
+				return Integer.MAX_VALUE - random.nextInt(3);
+			case 1:
+				return (1 << 20) + random.nextInt(1 << 22);
+			default:
+				return random.nextInt(20);
+		}
+	}
+
+
+	/* @Nonnull */
+	private static List<String> toStrings(
+		/* @Nonnull */ final SemanticVersion[] semanticVersions)
+	{
+		final List<String> strings = new ArrayList<>();
+
+		for (final SemanticVersion semanticVersion : semanticVersions)
+		{
+			strings.add(semanticVersion.toString());
+		}
+
+		return strings;
+	}
+}
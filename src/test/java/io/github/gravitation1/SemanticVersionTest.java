@@ -4,7 +4,10 @@ package io.github.gravitation1;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -69,6 +72,117 @@ public class SemanticVersionTest
 		Assert.assertEquals(0, SemanticVersion.SEMANTIC_VERSION_VERSION.getPatch());
 		Assert.assertTrue(SemanticVersion.SEMANTIC_VERSION_VERSION.getPreReleaseData().isEmpty());
 		Assert.assertTrue(SemanticVersion.SEMANTIC_VERSION_VERSION.getBuildMetadata().isEmpty());
+		Assert.assertEquals("2.0.0", SemanticVersion.SEMANTIC_VERSION_VERSION.toString());
+		Assert.assertSame(SemanticVersion.SEMANTIC_VERSION_VERSION, SemanticVersion.of(2, 0, 0));
+	}
+
+
+	@Test
+	public void ofTest()
+	{
+		Assert.assertEquals(new SemanticVersion(1), SemanticVersion.of(1));
+		Assert.assertEquals(new SemanticVersion(1, 2), SemanticVersion.of(1, 2));
+		Assert.assertEquals(new SemanticVersion(1, 2, 3), SemanticVersion.of(1, 2, 3));
+		Assert.assertSame(SemanticVersion.of(1), SemanticVersion.of(1, 0, 0));
+		Assert.assertSame(SemanticVersion.of(1, 2, 3), SemanticVersion.from("1.2.3"));
+		Assert.assertSame(
+			SemanticVersion.of(1, 2, 3),
+			SemanticVersion.of(1, 2, 3, Collections.emptyList(), Collections.emptyList()));
+		Assert.assertEquals(SemanticVersion.from("1.2.300"), SemanticVersion.of(1, 2, 300));
+		Assert.assertEquals(
+			SemanticVersion.from("1.2.3-alpha+build"),
+			SemanticVersion.of(1, 2, 3, Collections.singletonList("alpha"), Collections.singletonList("build")));
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalMinorVersion.class)
+	public void ofTestNegative()
+	{
+		SemanticVersion.of(1, -1);
+	}
+
+
+	@Test
+	public void nextTest()
+	{
+		Assert.assertEquals("2.0.0", SemanticVersion.from("1.2.3+build").nextMajor().toString());
+		Assert.assertEquals("2.0.0", SemanticVersion.from("1.2.0-rc.1").nextMajor().toString());
+		Assert.assertEquals("2.0.0", SemanticVersion.from("2.0.0-rc.1").nextMajor().toString());
+		Assert.assertEquals("1.3.0", SemanticVersion.from("1.2.3").nextMinor().toString());
+		Assert.assertEquals("1.3.0", SemanticVersion.from("1.2.3-rc.1").nextMinor().toString());
+		Assert.assertEquals("1.3.0", SemanticVersion.from("1.3.0-rc.1").nextMinor().toString());
+		Assert.assertEquals("1.2.4", SemanticVersion.from("1.2.3").nextPatch().toString());
+		Assert.assertEquals("1.2.4", SemanticVersion.from("1.2.4-rc.1+build").nextPatch().toString());
+		Assert.assertSame(SemanticVersion.of(1, 2, 4), SemanticVersion.of(1, 2, 3).nextPatch());
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPatchVersion.class)
+	public void nextTestNegative()
+	{
+		SemanticVersion.of(1, 2, Integer.MAX_VALUE).nextPatch();
+	}
+
+
+	@Test
+	public void withTest()
+	{
+		final SemanticVersion semanticVersion = SemanticVersion.from("1.2.3-alpha.1+build.5");
+
+		Assert.assertEquals("1.2.3-rc.2+build.5", semanticVersion.withPreRelease("rc", 2).toString());
+		Assert.assertEquals(
+			"1.2.3-beta+build.5",
+			semanticVersion.withPreRelease(Collections.singletonList("beta")).toString());
+		Assert.assertEquals("1.2.3+build.5", semanticVersion.withoutPreRelease().toString());
+		Assert.assertEquals(
+			"1.2.3-alpha.1+sha.5114f85",
+			semanticVersion.withBuildMetadata(Arrays.asList("sha", "5114f85")).toString());
+		Assert.assertEquals("1.2.3-alpha.1", semanticVersion.withoutBuildMetadata().toString());
+		Assert.assertEquals(
+			"1.2.3",
+			semanticVersion.withoutPreRelease().withoutBuildMetadata().toString());
+		Assert.assertSame(
+			SemanticVersion.of(1, 2, 3),
+			semanticVersion.withoutPreRelease().withoutBuildMetadata());
+		Assert.assertEquals(
+			SemanticVersion.from("1.2.3-rc.2+build.5"),
+			semanticVersion.withPreRelease("rc", 2));
+		Assert.assertEquals(
+			Arrays.asList("alpha", "1"),
+			semanticVersion.withBuildMetadata(Collections.singletonList("b")).getPreReleaseData());
+		Assert.assertEquals(
+			Arrays.asList("build", "5"),
+			semanticVersion.withPreRelease("rc", 2).getBuildMetadata());
+		Assert.assertTrue(
+			0 > semanticVersion.withPreRelease("rc", 2).compareTo(semanticVersion.withoutPreRelease()));
+
+		final SemanticVersion release = SemanticVersion.from("1.2.3");
+
+		Assert.assertSame(release, release.withoutPreRelease());
+		Assert.assertSame(release, release.withoutBuildMetadata());
+		Assert.assertSame(release, release.withPreRelease(Collections.emptyList()));
+		Assert.assertEquals("1.2.3-0", release.withPreRelease(Collections.singletonList("0")).toString());
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPreReleaseIdentifier.class)
+	public void withPreReleaseTestNegative()
+	{
+		SemanticVersion.from("1.2.3").withPreRelease("rc", -1);
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPreReleaseIdentifier.class)
+	public void withPreReleaseIdentifierTestNegative()
+	{
+		SemanticVersion.from("1.2.3").withPreRelease(Collections.singletonList("01"));
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalBuildMetadataIdentifier.class)
+	public void withBuildMetadataTestNegative()
+	{
+		SemanticVersion.from("1.2.3").withBuildMetadata(Collections.singletonList("build_5"));
 	}
 
 
@@ -249,6 +363,102 @@ public class SemanticVersionTest
 	}
 
 
+	@Test(expected = SemanticVersion.IllegalMajorVersion.class)
+	public void fromTestMajorVersionTooLarge()
+	{
+		SemanticVersion.from("2147483648.2.3");
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPatchVersion.class)
+	public void fromTestPatchVersionTooLarge()
+	{
+		SemanticVersion.from("1.2.99999999999");
+	}
+
+
+	@Test
+	public void fromTestLargestVersionNumbers()
+	{
+		final SemanticVersion semanticVersion = SemanticVersion.from("2147483647.2147483647.2147483647");
+		Assert.assertEquals(Integer.MAX_VALUE, semanticVersion.getMajor());
+		Assert.assertEquals(Integer.MAX_VALUE, semanticVersion.getMinor());
+		Assert.assertEquals(Integer.MAX_VALUE, semanticVersion.getPatch());
+	}
+
+
+	@Test(expected = SemanticVersion.InvalidBaseFormatException.class)
+	public void fromTestInvalidBaseFormatReportedBeforeIllegalVersionNumbers()
+	{
+		SemanticVersion.from("01.a");
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalMinorVersion.class)
+	public void fromTestEmptyMinorVersion()
+	{
+		SemanticVersion.from("1..3");
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPreReleaseIdentifier.class)
+	public void fromTestPreReleaseIdentifierReportedBeforeBuildMetadataIdentifier()
+	{
+		SemanticVersion.from("1.2.3-!+!");
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPreReleaseIdentifier.class)
+	public void fromTestEmptyPreReleaseData()
+	{
+		SemanticVersion.from("1.2.3-+4");
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPreReleaseIdentifier.class)
+	public void fromTestEmptyPreReleaseIdentifier()
+	{
+		SemanticVersion.from("1.2.3-4..5");
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalBuildMetadataIdentifier.class)
+	public void fromTestEmptyBuildMetadata()
+	{
+		SemanticVersion.from("1.2.3-4+");
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalBuildMetadataIdentifier.class)
+	public void fromTestSecondBuildMetadataDelimiter()
+	{
+		SemanticVersion.from("1.2.3+4+5");
+	}
+
+
+	@Test
+	public void fromTestTrailingSeparatorsIgnored()
+	{
+		Assert.assertEquals("1.2.3", SemanticVersion.from("1.2.3.").toString());
+		Assert.assertEquals("1.2.3-4", SemanticVersion.from("1.2.3-4.").toString());
+		Assert.assertEquals("1.2.3+5", SemanticVersion.from("1.2.3+5..").toString());
+		Assert.assertEquals(
+			Arrays.asList("4", "a-b"),
+			SemanticVersion.from("1.2.3.-4.a-b.+5.").getPreReleaseData());
+	}
+
+
+	@Test
+	public void fromTestToStringRoundTrip()
+	{
+		final String semanticVersionString = "1.0.0-x-y.7.z.92+exp.sha.5114f85";
+		Assert.assertEquals(semanticVersionString, SemanticVersion.from(semanticVersionString).toString());
+		Assert.assertEquals(
+			new SemanticVersion(1, 0, 0, Arrays.asList("x-y", "7", "z", "92"), Arrays.asList("exp", "sha", "5114f85")),
+			SemanticVersion.from(semanticVersionString));
+	}
+
+
 	@Test
 	public void fromTestBuildMetadataIdentifierLeadingZerosOkay()
 	{
@@ -273,6 +483,164 @@ public class SemanticVersionTest
 	}
 
 
+	@Test
+	public void tryParseTestValid()
+	{
+		final SemanticVersion.ParseResult parseResult = SemanticVersion.tryParse("1.2.3-4.5+6");
+		Assert.assertTrue(parseResult.isValid());
+		Assert.assertEquals(SemanticVersion.from("1.2.3-4.5+6"), parseResult.getSemanticVersion());
+		Assert.assertNull(parseResult.getError());
+		Assert.assertEquals(-1, parseResult.getErrorOffset());
+	}
+
+
+	@Test
+	public void tryParseTestErrorsAndOffsets()
+	{
+		assertParseError(SemanticVersion.ParseError.INVALID_BASE_FORMAT, 3, "1.2");
+		assertParseError(SemanticVersion.ParseError.INVALID_BASE_FORMAT, 6, "1.2.3.7-4");
+		assertParseError(SemanticVersion.ParseError.INVALID_BASE_FORMAT, 0, "");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_MAJOR_VERSION, 0, "01.2.3");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_MAJOR_VERSION, 9, "2147483648.2.3");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_MINOR_VERSION, 3, "1.2a.3");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_MINOR_VERSION, 2, "1..3");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_PATCH_VERSION, 4, "1.2.x");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER, 8, "1.2.3-4.05+6");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER, 8, "1.2.3-4..5");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER, 6, "1.2.3-");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_PRE_RELEASE_IDENTIFIER, 7, "1.2.3-a_b");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_BUILD_METADATA_IDENTIFIER, 7, "1.2.3+4+5");
+		assertParseError(SemanticVersion.ParseError.ILLEGAL_BUILD_METADATA_IDENTIFIER, 6, "1.2.3+");
+	}
+
+
+	@Test
+	public void parseOrNullTest()
+	{
+		Assert.assertEquals(SemanticVersion.from("1.2.3-4"), SemanticVersion.parseOrNull("1.2.3-4"));
+		Assert.assertNull(SemanticVersion.parseOrNull("1.2.3-04"));
+		Assert.assertNull(SemanticVersion.parseOrNull("not a version"));
+	}
+
+
+	@Test
+	public void fromTestExceptionDescribesError()
+	{
+		try
+		{
+			SemanticVersion.from("1.2.3-4.05+6");
+			Assert.fail();
+		}
+		catch (final SemanticVersion.IllegalPreReleaseIdentifier e)
+		{
+			Assert.assertEquals("1.2.3-4.05+6", e.getSemanticVersionString());
+			Assert.assertEquals(8, e.getErrorOffset());
+			Assert.assertEquals("\"1.2.3-4.05+6\" at offset 8", e.getMessage());
+		}
+
+		final SemanticVersion.SemanticVersionException exception = new SemanticVersion.IllegalMajorVersion();
+		Assert.assertNull(exception.getSemanticVersionString());
+		Assert.assertEquals(-1, exception.getErrorOffset());
+		Assert.assertNull(exception.getMessage());
+	}
+
+
+	private static void assertParseError(
+		final SemanticVersion.ParseError error,
+		final int errorOffset,
+		final String semanticVersionString)
+	{
+		final SemanticVersion.ParseResult parseResult = SemanticVersion.tryParse(semanticVersionString);
+		Assert.assertFalse(parseResult.isValid());
+		Assert.assertNull(parseResult.getSemanticVersion());
+		Assert.assertEquals(semanticVersionString, error, parseResult.getError());
+		Assert.assertEquals(semanticVersionString, errorOffset, parseResult.getErrorOffset());
+	}
+
+
+	@Test
+	public void fromTestCharSequence()
+	{
+		final StringBuilder stringBuilder = new StringBuilder("1.2.3-4.a+b");
+		final SemanticVersion semanticVersion = SemanticVersion.from(stringBuilder);
+		Assert.assertEquals(SemanticVersion.from("1.2.3-4.a+b"), semanticVersion);
+		Assert.assertEquals(Arrays.asList("4", "a"), semanticVersion.getPreReleaseData());
+		Assert.assertEquals(Arrays.asList("b"), semanticVersion.getBuildMetadata());
+		Assert.assertNull(SemanticVersion.parseOrNull(new StringBuilder("1.2")));
+	}
+
+
+	@Test
+	public void fromTestCharArrayRange()
+	{
+		final char[] characters = "version: 1.2.3-rc.1+sha, ...".toCharArray();
+		Assert.assertEquals(SemanticVersion.from("1.2.3-rc.1+sha"), SemanticVersion.from(characters, 9, 14));
+		Assert.assertEquals(SemanticVersion.from("1.2.3"), SemanticVersion.parseOrNull(characters, 9, 5));
+
+		final SemanticVersion.ParseResult parseResult = SemanticVersion.tryParse(characters, 9, 16);
+		Assert.assertEquals(SemanticVersion.ParseError.ILLEGAL_BUILD_METADATA_IDENTIFIER, parseResult.getError());
+		Assert.assertEquals(14, parseResult.getErrorOffset());
+	}
+
+
+	@Test
+	public void fromTestByteArrayRange()
+	{
+		final byte[] bytes = "[\"1.0.0-alpha.1\",\"2.0.0\"]".getBytes(StandardCharsets.US_ASCII);
+		Assert.assertEquals(SemanticVersion.from("1.0.0-alpha.1"), SemanticVersion.from(bytes, 2, 13));
+		Assert.assertEquals(SemanticVersion.from("2.0.0"), SemanticVersion.parseOrNull(bytes, 18, 5));
+		Assert.assertEquals(
+			SemanticVersion.ParseError.ILLEGAL_PATCH_VERSION,
+			SemanticVersion.tryParse(bytes, 18, 6).getError());
+	}
+
+
+	@Test(expected = SemanticVersion.IllegalPreReleaseIdentifier.class)
+	public void fromTestByteArrayNonAscii()
+	{
+		SemanticVersion.from("1.0.0-\u00e9".getBytes(StandardCharsets.UTF_8), 0, 8);
+	}
+
+
+	@Test
+	public void fromTestByteBuffer()
+	{
+		final byte[] bytes = "xx1.0.0-beta+exp.sha.5114f85xx".getBytes(StandardCharsets.US_ASCII);
+
+		for (final ByteBuffer buffer : Arrays.asList(ByteBuffer.wrap(bytes), ByteBuffer.allocateDirect(bytes.length)))
+		{
+			if (buffer.isDirect())
+			{
+				buffer.put(bytes).clear();
+			}
+
+			buffer.position(2).limit(bytes.length - 2);
+			final SemanticVersion semanticVersion = SemanticVersion.from(buffer);
+			Assert.assertEquals("1.0.0-beta+exp.sha.5114f85", semanticVersion.toString());
+			Assert.assertEquals(Arrays.asList("exp", "sha", "5114f85"), semanticVersion.getBuildMetadata());
+			Assert.assertEquals(2, buffer.position());
+			Assert.assertTrue(SemanticVersion.tryParse(buffer).isValid());
+			Assert.assertNotNull(SemanticVersion.parseOrNull(buffer));
+		}
+	}
+
+
+	@Test
+	public void fromTestByteBufferExceptionDescribesError()
+	{
+		try
+		{
+			SemanticVersion.from(ByteBuffer.wrap("1.02.3".getBytes(StandardCharsets.US_ASCII)));
+			Assert.fail();
+		}
+		catch (final SemanticVersion.IllegalMinorVersion e)
+		{
+			Assert.assertEquals("1.02.3", e.getSemanticVersionString());
+			Assert.assertEquals(2, e.getErrorOffset());
+		}
+	}
+
+
 	@Test
 	public void majorVersionPrecedenceTest()
 	{
@@ -348,6 +716,83 @@ public class SemanticVersionTest
 	}
 
 
+	@Test
+	public void largeNumericalPreReleaseIdentifierPrecedenceTest()
+	{
+		Assert.assertTrue(
+			0 < SemanticVersion.from("1.0.0-2147483648").compareTo(SemanticVersion.from("1.0.0-2147483647")));
+		Assert.assertTrue(
+			0 < SemanticVersion.from("1.0.0-12345678901234567890").compareTo(SemanticVersion.from("1.0.0-999999999999999999")));
+		Assert.assertTrue(
+			0 > SemanticVersion.from("1.0.0-12345678901234567890").compareTo(SemanticVersion.from("1.0.0-12345678901234567891")));
+		Assert.assertTrue(
+			0 > SemanticVersion.from("1.0.0-12345678901234567890").compareTo(SemanticVersion.from("1.0.0-a")));
+		Assert.assertEquals(
+			0,
+			SemanticVersion.from("1.0.0-12345678901234567890").compareTo(SemanticVersion.from("1.0.0-12345678901234567890")));
+		Assert.assertTrue(
+			0 < SemanticVersion.from("1.0.0-alpha.1a").compareTo(SemanticVersion.from("1.0.0-alpha.19")));
+	}
+
+
+	@Test
+	public void largeVersionNumberPrecedenceTest()
+	{
+		Assert.assertTrue(
+			0 < new SemanticVersion(Integer.MAX_VALUE).compareTo(new SemanticVersion(0)));
+		Assert.assertTrue(
+			0 > new SemanticVersion(0, 0, 0).compareTo(new SemanticVersion(0, 0, Integer.MAX_VALUE)));
+	}
+
+
+	@Test
+	public void precedenceKeyTest()
+	{
+		final List<SemanticVersion> semanticVersions =
+			Arrays.asList(
+				SemanticVersion.from("0.0.0-0"),
+				SemanticVersion.from("0.0.0"),
+				SemanticVersion.from("0.0.1"),
+				SemanticVersion.from("0.1.0-alpha"),
+				SemanticVersion.from("1.0.0"),
+				SemanticVersion.from("1.2.2097150"),
+				SemanticVersion.from("1.2.2097151-alpha"),
+				SemanticVersion.from("1.2.2097152"),
+				SemanticVersion.from("1.2097151.0"),
+				SemanticVersion.from("1.2147483647.0"),
+				SemanticVersion.from("1048574.2147483647.0"),
+				SemanticVersion.from("1048575.0.0-alpha"),
+				SemanticVersion.from("2147483647.2147483647.2147483647"));
+
+		for (int i = 0; i < semanticVersions.size(); ++i)
+		{
+			final SemanticVersion semanticVersion = semanticVersions.get(i);
+			Assert.assertTrue(0 <= semanticVersion.getPrecedenceKey());
+
+			for (int j = 0; j < semanticVersions.size(); ++j)
+			{
+				final SemanticVersion other = semanticVersions.get(j);
+				final int keyComparison = Long.compare(semanticVersion.getPrecedenceKey(), other.getPrecedenceKey());
+				Assert.assertTrue(0 == keyComparison || Integer.signum(i - j) == keyComparison);
+				Assert.assertEquals(Integer.signum(i - j), Integer.signum(semanticVersion.compareTo(other)));
+				Assert.assertEquals(
+					Integer.signum(i - j),
+					Integer.signum(SemanticVersion.PRECEDENCE_ORDER.compare(semanticVersion, other)));
+			}
+		}
+
+		Assert.assertNotEquals(
+			SemanticVersion.from("1.2.3").getPrecedenceKey(),
+			SemanticVersion.from("1.2.3-alpha").getPrecedenceKey());
+		Assert.assertEquals(
+			SemanticVersion.from("1.2.3-alpha").getPrecedenceKey(),
+			SemanticVersion.from("1.2.3-beta").getPrecedenceKey());
+		Assert.assertEquals(
+			SemanticVersion.from("1.2.3").getPrecedenceKey(),
+			SemanticVersion.from("1.2.3+build").getPrecedenceKey());
+	}
+
+
 	@Test
 	public void buildMetadataIsIrrelevantForPrecedenceTest()
 	{
@@ -377,6 +822,40 @@ public class SemanticVersionTest
 	}
 
 
+	@Test
+	public void equalsTestAcrossConstruction()
+	{
+		final SemanticVersion parsed = SemanticVersion.from("1.2.3.-alpha.1.+build.");
+		final SemanticVersion constructed =
+			new SemanticVersion(1, 2, 3, Arrays.asList("alpha", "1"), Arrays.asList("build"));
+		Assert.assertEquals(constructed, parsed);
+		Assert.assertEquals(constructed.hashCode(), parsed.hashCode());
+		Assert.assertEquals("1.2.3-alpha.1+build", parsed.toString());
+		Assert.assertNotEquals(SemanticVersion.from("1.2.3-alpha.1"), parsed);
+		Assert.assertNotEquals(SemanticVersion.from("1.2.3+alpha.1.build"), parsed);
+		Assert.assertNotEquals(SemanticVersion.from("1.2.3-alpha+1.build"), parsed);
+		Assert.assertEquals(SemanticVersion.from("1.2.3"), new SemanticVersion(1, 2, 3));
+		Assert.assertEquals(SemanticVersion.from("1.2.3").hashCode(), new SemanticVersion(1, 2, 3).hashCode());
+	}
+
+
+	@Test
+	public void lazyPartsTest()
+	{
+		final SemanticVersion semanticVersion = SemanticVersion.from("1.2.3-alpha.1+build");
+		Assert.assertSame(semanticVersion.toString(), semanticVersion.toString());
+		Assert.assertSame(semanticVersion.getPreReleaseData(), semanticVersion.getPreReleaseData());
+		Assert.assertSame(semanticVersion.getBuildMetadata(), semanticVersion.getBuildMetadata());
+		Assert.assertEquals(Arrays.asList("alpha", "1"), semanticVersion.getPreReleaseData());
+		Assert.assertEquals(Collections.singletonList("build"), semanticVersion.getBuildMetadata());
+		Assert.assertEquals(
+			Collections.singletonList("build"),
+			SemanticVersion.from("1.2.3+build").getBuildMetadata());
+		Assert.assertTrue(SemanticVersion.from("1.2.3+build").getPreReleaseData().isEmpty());
+		Assert.assertTrue(SemanticVersion.from("1.2.3-alpha").getBuildMetadata().isEmpty());
+	}
+
+
 	@Test
 	public void setTest()
 	{